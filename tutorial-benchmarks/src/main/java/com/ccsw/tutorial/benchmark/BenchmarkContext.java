@@ -0,0 +1,86 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.TutorialApplication;
+import com.ccsw.tutorial.common.datagen.DataGenerator;
+import com.ccsw.tutorial.common.datagen.DataGeneratorProperties;
+import com.ccsw.tutorial.common.datagen.GeneratedData;
+import com.ccsw.tutorial.game.GameIndexLoader;
+import com.ccsw.tutorial.loan.LoanIndexLoader;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arranca la aplicación sin servidor web sobre el H2 embebido y la completa con un volumen de datos realista. Los
+ * préstamos sembrados terminan antes de {@link #FREE_FROM}, así que cualquier juego y cliente está libre a partir de esa
+ * fecha.
+ */
+public final class BenchmarkContext {
+
+    public static final int GAMES = 2_000;
+    public static final int CLIENTS = 10_000;
+    public static final int LOANS = 20_000;
+
+    public static final LocalDate FREE_FROM = LocalDate.parse("2031-01-01");
+
+    // Los datos de data.sql ocupan los primeros PKs
+    public static final long FIRST_GAME_ID = 7;
+    public static final long FIRST_CLIENT_ID = 4;
+
+    private static final LocalDate SEED_FROM = LocalDate.parse("2026-01-01");
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param properties propiedades adicionales, con formato clave=valor
+     * @return contexto arrancado y sembrado
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+
+        ConfigurableApplicationContext context = startWithoutData(properties);
+        seed(context);
+
+        return context;
+    }
+
+    /**
+     * Arranca solo con los datos de data.sql, para los benchmarks que cargan su propio volumen
+     *
+     * @param properties propiedades adicionales, con formato clave=valor
+     * @return contexto arrancado
+     */
+    public static ConfigurableApplicationContext startWithoutData(String... properties) {
+
+        // Como argumentos de línea de comandos, para que prevalezcan sobre application.properties
+        List<String> args = new ArrayList<>(List.of("--spring.main.banner-mode=off", "--logging.level.root=WARN", "--ludoteca.loan.archive.enabled=false"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+
+        return new SpringApplicationBuilder(TutorialApplication.class).web(WebApplicationType.NONE).run(args.toArray(String[]::new));
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setGames(GAMES);
+        properties.setClients(CLIENTS);
+        properties.setLoans(LOANS);
+        properties.setFrom(SEED_FROM);
+
+        GeneratedData data = context.getBean(DataGenerator.class).generate(properties);
+        if (data.firstGameId() != FIRST_GAME_ID || data.firstClientId() != FIRST_CLIENT_ID || !data.lastEndDate().isBefore(FREE_FROM)) {
+            throw new IllegalStateException("Generated data does not match the benchmark constants: " + data);
+        }
+
+        // Los índices en memoria se cargaron al arrancar, antes de generar los datos
+        context.getBean(LoanIndexLoader.class).load();
+        context.getBean(GameIndexLoader.class).load();
+    }
+
+}
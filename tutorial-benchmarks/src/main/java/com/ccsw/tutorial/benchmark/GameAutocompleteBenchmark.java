@@ -0,0 +1,73 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.game.GameTitlePrefixIndex;
+import com.ccsw.tutorial.game.model.GamePopularity;
+import com.ccsw.tutorial.game.model.GameTitle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameTitlePrefixIndex#suggest}, según la longitud del texto escrito, y {@link GameTitlePrefixIndex#put} de un
+ * juego renombrado, sobre 200.000 juegos y sin base de datos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameAutocompleteBenchmark {
+
+    private static final int GAMES = 200_000;
+    private static final int LIMIT = 10;
+
+    private static final String[] NOUNS = { "Aventureros", "Castillos", "Dragón", "Reinos", "Piratas", "Catedral", "Jardines", "Caballeros", "Océanos", "Montañas" };
+    private static final String[] PLACES = { "Castilla", "Aragón", "Sevilla", "León", "Galicia", "Córdoba", "Valencia", "Navarra" };
+
+    private GameTitlePrefixIndex index;
+
+    private List<String> titles;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom seed = new SplittableRandom(42);
+        List<GamePopularity> games = new ArrayList<>(GAMES);
+        titles = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            String title = NOUNS[seed.nextInt(NOUNS.length)] + " de " + PLACES[seed.nextInt(PLACES.length)] + " " + (100_000 + i);
+            games.add(new GamePopularity(7L + i, title, seed.nextInt(500)));
+            titles.add(title);
+        }
+
+        index = new GameTitlePrefixIndex();
+        index.rebuild(games);
+    }
+
+    @Benchmark
+    public List<GameTitle> suggest(Prefix prefix) {
+        String title = titles.get(random.nextInt(GAMES));
+        return index.suggest(title.substring(0, Math.min(prefix.length, title.length())), LIMIT);
+    }
+
+    @Benchmark
+    public void putRename() {
+        index.put(7L + random.nextInt(GAMES), titles.get(random.nextInt(GAMES)));
+    }
+
+    /**
+     * Longitud del texto escrito; solo la usa {@link #suggest}
+     */
+    @State(Scope.Thread)
+    public static class Prefix {
+
+        @Param({ "1", "2", "3", "5", "8" })
+        private int length;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.common.criteria.SearchCriteria;
+import com.ccsw.tutorial.common.sequence.SequenceAligner;
+import com.ccsw.tutorial.game.GameIndexLoader;
+import com.ccsw.tutorial.game.GameRepository;
+import com.ccsw.tutorial.game.GameService;
+import com.ccsw.tutorial.game.GameSpecification;
+import com.ccsw.tutorial.game.GameTitleIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de juegos por título con LIKE '%title%' frente al índice de trigramas de {@link GameTitleIndex}, sobre
+ * 200.000 juegos. Las búsquedas narrow piden un título concreto (un resultado) y las broad una palabra que aparece en
+ * 1/8 de la tabla.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameTitleSearchBenchmark {
+
+    private static final int GAMES = 200_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String[] NOUNS = { "Aventureros", "Castillos", "Dragón", "Reinos", "Piratas", "Catedral", "Jardines", "Caballeros", "Océanos", "Montañas" };
+    private static final String[] PLACES = { "Castilla", "Aragón", "Sevilla", "León", "Galicia", "Córdoba", "Valencia", "Navarra" };
+
+    @Param({ "narrow", "broad" })
+    private String query;
+
+    private ConfigurableApplicationContext context;
+
+    private GameRepository gameRepository;
+
+    private GameService gameService;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Sin caché de búsquedas: se mide el acceso a base de datos en cada consulta
+        context = BenchmarkContext.startWithoutData("spring.cache.caffeine.spec=maximumSize=0");
+        gameRepository = context.getBean(GameRepository.class);
+        gameService = context.getBean(GameService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        SplittableRandom seed = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < GAMES; i++) {
+            String title = NOUNS[seed.nextInt(NOUNS.length)] + " de " + PLACES[seed.nextInt(PLACES.length)] + " " + (100_000 + i);
+            // Los datos de data.sql ocupan los primeros PKs, 3 categorías y 6 autores
+            batch.add(new Object[] { 7L + i, title, "12", 1L + seed.nextInt(3), 1L + seed.nextInt(6) });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("INSERT INTO game (id, title, age, category_id, author_id) VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        context.getBean(SequenceAligner.class).align();
+        jdbcTemplate.execute("ANALYZE");
+
+        context.getBean(GameIndexLoader.class).load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int like() {
+        return gameRepository.findAll(new GameSpecification(new SearchCriteria("title", ":", title()))).size();
+    }
+
+    @Benchmark
+    public int trigramIndex() {
+        return gameService.find(title(), null).size();
+    }
+
+    private String title() {
+        return "narrow".equals(query) ? String.valueOf(100_000 + random.nextInt(GAMES)) : PLACES[random.nextInt(PLACES.length)];
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.common.sequence.SequenceAligner;
+import com.ccsw.tutorial.loan.LoanRepository;
+import com.ccsw.tutorial.loan.LoanService;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comprobación de conflictos de una reserva de catorce días día a día, con búsquedas paginadas como hacía
+ * {@link LoanService#save}, frente a las consultas de solapamiento de {@link LoanRepository}, con y sin los índices
+ * compuestos, sobre una tabla de un millón de préstamos. El rango está libre para el juego y el cliente, que es el caso
+ * que recorre todas las comprobaciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanConflictQueryBenchmark {
+
+    private static final int GAMES = 10_000;
+    private static final int CLIENTS = 50_000;
+    private static final int LOANS = 1_000_000;
+    private static final int LOAN_DAYS = 14;
+
+    private static final LocalDate FREE_FROM = LocalDate.parse("2030-01-01");
+
+    @Param({ "fk", "composite" })
+    private String indexes;
+
+    private ConfigurableApplicationContext context;
+
+    private LoanRepository loanRepository;
+
+    private LoanService loanService;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWithoutData();
+        loanRepository = context.getBean(LoanRepository.class);
+        loanService = context.getBean(LoanService.class);
+
+        // Los datos de data.sql ocupan los primeros PKs
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO game (id, title, age, category_id, author_id) SELECT 6 + X, 'Game ' || X, '12', 1, 1 FROM SYSTEM_RANGE(1, ?)", GAMES);
+        jdbcTemplate.update("INSERT INTO client (id, name) SELECT 3 + X, 'Client ' || X FROM SYSTEM_RANGE(1, ?)", CLIENTS);
+        // Cada juego recibe préstamos consecutivos en huecos de 16 días, sin solapamientos
+        jdbcTemplate.update("INSERT INTO loan (id, game_id, client_id, start_date, end_date) " //
+                + "SELECT 7 + X, 7 + MOD(X, ?), 4 + MOD(X, ?), DATEADD(DAY, (X / ?) * 16, DATE '2020-01-01'), DATEADD(DAY, (X / ?) * 16 + MOD(X, 15), DATE '2020-01-01') " //
+                + "FROM SYSTEM_RANGE(0, ?)", GAMES, CLIENTS, GAMES, GAMES, LOANS - 1);
+        context.getBean(SequenceAligner.class).align();
+
+        if ("fk".equals(indexes)) {
+            jdbcTemplate.execute("DROP INDEX idx_loan_game_dates");
+            jdbcTemplate.execute("DROP INDEX idx_loan_client_dates");
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean dayByDay() {
+        LocalDate startDate = FREE_FROM.plusDays(random.nextInt(365));
+        LocalDate endDate = startDate.plusDays(LOAN_DAYS);
+        PageableRequest pageable = new PageableRequest(0, 10);
+
+        LoanSearchDto gameSearch = new LoanSearchDto();
+        gameSearch.setIdGame(7L + random.nextInt(GAMES));
+        gameSearch.setPageable(pageable);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1L)) {
+            gameSearch.setDate(date);
+            if (!loanService.findPage(gameSearch).isEmpty()) {
+                return false;
+            }
+        }
+
+        LoanSearchDto clientSearch = new LoanSearchDto();
+        clientSearch.setIdClient(4L + random.nextInt(CLIENTS));
+        clientSearch.setPageable(pageable);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1L)) {
+            clientSearch.setDate(date);
+            if (loanService.findPage(clientSearch).getTotalElements() >= 2) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Benchmark
+    public boolean singleStatement() {
+        LocalDate startDate = FREE_FROM.plusDays(random.nextInt(365));
+        LocalDate endDate = startDate.plusDays(LOAN_DAYS);
+
+        return !loanRepository.existsByGameIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(7L + random.nextInt(GAMES), endDate, startDate) //
+                && loanRepository.maxConcurrentClientLoans(4L + random.nextInt(CLIENTS), startDate, endDate) < 2;
+    }
+
+}
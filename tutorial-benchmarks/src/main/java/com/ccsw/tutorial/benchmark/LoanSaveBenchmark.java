@@ -0,0 +1,83 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.LoanService;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoanService#save} completo (validación de fechas, reglas de reserva, insert del préstamo y de sus días) dentro
+ * de una transacción que se deshace, así que los datos y los índices en memoria no cambian entre invocaciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanSaveBenchmark {
+
+    @Param({ "1", "7", "14" })
+    private int days;
+
+    @Param({ "index", "database" })
+    private String conflictCheck;
+
+    private ConfigurableApplicationContext context;
+
+    private LoanService loanService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("ludoteca.loan.conflict-check=" + conflictCheck);
+        loanService = context.getBean(LoanService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoanDto save() {
+        LoanDto dto = loanDto();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                loanService.save(dto);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            status.setRollbackOnly();
+        });
+
+        return dto;
+    }
+
+    private LoanDto loanDto() {
+        GameDto game = new GameDto();
+        game.setId(BenchmarkContext.FIRST_GAME_ID + random.nextInt(BenchmarkContext.GAMES));
+        ClientDto client = new ClientDto(BenchmarkContext.FIRST_CLIENT_ID + random.nextInt(BenchmarkContext.CLIENTS), null);
+        LocalDate startDate = BenchmarkContext.FREE_FROM.plusDays(random.nextInt(365));
+
+        LoanDto dto = new LoanDto();
+        dto.setGame(game);
+        dto.setClient(client);
+        dto.setStartDate(startDate);
+        dto.setEndDate(startDate.plusDays(days - 1));
+        return dto;
+    }
+
+}
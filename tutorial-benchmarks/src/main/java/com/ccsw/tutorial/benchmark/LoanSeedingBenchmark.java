@@ -0,0 +1,133 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.category.model.Category;
+import com.ccsw.tutorial.client.model.Client;
+import com.ccsw.tutorial.common.sequence.SequenceAligner;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.loan.model.Loan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga a través de Hibernate en transacciones de {@link #CHUNK} entidades, para medir el efecto de la estrategia de
+ * ids en el tiempo de carga y en el número de sentencias preparadas, que se publica como contador auxiliar junto al
+ * número de bloques.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanSeedingBenchmark {
+
+    private static final int CHUNK = 1_000;
+    private static final int GAMES = 10_000;
+    private static final int CLIENTS = 1_000;
+
+    private static final LocalDate FIRST_DAY = LocalDate.parse("2020-01-01");
+
+    @Param({ "client", "game", "loan" })
+    private String entity;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWithoutData("ludoteca.cache.statistics=true");
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        if ("loan".equals(entity)) {
+            // Los datos de data.sql ocupan los primeros PKs
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("INSERT INTO game (id, title, age, category_id, author_id) SELECT 6 + X, 'Game ' || X, '12', 1, 1 FROM SYSTEM_RANGE(1, ?)", GAMES);
+            jdbcTemplate.update("INSERT INTO client (id, name) SELECT 3 + X, 'Client ' || X FROM SYSTEM_RANGE(1, ?)", CLIENTS);
+            context.getBean(SequenceAligner.class).align();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void persistChunk(Counters counters) {
+        long prepared = statistics.getPrepareStatementCount();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < CHUNK; i++) {
+                entityManager.persist(create(next++));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+
+        counters.chunks++;
+        counters.statements += statistics.getPrepareStatementCount() - prepared;
+    }
+
+    private Object create(long i) {
+        if ("client".equals(entity)) {
+            Client client = new Client();
+            client.setName("Benchmark client " + i);
+            return client;
+        }
+        if ("game".equals(entity)) {
+            Game game = new Game();
+            game.setTitle("Benchmark game " + i);
+            game.setAge("12");
+            game.setCategory(entityManager.getReference(Category.class, 1L));
+            game.setAuthor(entityManager.getReference(Author.class, 1L));
+            return game;
+        }
+
+        // Préstamos por juego en huecos consecutivos de 16 días, sin solapamientos
+        long slot = i / GAMES;
+        Loan loan = new Loan();
+        loan.setGame(entityManager.getReference(Game.class, 7 + i % GAMES));
+        loan.setClient(entityManager.getReference(Client.class, 4 + i % CLIENTS));
+        loan.setStartDate(FIRST_DAY.plusDays(slot * 16));
+        loan.setEndDate(FIRST_DAY.plusDays(slot * 16 + i % 15));
+        return loan;
+    }
+
+    /**
+     * Bloques persistidos y sentencias preparadas en cada iteración
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long chunks;
+
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            chunks = 0;
+            statements = 0;
+        }
+    }
+
+}
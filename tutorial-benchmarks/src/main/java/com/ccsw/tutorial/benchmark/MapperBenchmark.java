@@ -0,0 +1,138 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.author.AuthorMapper;
+import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.category.CategoryMapper;
+import com.ccsw.tutorial.category.model.Category;
+import com.ccsw.tutorial.client.ClientMapper;
+import com.ccsw.tutorial.client.model.Client;
+import com.ccsw.tutorial.common.jfr.MappingEvent;
+import com.ccsw.tutorial.game.GameMapper;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.LoanMapper;
+import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de convertir entidades a DTOs con {@link ModelMapper} frente a los mappers escritos a mano, sin base de datos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+
+    private ModelMapper modelMapper;
+
+    private GameMapper gameMapper;
+
+    private LoanMapper loanMapper;
+
+    private Game game;
+
+    private Loan loan;
+
+    private List<Loan> page;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        gameMapper = new GameMapper(new CategoryMapper(), new AuthorMapper());
+        loanMapper = new LoanMapper(gameMapper, new ClientMapper());
+
+        page = new ArrayList<>(PAGE_SIZE);
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            page.add(loan(i));
+        }
+        loan = page.get(0);
+        game = loan.getGame();
+
+        // Los TypeMap se construyen en el primer uso de cada par de tipos; se excluye de las medidas en caliente
+        modelMapper.map(loan, LoanDto.class);
+        modelMapper.map(game, GameDto.class);
+    }
+
+    @Benchmark
+    public GameDto gameModelMapper() {
+        return modelMapper.map(game, GameDto.class);
+    }
+
+    @Benchmark
+    public GameDto gameHandWritten() {
+        return gameMapper.toDto(game);
+    }
+
+    @Benchmark
+    public LoanDto loanModelMapper() {
+        return modelMapper.map(loan, LoanDto.class);
+    }
+
+    @Benchmark
+    public LoanDto loanHandWritten() {
+        return loanMapper.toDto(loan);
+    }
+
+    @Benchmark
+    public List<LoanDto> loanPageModelMapper() {
+        return page.stream().map(e -> modelMapper.map(e, LoanDto.class)).toList();
+    }
+
+    /**
+     * Igual que en los controladores, con el evento JFR de la conversión desactivado
+     */
+    @Benchmark
+    public List<LoanDto> loanPageHandWritten() {
+        return MappingEvent.map(Loan.class, page, loanMapper::toDto);
+    }
+
+    /**
+     * Primer uso de un {@link ModelMapper} nuevo, que incluye construir el TypeMap por reflexión
+     */
+    @Benchmark
+    public LoanDto loanModelMapperFirstUse() {
+        return new ModelMapper().map(loan, LoanDto.class);
+    }
+
+    private static Loan loan(long id) {
+        Category category = new Category();
+        category.setId(1 + id % 3);
+        category.setName("Category " + category.getId());
+
+        Author author = new Author();
+        author.setId(id);
+        author.setName("Author " + id);
+        author.setNationality("ES");
+
+        Game game = new Game();
+        game.setId(id);
+        game.setTitle("Game " + id);
+        game.setAge("12");
+        game.setCategory(category);
+        game.setAuthor(author);
+
+        Client client = new Client();
+        client.setId(id);
+        client.setName("Client " + id);
+
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setGame(game);
+        loan.setClient(client);
+        loan.setStartDate(LocalDate.parse("2025-10-20"));
+        loan.setEndDate(LocalDate.parse("2025-10-25"));
+        return loan;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.common.pagination.CountedPage;
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.loan.LoanService;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanRow;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización a JSON de la página que devuelve POST /loan, con el {@link ObjectMapper} configurado por Spring Boot y
+ * préstamos leídos del H2 sembrado
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({ "20", "500" })
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private ObjectMapper objectMapper;
+
+    private CountedPage<LoanDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, pageSize));
+        CountedPage<LoanRow> rows = context.getBean(LoanService.class).findPage(searchDto);
+        page = new CountedPage<>(rows.getContent().stream().map(LoanRow::toDto).toList(), rows.getPageable(), rows.getTotalElements(), rows.getCountMode());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+}
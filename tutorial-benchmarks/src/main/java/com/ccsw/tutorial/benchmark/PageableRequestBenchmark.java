@@ -0,0 +1,45 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de la paginación recibida en el cuerpo de las búsquedas a {@link Pageable}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageableRequestBenchmark {
+
+    private PageableRequest unsorted;
+
+    private PageableRequest sorted;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Se deserializa igual que en los controladores; las propiedades de la ordenación solo tienen setters protegidos
+        ObjectMapper objectMapper = new ObjectMapper();
+        unsorted = objectMapper.readValue("{\"pageNumber\":3,\"pageSize\":20}", PageableRequest.class);
+        sorted = objectMapper.readValue("{\"pageNumber\":3,\"pageSize\":20,\"sort\":[{\"property\":\"startDate\",\"direction\":\"DESC\"},{\"property\":\"id\",\"direction\":\"ASC\"}]}",
+                PageableRequest.class);
+    }
+
+    @Benchmark
+    public Pageable unsorted() {
+        return unsorted.getPageable();
+    }
+
+    @Benchmark
+    public Pageable sorted() {
+        return sorted.getPageable();
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.author.AuthorRepository;
+import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.author.model.AuthorDto;
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.game.GameRepository;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.game.model.GameRow;
+import com.ccsw.tutorial.loan.LoanRepository;
+import com.ccsw.tutorial.loan.LoanService;
+import com.ccsw.tutorial.loan.LoanSpecification;
+import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanRow;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listados con entidades y {@link ModelMapper} frente a las proyecciones a {@link GameRow}, {@link LoanRow} y
+ * {@link AuthorDto}: una página de {@link #PAGE_SIZE} préstamos y los catálogos completos de juegos y autores. Los bytes
+ * reservados por llamada salen del perfil gc (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final ModelMapper mapper = new ModelMapper();
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionTemplate transactionTemplate;
+
+    private AuthorRepository authorRepository;
+
+    private GameRepository gameRepository;
+
+    private LoanRepository loanRepository;
+
+    private LoanService loanService;
+
+    private PageRequest pageable;
+
+    private LoanSearchDto searchDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        authorRepository = context.getBean(AuthorRepository.class);
+        gameRepository = context.getBean(GameRepository.class);
+        loanRepository = context.getBean(LoanRepository.class);
+        loanService = context.getBean(LoanService.class);
+
+        pageable = PageRequest.of(0, PAGE_SIZE);
+        searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, PAGE_SIZE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<LoanDto> loanPageModelMapper() {
+        Page<Loan> page = transactionTemplate.execute(status -> loanRepository.findBy(LoanSpecification.<Loan> fetchGameAndClient(), query -> query.page(pageable)));
+        return page.getContent().stream().map(e -> mapper.map(e, LoanDto.class)).toList();
+    }
+
+    @Benchmark
+    public List<LoanDto> loanPageProjection() {
+        return loanService.findPage(searchDto).getContent().stream().map(LoanRow::toDto).toList();
+    }
+
+    @Benchmark
+    public List<GameDto> gameListModelMapper() {
+        List<Game> games = transactionTemplate.execute(status -> gameRepository.findAll((root, query, builder) -> null));
+        return games.stream().map(e -> mapper.map(e, GameDto.class)).toList();
+    }
+
+    @Benchmark
+    public List<GameDto> gameListProjection() {
+        return gameRepository.findRows((root, query, builder) -> null).stream().map(GameRow::toDto).toList();
+    }
+
+    @Benchmark
+    public List<AuthorDto> authorListModelMapper() {
+        List<Author> authors = transactionTemplate.execute(status -> (List<Author>) authorRepository.findAll());
+        return authors.stream().map(e -> mapper.map(e, AuthorDto.class)).toList();
+    }
+
+    @Benchmark
+    public List<AuthorDto> authorListProjection() {
+        return authorRepository.findAllDtos();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dos resultados JSON de JMH (-rf json) y falla si algún benchmark pierde más de un porcentaje de throughput
+ * respecto a la línea base. Los benchmarks que no están en los dos ficheros se ignoran.
+ *
+ * Uso: ResultComparison baseline.json actual.json [umbral %]
+ */
+public final class ResultComparison {
+
+    private ResultComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 2) {
+            System.err.println("Usage: ResultComparison <baseline.json> <result.json> [threshold %]");
+            System.exit(2);
+        }
+
+        Map<String, Double> baseline = read(new File(args[0]));
+        Map<String, Double> result = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        int regressions = 0;
+        for (Map.Entry<String, Double> entry : result.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            if (before == null || before == 0) {
+                continue;
+            }
+
+            double delta = (entry.getValue() - before) * 100 / before;
+            boolean regression = delta < -threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before, entry.getValue(), delta, regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) lost more than %.1f%% throughput%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return puntuación principal de cada benchmark, con sus parámetros en la clave
+     */
+    private static Map<String, Double> read(File file) throws IOException {
+
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param -> key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            scores.put(key.toString(), run.path("primaryMetric").path("score").asDouble());
+        }
+        return scores;
+    }
+
+}
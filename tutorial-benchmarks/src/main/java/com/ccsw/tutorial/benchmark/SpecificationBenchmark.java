@@ -0,0 +1,81 @@
+package com.ccsw.tutorial.benchmark;
+
+import com.ccsw.tutorial.common.criteria.SearchCriteria;
+import com.ccsw.tutorial.game.GameSpecification;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.loan.LoanSpecification;
+import com.ccsw.tutorial.loan.model.Loan;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Construcción de las {@link Specification} de las búsquedas y de sus predicados Criteria, tal como lo hacen los
+ * servicios en cada petición, sin llegar a ejecutar la consulta
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private static final LocalDate DATE = LocalDate.parse("2027-03-15");
+
+    private ConfigurableApplicationContext context;
+
+    private CriteriaBuilder builder;
+
+    private List<Long> candidateIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        builder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+        candidateIds = LongStream.range(0, 1_000).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Filtro de la búsqueda paginada de préstamos con juego, cliente y fecha informados
+     */
+    @Benchmark
+    public Predicate loanSpecification() {
+        Specification<Loan> spec = Specification.where(new LoanSpecification<Loan>(new SearchCriteria("game.id", ":", 7L))) //
+                .and(new LoanSpecification<>(new SearchCriteria("client.id", ":", 4L))) //
+                .and(new LoanSpecification<>(new SearchCriteria("date", "date", DATE)));
+
+        CriteriaQuery<Loan> query = builder.createQuery(Loan.class);
+        Root<Loan> root = query.from(Loan.class);
+        return spec.toPredicate(root, query, builder);
+    }
+
+    /**
+     * Filtro de la búsqueda de juegos por título: categoría más un bloque de candidatos del índice de trigramas
+     */
+    @Benchmark
+    public Predicate gameSpecification() {
+        Specification<Game> spec = Specification.where(GameSpecification.idIn(candidateIds)) //
+                .and(new GameSpecification(new SearchCriteria("category.id", ":", 1L)));
+
+        CriteriaQuery<Game> query = builder.createQuery(Game.class);
+        Root<Game> root = query.from(Game.class);
+        return spec.toPredicate(root, query, builder);
+    }
+
+}
@@ -3,16 +3,14 @@ package com.ccsw.tutorial.author;
 import com.ccsw.tutorial.author.model.Author;
 import com.ccsw.tutorial.author.model.AuthorDto;
 import com.ccsw.tutorial.author.model.AuthorSearchDto;
+import com.ccsw.tutorial.common.jfr.MappingEvent;
+import com.ccsw.tutorial.common.pagination.CountedPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author ccsw
@@ -28,21 +26,21 @@ public class AuthorController {
     AuthorService authorService;
 
     @Autowired
-    ModelMapper mapper;
+    AuthorMapper authorMapper;
 
     /**
      * Método para recuperar un listado paginado de {@link Author}
      *
      * @param dto dto de búsqueda
-     * @return {@link Page} de {@link AuthorDto}
+     * @return {@link CountedPage} de {@link AuthorDto}
      */
     @Operation(summary = "Find Page", description = "Method that return a page of Authors")
     @RequestMapping(path = "", method = RequestMethod.POST)
-    public Page<AuthorDto> findPage(@RequestBody AuthorSearchDto dto) {
+    public CountedPage<AuthorDto> findPage(@RequestBody AuthorSearchDto dto) {
 
-        Page<Author> page = this.authorService.findPage(dto);
+        CountedPage<Author> page = this.authorService.findPage(dto);
 
-        return new PageImpl<>(page.getContent().stream().map(e -> mapper.map(e, AuthorDto.class)).collect(Collectors.toList()), page.getPageable(), page.getTotalElements());
+        return new CountedPage<>(MappingEvent.map(Author.class, page.getContent(), authorMapper::toDto), page.getPageable(), page.getTotalElements(), page.getCountMode());
     }
 
     /**
@@ -79,8 +77,6 @@ public class AuthorController {
     @RequestMapping(path = "", method = RequestMethod.GET)
     public List<AuthorDto> findAll() {
 
-        List<Author> authors = this.authorService.findAll();
-
-        return authors.stream().map(e -> mapper.map(e, AuthorDto.class)).collect(Collectors.toList());
+        return this.authorService.findAll();
     }
 }
\ No newline at end of file
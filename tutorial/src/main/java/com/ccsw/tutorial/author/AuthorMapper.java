@@ -0,0 +1,22 @@
+package com.ccsw.tutorial.author;
+
+import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.author.model.AuthorDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conversión de {@link Author} a {@link AuthorDto} con llamadas directas a getters y constructores, sin reflexión
+ */
+@Component
+public class AuthorMapper {
+
+    public AuthorDto toDto(Author author) {
+
+        if (author == null) {
+            return null;
+        }
+
+        return new AuthorDto(author.getId(), author.getName(), author.getNationality());
+    }
+
+}
@@ -1,10 +1,15 @@
 package com.ccsw.tutorial.author;
 
 import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.author.model.AuthorDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.List;
+
 /**
  * @author ccsw
  *
@@ -19,4 +24,20 @@ public interface AuthorRepository extends CrudRepository<Author, Long> {
      */
     Page<Author> findAll(Pageable pageable);
 
+    /**
+     * Método para recuperar una página de {@link Author} sin calcular el total
+     *
+     * @param pageable pageable
+     * @return {@link Slice} de {@link Author}
+     */
+    Slice<Author> findAllBy(Pageable pageable);
+
+    /**
+     * Método para recuperar todos los autores directamente como {@link AuthorDto}, sin cargar entidades
+     *
+     * @return {@link List} de {@link AuthorDto}
+     */
+    @Query("select new com.ccsw.tutorial.author.model.AuthorDto(a.id, a.name, a.nationality) from Author a")
+    List<AuthorDto> findAllDtos();
+
 }
\ No newline at end of file
@@ -3,7 +3,7 @@ package com.ccsw.tutorial.author;
 import com.ccsw.tutorial.author.model.Author;
 import com.ccsw.tutorial.author.model.AuthorDto;
 import com.ccsw.tutorial.author.model.AuthorSearchDto;
-import org.springframework.data.domain.Page;
+import com.ccsw.tutorial.common.pagination.CountedPage;
 
 import java.util.List;
 
@@ -24,9 +24,9 @@ public interface AuthorService {
      * Método para recuperar un listado paginado de {@link Author}
      *
      * @param dto dto de búsqueda
-     * @return {@link Page} de {@link Author}
+     * @return {@link CountedPage} de {@link Author}, con el total calculado según el modo de conteo pedido
      */
-    Page<Author> findPage(AuthorSearchDto dto);
+    CountedPage<Author> findPage(AuthorSearchDto dto);
 
     /**
      * Método para crear o actualizar un {@link Author}
@@ -46,8 +46,8 @@ public interface AuthorService {
     /**
      * Recupera un listado de autores {@link Author}
      *
-     * @return {@link List} de {@link Author}
+     * @return {@link List} de {@link AuthorDto}
      */
-    List<Author> findAll();
+    List<AuthorDto> findAll();
 
 }
\ No newline at end of file
@@ -3,10 +3,15 @@ package com.ccsw.tutorial.author;
 import com.ccsw.tutorial.author.model.Author;
 import com.ccsw.tutorial.author.model.AuthorDto;
 import com.ccsw.tutorial.author.model.AuthorSearchDto;
+import com.ccsw.tutorial.common.pagination.CountedPage;
+import com.ccsw.tutorial.common.pagination.PageCountCache;
+import com.ccsw.tutorial.game.GameCatalogCache;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,12 +21,19 @@ import java.util.List;
  *
  */
 @Service
+@Timed(value = "ludoteca.service", description = "Tiempo de los métodos de servicio")
 @Transactional
 public class AuthorServiceImpl implements AuthorService {
 
     @Autowired
     AuthorRepository authorRepository;
 
+    @Autowired
+    PageCountCache pageCountCache;
+
+    @Autowired
+    GameCatalogCache gameCatalogCache;
+
     /**
      * {@inheritDoc}
      */
@@ -35,9 +47,19 @@ public class AuthorServiceImpl implements AuthorService {
      * {@inheritDoc}
      */
     @Override
-    public Page<Author> findPage(AuthorSearchDto dto) {
-
-        return this.authorRepository.findAll(dto.getPageable().getPageable());
+    public CountedPage<Author> findPage(AuthorSearchDto dto) {
+
+        Pageable pageable = dto.getPageable().getPageable();
+
+        switch (dto.getPageable().getCountMode()) {
+        case NONE:
+            return CountedPage.withoutCount(this.authorRepository.findAllBy(pageable));
+        case ESTIMATED:
+            Slice<Author> slice = this.authorRepository.findAllBy(pageable);
+            return CountedPage.estimated(slice, this.pageCountCache.count(Author.class, "all", this.authorRepository::count));
+        default:
+            return CountedPage.exact(this.authorRepository.findAll(pageable));
+        }
     }
 
     /**
@@ -57,6 +79,11 @@ public class AuthorServiceImpl implements AuthorService {
         BeanUtils.copyProperties(data, author, "id");
 
         this.authorRepository.save(author);
+        this.pageCountCache.evictAfterCommit(Author.class);
+
+        if (id != null) {
+            this.gameCatalogCache.evictAuthorAfterCommit(id);
+        }
     }
 
     /**
@@ -70,14 +97,15 @@ public class AuthorServiceImpl implements AuthorService {
         }
 
         this.authorRepository.deleteById(id);
+        this.pageCountCache.evictAfterCommit(Author.class);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Author> findAll() {
+    public List<AuthorDto> findAll() {
 
-        return (List<Author>) this.authorRepository.findAll();
+        return this.authorRepository.findAllDtos();
     }
 }
\ No newline at end of file
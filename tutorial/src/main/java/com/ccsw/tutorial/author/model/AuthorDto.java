@@ -12,6 +12,16 @@ public class AuthorDto {
 
     private String nationality;
 
+    public AuthorDto() {
+    }
+
+    public AuthorDto(Long id, String name, String nationality) {
+
+        this.id = id;
+        this.name = name;
+        this.nationality = nationality;
+    }
+
     /**
      * @return id
      */
@@ -2,14 +2,13 @@ package com.ccsw.tutorial.category;
 
 import com.ccsw.tutorial.category.model.Category;
 import com.ccsw.tutorial.category.model.CategoryDto;
+import com.ccsw.tutorial.common.jfr.MappingEvent;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author ccsw
@@ -25,7 +24,7 @@ public class CategoryController {
     CategoryService categoryService;
 
     @Autowired
-    ModelMapper mapper;
+    CategoryMapper categoryMapper;
 
     /**
      * Método para recuperar todas las {@link Category}
@@ -38,7 +37,7 @@ public class CategoryController {
 
         List<Category> categories = this.categoryService.findAll();
 
-        return categories.stream().map(e -> mapper.map(e, CategoryDto.class)).collect(Collectors.toList());
+        return MappingEvent.map(Category.class, categories, categoryMapper::toDto);
     }
 
     /**
@@ -0,0 +1,22 @@
+package com.ccsw.tutorial.category;
+
+import com.ccsw.tutorial.category.model.Category;
+import com.ccsw.tutorial.category.model.CategoryDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conversión de {@link Category} a {@link CategoryDto} con llamadas directas a getters y constructores, sin reflexión
+ */
+@Component
+public class CategoryMapper {
+
+    public CategoryDto toDto(Category category) {
+
+        if (category == null) {
+            return null;
+        }
+
+        return new CategoryDto(category.getId(), category.getName());
+    }
+
+}
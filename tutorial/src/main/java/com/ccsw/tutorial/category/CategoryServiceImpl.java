@@ -2,6 +2,8 @@ package com.ccsw.tutorial.category;
 
 import com.ccsw.tutorial.category.model.Category;
 import com.ccsw.tutorial.category.model.CategoryDto;
+import com.ccsw.tutorial.game.GameCatalogCache;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,12 +15,16 @@ import java.util.List;
  *
  */
 @Service
+@Timed(value = "ludoteca.service", description = "Tiempo de los métodos de servicio")
 @Transactional
 public class CategoryServiceImpl implements CategoryService {
 
     @Autowired
     CategoryRepository categoryRepository;
 
+    @Autowired
+    GameCatalogCache gameCatalogCache;
+
     /**
      * {@inheritDoc}
      */
@@ -54,6 +60,10 @@ public class CategoryServiceImpl implements CategoryService {
         category.setName(dto.getName());
 
         this.categoryRepository.save(category);
+
+        if (id != null) {
+            this.gameCatalogCache.evictCategoryAfterCommit(id);
+        }
     }
 
     /**
@@ -10,6 +10,15 @@ public class CategoryDto {
 
     private String name;
 
+    public CategoryDto() {
+    }
+
+    public CategoryDto(Long id, String name) {
+
+        this.id = id;
+        this.name = name;
+    }
+
     /**
      * @return id
      */
@@ -2,14 +2,13 @@ package com.ccsw.tutorial.client;
 
 import com.ccsw.tutorial.client.model.Client;
 import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.common.jfr.MappingEvent;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Tag(name = "Client", description = "API of Client")
 @RequestMapping(value = "/client")
@@ -20,7 +19,7 @@ public class ClientController {
     ClientService clientService;
 
     @Autowired
-    ModelMapper mapper;
+    ClientMapper clientMapper;
 
     /**
      * Método para recuperar TODOS los {@link Client}
@@ -32,7 +31,7 @@ public class ClientController {
     @RequestMapping(path = "", method = RequestMethod.GET)
     public List<ClientDto> findAll() {
         List<Client> clients = this.clientService.findAll();
-        return clients.stream().map(e -> mapper.map(e, ClientDto.class)).collect(Collectors.toList());
+        return MappingEvent.map(Client.class, clients, clientMapper::toDto);
 
     }
 
@@ -0,0 +1,22 @@
+package com.ccsw.tutorial.client;
+
+import com.ccsw.tutorial.client.model.Client;
+import com.ccsw.tutorial.client.model.ClientDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conversión de {@link Client} a {@link ClientDto} con llamadas directas a getters y constructores, sin reflexión
+ */
+@Component
+public class ClientMapper {
+
+    public ClientDto toDto(Client client) {
+
+        if (client == null) {
+            return null;
+        }
+
+        return new ClientDto(client.getId(), client.getName());
+    }
+
+}
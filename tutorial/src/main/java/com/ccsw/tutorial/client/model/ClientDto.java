@@ -4,6 +4,15 @@ public class ClientDto {
     private Long id;
     private String name;
 
+    public ClientDto() {
+    }
+
+    public ClientDto(Long id, String name) {
+
+        this.id = id;
+        this.name = name;
+    }
+
     /**
      * @return id
      */
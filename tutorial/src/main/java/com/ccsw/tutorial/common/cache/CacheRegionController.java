@@ -0,0 +1,36 @@
+package com.ccsw.tutorial.common.cache;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Diagnóstico de la caché de segundo nivel, solo con ludoteca.cache.statistics
+ */
+@Tag(name = "Cache", description = "API of second-level cache statistics")
+@ConditionalOnProperty(name = "ludoteca.cache.statistics", havingValue = "true")
+@RequestMapping(value = "/cache")
+@RestController
+@CrossOrigin(origins = "*")
+public class CacheRegionController {
+
+    @Autowired
+    SecondLevelCacheStatistics secondLevelCacheStatistics;
+
+    /**
+     * Método para consultar el uso de las regiones de la caché de segundo nivel
+     *
+     * @return {@link List} de {@link CacheRegionStatsDto}
+     */
+    @Operation(summary = "Regions", description = "Method that return hit, miss and put statistics of each second-level cache region")
+    @RequestMapping(path = "/regions", method = RequestMethod.GET)
+    public List<CacheRegionStatsDto> regions() {
+
+        return secondLevelCacheStatistics.regions();
+    }
+
+}
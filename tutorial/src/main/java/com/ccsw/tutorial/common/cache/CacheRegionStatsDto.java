@@ -0,0 +1,49 @@
+package com.ccsw.tutorial.common.cache;
+
+/**
+ * Estadísticas de una región de la caché de segundo nivel de Hibernate
+ */
+public class CacheRegionStatsDto {
+
+    private final String region;
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long putCount;
+
+    private final long elementCount;
+
+    public CacheRegionStatsDto(String region, long hitCount, long missCount, long putCount, long elementCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCount = elementCount;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * @return entradas en memoria, o -1 si el proveedor no lo informa
+     */
+    public long getElementCount() {
+        return elementCount;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.ccsw.tutorial.common.cache;
+
+import com.ccsw.tutorial.core.SecondLevelCacheProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Lectura de las estadísticas de Hibernate para cada región configurada en ludoteca.cache.regions. Solo existe con
+ * ludoteca.cache.statistics, que es lo que activa las estadísticas.
+ */
+@Component
+@ConditionalOnProperty(name = "ludoteca.cache.statistics", havingValue = "true")
+public class SecondLevelCacheStatistics {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final SecondLevelCacheProperties properties;
+
+    public SecondLevelCacheStatistics(EntityManagerFactory entityManagerFactory, SecondLevelCacheProperties properties) {
+
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = properties;
+    }
+
+    /**
+     * @return {@link List} de {@link CacheRegionStatsDto} ordenada por región
+     */
+    public List<CacheRegionStatsDto> regions() {
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        return this.properties.getRegions().keySet().stream().sorted().map(region -> {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                // Región configurada pero sin uso en Hibernate
+                return new CacheRegionStatsDto(region, 0, 0, 0, 0);
+            }
+            return new CacheRegionStatsDto(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(), stats.getElementCountInMemory());
+        }).toList();
+    }
+
+}
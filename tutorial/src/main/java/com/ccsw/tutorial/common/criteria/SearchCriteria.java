@@ -37,4 +37,9 @@ public class SearchCriteria {
         this.value = value;
     }
 
-}
\ No newline at end of file
+    @Override
+    public String toString() {
+        return key + " " + operation + " " + value;
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.ccsw.tutorial.common.datagen;
+
+import com.ccsw.tutorial.common.sequence.SequenceAligner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Genera categorías, autores, juegos, clientes y préstamos sintéticos con inserts JDBC por lotes, a continuación de los
+ * ids existentes. Los préstamos cumplen las reglas de reserva: un juego no se solapa consigo mismo, un cliente no tiene
+ * más de dos préstamos el mismo día y ningún préstamo dura más de {@link DataGeneratorProperties#getMaxLoanDays()}
+ * días. Cada préstamo lleva sus filas de loan_day.
+ *
+ * Los índices en memoria de juegos y préstamos se cargan en el ApplicationReadyEvent: si se genera después de arrancar
+ * hay que recargarlos (LoanIndexLoader, GameIndexLoader).
+ */
+@Component
+public class DataGenerator {
+
+    private static final int MAX_LOAN_DAYS = 14;
+
+    // Uno de cada POPULAR_RATIO juegos encadena préstamos casi sin huecos
+    private static final int POPULAR_RATIO = 10;
+    private static final int POPULAR_MAX_GAP = 2;
+    private static final int MAX_GAP = 20;
+
+    private static final int CLIENT_ATTEMPTS = 16;
+
+    private static final String[] NOUNS = { "Reinos", "Colonos", "Dragones", "Piratas", "Castillos", "Islas", "Imperios", "Caminos", "Torres", "Mercaderes", "Bosques",
+            "Estrellas", "Catedrales", "Viñedos", "Ríos", "Montañas" };
+    private static final String[] ADJECTIVES = { "de Oro", "Perdidos", "del Norte", "Olvidados", "de Fuego", "Salvajes", "del Mar", "Antiguos", "de Hielo", "Ocultos",
+            "del Sur", "Eternos" };
+    private static final String[] FIRST_NAMES = { "Lucía", "Pedro", "María", "Juan", "Carmen", "Pablo", "Laura", "Javier", "Elena", "Diego", "Marta", "Sergio" };
+    private static final String[] SURNAMES = { "García", "López", "Martínez", "Sánchez", "Pérez", "Gómez", "Ruiz", "Díaz", "Moreno", "Álvarez" };
+    private static final String[] NATIONALITIES = { "ES", "FR", "DE", "US", "GB", "IT", "PT", "PL", "CZ", "JP" };
+    private static final String[] AGES = { "6", "8", "10", "12", "14", "16", "18" };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SequenceAligner sequenceAligner;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate, SequenceAligner sequenceAligner) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceAligner = sequenceAligner;
+    }
+
+    /**
+     * Genera el volumen indicado y deja las secuencias por encima de los ids escritos
+     *
+     * @param properties volumen y forma de los datos
+     * @return {@link GeneratedData}
+     */
+    public GeneratedData generate(DataGeneratorProperties properties) {
+
+        if (properties.getMaxLoanDays() < 1 || properties.getMaxLoanDays() > MAX_LOAN_DAYS) {
+            throw new IllegalArgumentException("maxLoanDays must be between 1 and " + MAX_LOAN_DAYS);
+        }
+        if (properties.getLoans() > 0 && (properties.getGames() == 0 || properties.getClients() == 0)) {
+            throw new IllegalArgumentException("Loans need at least one generated game and one generated client");
+        }
+        if (properties.getGames() > 0 && (properties.getCategories() == 0 || properties.getAuthors() == 0)) {
+            throw new IllegalArgumentException("Games need at least one generated category and one generated author");
+        }
+
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        int batchSize = properties.getBatchSize();
+
+        long firstCategoryId = this.nextId("category");
+        Batch categories = new Batch("INSERT INTO category (id, name) VALUES (?, ?)", batchSize);
+        for (int i = 0; i < properties.getCategories(); i++) {
+            categories.add(firstCategoryId + i, "Categoría " + (firstCategoryId + i));
+        }
+        categories.flush();
+
+        long firstAuthorId = this.nextId("author");
+        Batch authors = new Batch("INSERT INTO author (id, name, nationality) VALUES (?, ?, ?)", batchSize);
+        for (int i = 0; i < properties.getAuthors(); i++) {
+            authors.add(firstAuthorId + i, pick(random, FIRST_NAMES) + " " + pick(random, SURNAMES) + " " + (firstAuthorId + i), pick(random, NATIONALITIES));
+        }
+        authors.flush();
+
+        long firstGameId = this.nextId("game");
+        Batch games = new Batch("INSERT INTO game (id, title, age, category_id, author_id) VALUES (?, ?, ?, ?, ?)", batchSize);
+        for (int i = 0; i < properties.getGames(); i++) {
+            games.add(firstGameId + i, pick(random, NOUNS) + " " + pick(random, ADJECTIVES) + " " + (firstGameId + i), pick(random, AGES),
+                    firstCategoryId + random.nextInt(properties.getCategories()), firstAuthorId + random.nextInt(properties.getAuthors()));
+        }
+        games.flush();
+
+        long firstClientId = this.nextId("client");
+        Batch clients = new Batch("INSERT INTO client (id, name) VALUES (?, ?)", batchSize);
+        for (int i = 0; i < properties.getClients(); i++) {
+            // El nombre de cliente es único: lleva el id para no chocar con generaciones anteriores
+            clients.add(firstClientId + i, pick(random, FIRST_NAMES) + " " + pick(random, SURNAMES) + " " + (firstClientId + i));
+        }
+        clients.flush();
+
+        LoanResult loans = this.generateLoans(properties, random, firstGameId, firstClientId);
+
+        this.sequenceAligner.align();
+        this.jdbcTemplate.execute("ANALYZE");
+
+        return new GeneratedData(properties.getCategories(), properties.getAuthors(), properties.getGames(), properties.getClients(), properties.getLoans(), loans.days(),
+                firstGameId, firstClientId, loans.popularGameIds(), loans.lastEndDate(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Los préstamos se crean en orden de fecha de inicio: una cola con el siguiente inicio posible de cada juego da el
+     * siguiente préstamo sin solapar el juego, y como ningún préstamo ya creado empieza después, a un cliente le basta
+     * con guardar las dos fechas de fin más altas para saber cuántos préstamos suyos siguen activos ese día.
+     */
+    private LoanResult generateLoans(DataGeneratorProperties properties, SplittableRandom random, long firstGameId, long firstClientId) {
+
+        if (properties.getLoans() == 0) {
+            return new LoanResult(0, List.of(), null);
+        }
+
+        int gameCount = properties.getGames();
+        int clientCount = properties.getClients();
+        long from = (properties.getFrom() != null ? properties.getFrom() : LocalDate.now().minusYears(2)).toEpochDay();
+
+        int[] maxGap = new int[gameCount];
+        List<Long> popularGameIds = new ArrayList<>(gameCount / POPULAR_RATIO + 1);
+        // Siguiente inicio posible (32 bits altos) e índice del juego (32 bits bajos)
+        PriorityQueue<Long> queue = new PriorityQueue<>(gameCount);
+        for (int g = 0; g < gameCount; g++) {
+            maxGap[g] = random.nextInt(POPULAR_RATIO) == 0 ? POPULAR_MAX_GAP : MAX_GAP;
+            if (maxGap[g] == POPULAR_MAX_GAP) {
+                popularGameIds.add(firstGameId + g);
+            }
+            queue.add(((long) random.nextInt(maxGap[g] + 1) << 32) | g);
+        }
+
+        // Por cliente, las dos fechas de fin más altas (epoch day); Long.MIN_VALUE si no tiene préstamos
+        long[] clientEnds = new long[clientCount * 2];
+        Arrays.fill(clientEnds, Long.MIN_VALUE);
+
+        long firstLoanId = this.nextId("loan");
+        Batch loans = new Batch("INSERT INTO loan (id, game_id, client_id, start_date, end_date) VALUES (?, ?, ?, ?, ?)", properties.getBatchSize());
+        // Las filas de loan_day referencian al préstamo: cada lote de loan_day envía antes el de loan
+        Batch loanDays = new Batch("INSERT INTO loan_day (game_id, reserved_day, loan_id) VALUES (?, ?, ?)", properties.getBatchSize(), loans);
+        long days = 0;
+        long lastEnd = Long.MIN_VALUE;
+
+        for (int i = 0; i < properties.getLoans(); i++) {
+            long next = queue.poll();
+            int game = (int) next;
+            long startDay = from + (next >>> 32);
+            long endDay = startDay + random.nextInt(properties.getMaxLoanDays());
+            int client = this.pickClient(random, clientEnds, startDay);
+
+            if (clientEnds[2 * client] < endDay) {
+                clientEnds[2 * client + 1] = clientEnds[2 * client];
+                clientEnds[2 * client] = endDay;
+            } else if (clientEnds[2 * client + 1] < endDay) {
+                clientEnds[2 * client + 1] = endDay;
+            }
+
+            long loanId = firstLoanId + i;
+            long gameId = firstGameId + game;
+            loans.add(loanId, gameId, firstClientId + client, Date.valueOf(LocalDate.ofEpochDay(startDay)), Date.valueOf(LocalDate.ofEpochDay(endDay)));
+            for (long day = startDay; day <= endDay; day++) {
+                loanDays.add(gameId, Date.valueOf(LocalDate.ofEpochDay(day)), loanId);
+            }
+            days += endDay - startDay + 1;
+            lastEnd = Math.max(lastEnd, endDay);
+
+            queue.add(((endDay + 1 + random.nextInt(maxGap[game] + 1) - from) << 32) | game);
+        }
+        loanDays.flush();
+
+        return new LoanResult(days, List.copyOf(popularGameIds), LocalDate.ofEpochDay(lastEnd));
+    }
+
+    /**
+     * Cliente al azar con como mucho un préstamo activo el día de inicio
+     */
+    private int pickClient(SplittableRandom random, long[] clientEnds, long startDay) {
+
+        int clientCount = clientEnds.length / 2;
+        for (int attempt = 0; attempt < CLIENT_ATTEMPTS; attempt++) {
+            int client = random.nextInt(clientCount);
+            if (clientEnds[2 * client + 1] < startDay) {
+                return client;
+            }
+        }
+
+        int offset = random.nextInt(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            int client = (offset + i) % clientCount;
+            if (clientEnds[2 * client + 1] < startDay) {
+                return client;
+            }
+        }
+
+        throw new IllegalArgumentException("Not enough clients: all of them already have two loans on " + LocalDate.ofEpochDay(startDay));
+    }
+
+    private long nextId(String table) {
+
+        Long maxId = this.jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+
+        return values[random.nextInt(values.length)];
+    }
+
+    private record LoanResult(long days, List<Long> popularGameIds, LocalDate lastEndDate) {
+    }
+
+    /**
+     * Filas pendientes de un mismo insert, que se envían con un único executeBatch
+     */
+    private final class Batch {
+
+        private final String sql;
+
+        private final int size;
+
+        private final Batch parent;
+
+        private final List<Object[]> rows;
+
+        Batch(String sql, int size) {
+
+            this(sql, size, null);
+        }
+
+        /**
+         * @param parent lote con las filas referenciadas por este, que se envía siempre antes
+         */
+        Batch(String sql, int size, Batch parent) {
+
+            this.sql = sql;
+            this.size = size;
+            this.parent = parent;
+            this.rows = new ArrayList<>(size);
+        }
+
+        void add(Object... row) {
+
+            this.rows.add(row);
+            if (this.rows.size() >= this.size) {
+                this.flush();
+            }
+        }
+
+        void flush() {
+
+            if (this.parent != null) {
+                this.parent.flush();
+            }
+            if (!this.rows.isEmpty()) {
+                DataGenerator.this.jdbcTemplate.batchUpdate(this.sql, this.rows);
+                this.rows.clear();
+            }
+        }
+    }
+
+}
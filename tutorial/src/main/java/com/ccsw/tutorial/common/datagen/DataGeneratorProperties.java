@@ -0,0 +1,115 @@
+package com.ccsw.tutorial.common.datagen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Volumen y forma de los datos sintéticos (ludoteca.datagen.*)
+ */
+@ConfigurationProperties(prefix = "ludoteca.datagen")
+public class DataGeneratorProperties {
+
+    private int categories = 10;
+
+    private int authors = 500;
+
+    private int games = 5_000;
+
+    private int clients = 20_000;
+
+    private int loans = 200_000;
+
+    private int maxLoanDays = 14;
+
+    private LocalDate from;
+
+    private long seed = 42;
+
+    private int batchSize = 1_000;
+
+    public int getCategories() {
+        return categories;
+    }
+
+    public void setCategories(int categories) {
+        this.categories = categories;
+    }
+
+    public int getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(int authors) {
+        this.authors = authors;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public void setGames(int games) {
+        this.games = games;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public void setClients(int clients) {
+        this.clients = clients;
+    }
+
+    public int getLoans() {
+        return loans;
+    }
+
+    public void setLoans(int loans) {
+        this.loans = loans;
+    }
+
+    /**
+     * @return duración máxima de un préstamo en días, contando el de inicio y el de fin
+     */
+    public int getMaxLoanDays() {
+        return maxLoanDays;
+    }
+
+    public void setMaxLoanDays(int maxLoanDays) {
+        this.maxLoanDays = maxLoanDays;
+    }
+
+    /**
+     * @return fecha del primer préstamo, null para empezar dos años antes de hoy
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    /**
+     * @return semilla del generador aleatorio; la misma semilla produce los mismos datos
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @return filas por lote de inserts
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+}
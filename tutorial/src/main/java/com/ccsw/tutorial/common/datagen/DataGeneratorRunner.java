@@ -0,0 +1,53 @@
+package com.ccsw.tutorial.common.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Con el perfil datagen completa los datos de data.sql con el volumen de ludoteca.datagen.* al arrancar. Los runners se
+ * ejecutan antes del ApplicationReadyEvent, así que los índices en memoria ya se cargan con los datos generados.
+ *
+ * mvn spring-boot:run -Dspring-boot.run.profiles=datagen -Dspring-boot.run.arguments=--ludoteca.datagen.loans=1000000
+ */
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+public class DataGeneratorRunner implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataGeneratorRunner.class);
+
+    private final DataGenerator dataGenerator;
+
+    private final DataGeneratorProperties properties;
+
+    private volatile GeneratedData generatedData;
+
+    public DataGeneratorRunner(DataGenerator dataGenerator, DataGeneratorProperties properties) {
+
+        this.dataGenerator = dataGenerator;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        GeneratedData data = this.dataGenerator.generate(this.properties);
+        this.generatedData = data;
+        LOG.info("Generated {} categories, {} authors, {} games, {} clients and {} loans ({} loan days) in {} ms", data.categories(), data.authors(), data.games(),
+                data.clients(), data.loans(), data.loanDays(), data.millis());
+    }
+
+    /**
+     * @return {@link GeneratedData} del arranque, por ejemplo para que una prueba de carga reserve los juegos populares
+     */
+    public GeneratedData getGeneratedData() {
+
+        return this.generatedData;
+    }
+
+}
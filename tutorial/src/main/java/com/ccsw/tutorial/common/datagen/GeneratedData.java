@@ -0,0 +1,16 @@
+package com.ccsw.tutorial.common.datagen;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filas escritas por {@link DataGenerator#generate}
+ *
+ * @param firstGameId PK del primer juego generado; los juegos generados son consecutivos
+ * @param firstClientId PK del primer cliente generado; los clientes generados son consecutivos
+ * @param popularGameIds PKs de los juegos que encadenan préstamos casi sin huecos, vacío si no se generan préstamos
+ * @param lastEndDate último día ocupado por un préstamo generado, null si no se generan préstamos
+ */
+public record GeneratedData(int categories, int authors, int games, int clients, int loans, long loanDays, long firstGameId, long firstClientId, List<Long> popularGameIds,
+        LocalDate lastEndDate, long millis) {
+}
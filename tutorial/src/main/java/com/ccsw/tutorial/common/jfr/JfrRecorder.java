@@ -0,0 +1,85 @@
+package com.ccsw.tutorial.common.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Con el perfil jfr arranca una grabación continua con la configuración de JDK indicada en ludoteca.jfr.settings más la
+ * plantilla jfr/ludoteca.jfc, que activa los eventos de la aplicación. Se guarda en ludoteca.jfr.destination al parar la
+ * aplicación; mientras tanto se puede volcar con jcmd &lt;pid&gt; JFR.dump name=ludoteca.
+ *
+ * mvn spring-boot:run -Dspring-boot.run.profiles=jfr
+ */
+@Component
+@Profile("jfr")
+public class JfrRecorder {
+
+    public static final String RECORDING_NAME = "ludoteca";
+
+    private static final String TEMPLATE = "jfr/ludoteca.jfc";
+
+    private static final Logger LOG = LoggerFactory.getLogger(JfrRecorder.class);
+
+    private final Recording recording;
+
+    private final Path destination;
+
+    public JfrRecorder(@Value("${ludoteca.jfr.settings:default}") String settings, @Value("${ludoteca.jfr.destination:ludoteca.jfr}") Path destination,
+            @Value("${ludoteca.jfr.max-age:1h}") Duration maxAge) throws IOException, ParseException {
+
+        Map<String, String> merged = new HashMap<>(Configuration.getConfiguration(settings).getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(TEMPLATE).getInputStream(), StandardCharsets.UTF_8)) {
+            merged.putAll(Configuration.create(reader).getSettings());
+        }
+
+        this.destination = destination.toAbsolutePath();
+        this.recording = new Recording(merged);
+        this.recording.setName(RECORDING_NAME);
+        this.recording.setToDisk(true);
+        this.recording.setMaxAge(maxAge);
+        this.recording.setDestination(this.destination);
+    }
+
+    @PostConstruct
+    public void start() {
+
+        this.recording.start();
+        LOG.info("JFR recording '{}' started, written to {} on shutdown", RECORDING_NAME, this.destination);
+    }
+
+    @PreDestroy
+    public void stop() {
+
+        // Con destino configurado, stop() escribe la grabación en el fichero
+        this.recording.stop();
+        this.recording.close();
+        LOG.info("JFR recording '{}' written to {}", RECORDING_NAME, this.destination);
+    }
+
+    /**
+     * @return grabación en curso
+     */
+    public Recording getRecording() {
+
+        return this.recording;
+    }
+
+}
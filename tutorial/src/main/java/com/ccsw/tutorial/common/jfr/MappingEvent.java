@@ -0,0 +1,72 @@
+package com.ccsw.tutorial.common.jfr;
+
+import com.ccsw.tutorial.common.timing.ServerTiming;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Conversión de una lista de entidades o filas a DTOs en un controlador. Desactivado salvo que la grabación lo active
+ * (plantilla jfr/ludoteca.jfc o perfil jfr).
+ */
+@Name("ludoteca.Mapping")
+@Label("Mapping")
+@Description("Conversión de una lista de entidades o filas a DTOs")
+@Category({ "Ludoteca", "Mapping" })
+@Enabled(false)
+@StackTrace(false)
+public class MappingEvent extends Event {
+
+    @Label("Source")
+    @Description("Tipo de los elementos convertidos")
+    private String source;
+
+    @Label("Size")
+    @Description("Número de elementos convertidos")
+    private int size;
+
+    /**
+     * Convierte cada elemento con el mapper indicado y registra el evento con el tamaño de la lista. Si se está midiendo
+     * la petición, suma también el tiempo a la fase mapping de Server-Timing.
+     *
+     * @param source tipo de los elementos
+     * @param list elementos a convertir
+     * @param mapper conversión de un elemento
+     * @return {@link List} con los DTOs, en el mismo orden
+     */
+    public static <S, D> List<D> map(Class<S> source, List<? extends S> list, Function<? super S, ? extends D> mapper) {
+
+        ServerTiming timing = ServerTiming.current();
+        long start = timing != null ? System.nanoTime() : 0;
+
+        MappingEvent event = new MappingEvent();
+        event.begin();
+
+        List<D> dtos = new ArrayList<>(list.size());
+        for (S element : list) {
+            dtos.add(mapper.apply(element));
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source.getSimpleName();
+            event.size = list.size();
+            event.commit();
+        }
+
+        if (timing != null) {
+            timing.addMapping(System.nanoTime() - start);
+        }
+
+        return dtos;
+    }
+
+}
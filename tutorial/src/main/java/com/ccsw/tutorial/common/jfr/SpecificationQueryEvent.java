@@ -0,0 +1,74 @@
+package com.ccsw.tutorial.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Ejecución de una consulta construida con LoanSpecification o GameSpecification. Desactivado salvo que la grabación lo
+ * active (plantilla jfr/ludoteca.jfc o perfil jfr); el filtro solo se formatea si el evento se va a guardar.
+ */
+@Name("ludoteca.SpecificationQuery")
+@Label("Specification Query")
+@Description("Consulta construida con LoanSpecification o GameSpecification")
+@Category({ "Ludoteca", "Persistence" })
+@Enabled(false)
+@StackTrace(false)
+public class SpecificationQueryEvent extends Event {
+
+    @Label("Entity")
+    private String entity;
+
+    @Label("Operation")
+    @Description("rows, count o scroll")
+    private String operation;
+
+    @Label("Filter")
+    @Description("Criterios de la búsqueda")
+    private String filter;
+
+    @Label("Ids")
+    @Description("Tamaño de la lista de PKs del IN, 0 si no hay")
+    private int ids;
+
+    @Label("Rows")
+    @Description("Filas devueltas, o el total en los count")
+    private long rows;
+
+    /**
+     * @return evento con el inicio de la consulta ya marcado
+     */
+    public static SpecificationQueryEvent start() {
+
+        SpecificationQueryEvent event = new SpecificationQueryEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Cierra el evento y lo guarda si la grabación lo tiene activo y supera el umbral
+     *
+     * @param entity entidad consultada
+     * @param operation rows, count o scroll
+     * @param filter criterios de la búsqueda, se formatea con toString
+     * @param ids tamaño de la lista de PKs del IN
+     * @param rows filas devueltas o total contado
+     */
+    public void finish(Class<?> entity, String operation, Object filter, int ids, long rows) {
+
+        end();
+        if (shouldCommit()) {
+            this.entity = entity.getSimpleName();
+            this.operation = operation;
+            this.filter = String.valueOf(filter);
+            this.ids = ids;
+            this.rows = rows;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.ccsw.tutorial.common.pagination;
+
+/**
+ * Forma de calcular el total de elementos de una búsqueda paginada
+ */
+public enum CountMode {
+
+    /**
+     * count(*) exacto en cada petición
+     */
+    EXACT,
+
+    /**
+     * Sin count: solo se sabe si hay página siguiente
+     */
+    NONE,
+
+    /**
+     * Total cacheado por filtro, recalculado tras las escrituras
+     */
+    ESTIMATED
+
+}
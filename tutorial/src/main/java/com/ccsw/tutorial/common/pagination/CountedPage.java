@@ -0,0 +1,56 @@
+package com.ccsw.tutorial.common.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Página que indica cómo se ha obtenido su total. Con {@link CountMode#NONE} el total es una cota inferior: los
+ * elementos hasta esta página más uno si hay siguiente, suficiente para que {@link #hasNext()} sea correcto.
+ *
+ * @param <T> tipo del contenido
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CountMode countMode;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, CountMode countMode) {
+
+        super(content, pageable, total);
+        this.countMode = countMode;
+    }
+
+    public static <T> CountedPage<T> exact(Page<T> page) {
+
+        return new CountedPage<>(page.getContent(), page.getPageable(), page.getTotalElements(), CountMode.EXACT);
+    }
+
+    public static <T> CountedPage<T> withoutCount(Slice<T> slice) {
+
+        return new CountedPage<>(slice.getContent(), slice.getPageable(), lowerBound(slice), CountMode.NONE);
+    }
+
+    /**
+     * @param slice contenido de la página
+     * @param estimatedTotal total cacheado, que puede haber quedado por detrás del contenido real
+     */
+    public static <T> CountedPage<T> estimated(Slice<T> slice, long estimatedTotal) {
+
+        return new CountedPage<>(slice.getContent(), slice.getPageable(), Math.max(estimatedTotal, lowerBound(slice)), CountMode.ESTIMATED);
+    }
+
+    private static long lowerBound(Slice<?> slice) {
+
+        return slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+    }
+
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+}
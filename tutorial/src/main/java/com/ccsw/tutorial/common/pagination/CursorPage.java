@@ -0,0 +1,49 @@
+package com.ccsw.tutorial.common.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página obtenida por cursor: el contenido y el cursor opaco para pedir la siguiente, sin total de elementos
+ *
+ * @param <T> tipo del contenido
+ */
+public class CursorPage<T> {
+
+    private List<T> content = new ArrayList<>();
+
+    private String nextCursor;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> content, String nextCursor) {
+
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    /**
+     * @return cursor de la página siguiente o null si es la última
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.ccsw.tutorial.common.pagination;
+
+import com.ccsw.tutorial.common.transaction.TransactionHooks;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Totales de las búsquedas paginadas en modo {@link CountMode#ESTIMATED}, por entidad y filtro. Las escrituras de cada
+ * entidad descartan sus totales al hacer commit y el siguiente count los vuelve a calcular.
+ * <p>
+ * Cada descarte incrementa la generación de la entidad. Un count que empezó antes no guarda su total, porque pudo
+ * contar las filas anteriores al commit.
+ */
+@Component
+public class PageCountCache {
+
+    // Límite de filtros distintos por entidad; al superarlo se vacía, los filtros por fecha generan muchas claves
+    private static final int MAX_FILTERS = 1_000;
+
+    private final Map<Class<?>, EntityCounts> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Recupera el total cacheado o lo calcula
+     *
+     * @param entity entidad buscada
+     * @param filter clave con los valores del filtro; debe implementar equals y hashCode
+     * @param counter count exacto
+     * @return total de elementos
+     */
+    public long count(Class<?> entity, Object filter, LongSupplier counter) {
+
+        EntityCounts entityCounts = this.counts.computeIfAbsent(entity, k -> new EntityCounts());
+        if (entityCounts.totals.size() >= MAX_FILTERS) {
+            entityCounts.totals.clear();
+        }
+
+        Long cached = entityCounts.totals.get(filter);
+        if (cached != null) {
+            return cached;
+        }
+
+        // El count se hace fuera del mapa para no bloquear otras claves mientras se ejecuta la consulta
+        long generation = entityCounts.generation.get();
+        Long count = counter.getAsLong();
+        if (entityCounts.generation.get() == generation) {
+            entityCounts.totals.put(filter, count);
+            // El descarte pudo llegar entre la comprobación y el put
+            if (entityCounts.generation.get() != generation) {
+                entityCounts.totals.remove(filter, count);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Descarta los totales de la entidad cuando la transacción actual haga commit
+     *
+     * @param entity entidad modificada
+     */
+    public void evictAfterCommit(Class<?> entity) {
+
+        TransactionHooks.afterCommit(() -> {
+            EntityCounts entityCounts = this.counts.get(entity);
+            if (entityCounts != null) {
+                entityCounts.generation.incrementAndGet();
+                entityCounts.totals.clear();
+            }
+        });
+    }
+
+    private static final class EntityCounts {
+
+        private final Map<Object, Long> totals = new ConcurrentHashMap<>();
+
+        private final AtomicLong generation = new AtomicLong();
+    }
+
+}
@@ -20,6 +20,8 @@ public class PageableRequest implements Serializable {
 
     private List<SortRequest> sort;
 
+    private CountMode countMode = CountMode.EXACT;
+
     public PageableRequest() {
 
         sort = new ArrayList<>();
@@ -64,6 +66,14 @@ public class PageableRequest implements Serializable {
         this.sort = sort;
     }
 
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    public void setCountMode(CountMode countMode) {
+        this.countMode = countMode == null ? CountMode.EXACT : countMode;
+    }
+
     @JsonIgnore
     public Pageable getPageable() {
 
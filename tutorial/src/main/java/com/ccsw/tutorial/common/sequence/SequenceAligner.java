@@ -0,0 +1,66 @@
+package com.ccsw.tutorial.common.sequence;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migración de las tablas con ids existentes a secuencias: cada secuencia {@code <tabla>_seq} se adelanta por encima
+ * del mayor id de su tabla. Se ejecuta tras los scripts de inicialización y antes de que Hibernate reserve ningún
+ * bloque, por lo que las filas cargadas con id explícito (data.sql, importaciones) no chocan con los ids generados.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class SequenceAligner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SequenceAligner.class);
+
+    private static final String SUFFIX = "_SEQ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAligner(JdbcTemplate jdbcTemplate) {
+
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+
+        this.align();
+    }
+
+    /**
+     * Adelanta las secuencias que han quedado por detrás de los ids de su tabla
+     *
+     * @return número de secuencias modificadas
+     */
+    public int align() {
+
+        List<Map<String, Object>> sequences = this.jdbcTemplate.queryForList(
+                "SELECT SEQUENCE_NAME, BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME LIKE '%" + SUFFIX + "'");
+
+        int aligned = 0;
+        for (Map<String, Object> sequence : sequences) {
+            String name = (String) sequence.get("SEQUENCE_NAME");
+            long next = ((Number) sequence.get("BASE_VALUE")).longValue();
+            String table = name.substring(0, name.length() - SUFFIX.length());
+
+            Long maxId = this.jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId != null && maxId >= next) {
+                this.jdbcTemplate.execute("ALTER SEQUENCE " + name + " RESTART WITH " + (maxId + 1));
+                LOG.info("Sequence {} restarted at {}", name, maxId + 1);
+                aligned++;
+            }
+        }
+
+        return aligned;
+    }
+
+}
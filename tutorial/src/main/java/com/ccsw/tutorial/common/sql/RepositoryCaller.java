@@ -0,0 +1,79 @@
+package com.ccsw.tutorial.common.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Método de repositorio que se está ejecutando en el hilo actual, para atribuir cada sentencia SQL a quien la lanzó.
+ * Se añade como advice a los proxies de Spring Data. El texto de cada {@link Method} se compone la primera vez que se
+ * invoca y cada llamada solo guarda esa referencia en el hilo.
+ */
+public class RepositoryCaller implements MethodInterceptor {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private static final String PACKAGE = "com.ccsw.tutorial.";
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final Class<?> repositoryInterface;
+
+    private final Map<Method, String> labels = new ConcurrentHashMap<>();
+
+    public RepositoryCaller(Class<?> repositoryInterface) {
+
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+
+        String previous = CURRENT.get();
+        CURRENT.set(this.labels.computeIfAbsent(invocation.getMethod(), this::label));
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Las sentencias que no lanza un repositorio (el flush al confirmar la transacción, JdbcTemplate) se atribuyen al
+     * primer método de la aplicación que hay en la pila.
+     *
+     * @return método que lanzó la sentencia en curso, como LoanRepository.findAllIntervals()
+     */
+    public static String current() {
+
+        String repositoryMethod = CURRENT.get();
+        if (repositoryMethod != null) {
+            return repositoryMethod;
+        }
+
+        Optional<StackWalker.StackFrame> frame = WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PACKAGE) && !f.getClassName().startsWith(RepositoryCaller.class.getPackageName())).findFirst());
+        return frame.map(f -> simpleName(f.getClassName()) + "." + f.getMethodName()).orElse(null);
+    }
+
+    private static String simpleName(String className) {
+
+        // Sin el sufijo de los proxies CGLIB de Spring
+        int proxy = className.indexOf("$$");
+        String name = proxy < 0 ? className : className.substring(0, proxy);
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private String label(Method method) {
+
+        return this.repositoryInterface.getSimpleName() + "." + method.getName()
+                + Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(", ", "(", ")"));
+    }
+
+}
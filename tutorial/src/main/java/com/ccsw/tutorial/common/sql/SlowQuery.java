@@ -0,0 +1,19 @@
+package com.ccsw.tutorial.common.sql;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Una sentencia que superó el umbral de ludoteca.slow-query.threshold
+ *
+ * @param at momento en que terminó
+ * @param millis duración de la ejecución JDBC
+ * @param sql sentencia tal y como la preparó Hibernate
+ * @param parameters valores de los parámetros por posición, con los textos ocultos si ludoteca.slow-query.redact-text
+ * @param batchSize número de sentencias del lote, 1 si no es un lote
+ * @param caller método de repositorio que la lanzó o, si no la lanzó ninguno, primer método de la aplicación en la pila
+ * @param thread hilo que la ejecutó
+ * @param plan salida de EXPLAIN, calculada la primera vez que la sentencia fue lenta; null si no se puede explicar
+ */
+public record SlowQuery(Instant at, double millis, String sql, List<String> parameters, int batchSize, String caller, String thread, String plan) {
+}
@@ -0,0 +1,44 @@
+package com.ccsw.tutorial.common.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * /actuator/slowqueries: devuelve las consultas lentas guardadas, de la más reciente a la más antigua. Es de solo lectura
+ * y no está en la exposición por defecto, porque incluye valores de los parámetros; hay que añadirlo a
+ * management.endpoints.web.exposure.include donde el actuator no sea público.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog log;
+
+    private final Duration threshold;
+
+    public SlowQueryEndpoint(SlowQueryLog log, Duration threshold) {
+
+        this.log = log;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return {@link SlowQueriesDescriptor} con el umbral, el total registrado y las entradas del anillo
+     */
+    @ReadOperation
+    public SlowQueriesDescriptor slowQueries() {
+
+        return new SlowQueriesDescriptor(this.threshold.toMillis(), this.log.total(), this.log.entries());
+    }
+
+    /**
+     * @param thresholdMillis umbral a partir del cual se registra una sentencia
+     * @param total consultas lentas desde el arranque, incluidas las que ya no están en el anillo
+     * @param queries consultas guardadas
+     */
+    public record SlowQueriesDescriptor(long thresholdMillis, long total, List<SlowQuery> queries) {
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.ccsw.tutorial.common.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra en {@link SlowQueryLog} cada ejecución JDBC que supera el umbral, con sus parámetros, el método de
+ * repositorio que la lanzó y el plan de EXPLAIN. El plan se calcula una sola vez por sentencia, la primera vez que es
+ * lenta, sobre la misma conexión y con los mismos parámetros: la conexión es la real y no la del proxy, así que el
+ * EXPLAIN no vuelve a pasar por los listeners. Las ejecuciones por debajo del umbral solo cuestan dos nanoTime.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private static final String START = SlowQueryListener.class.getName() + ".start";
+
+    private static final Set<String> EXPLAINABLE = Set.of("select", "with", "insert", "update", "delete", "merge");
+
+    // Las sentencias distintas de la aplicación son unas decenas; el límite solo protege de SQL generado sin parámetros
+    private static final int MAX_PLANS = 1_000;
+
+    private static final int MAX_TEXT = 200;
+
+    private final SlowQueryLog log;
+
+    private final long thresholdNanos;
+
+    private final boolean redactText;
+
+    private final boolean explain;
+
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+
+    public SlowQueryListener(SlowQueryLog log, SlowQueryProperties properties) {
+
+        this.log = log;
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.redactText = properties.isRedactText();
+        this.explain = properties.isExplain();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long nanos = start != null ? System.nanoTime() - start : execInfo.getElapsedTime() * 1_000_000;
+        if (nanos < this.thresholdNanos) {
+            return;
+        }
+
+        double millis = nanos / 1_000_000.0;
+        String caller = RepositoryCaller.current();
+        int batchSize = execInfo.isBatch() ? execInfo.getBatchSize() : 1;
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty() ? List.of() : sorted(queryInfo.getParametersList().get(0));
+            String plan = execInfo.isSuccess() ? plan(execInfo, queryInfo.getQuery(), parameters) : null;
+
+            this.log.add(new SlowQuery(Instant.now(), millis, queryInfo.getQuery(), format(parameters), batchSize, caller, Thread.currentThread().getName(), plan));
+            LOG.warn("Slow query ({} ms) from {}: {}", String.format(Locale.ROOT, "%.3f", millis), caller, queryInfo.getQuery());
+        }
+    }
+
+    private String plan(ExecutionInfo execInfo, String sql, List<ParameterSetOperation> parameters) {
+
+        if (!this.explain || !isExplainable(sql, parameters)) {
+            return null;
+        }
+
+        String plan = this.plans.get(sql);
+        if (plan != null || this.plans.size() >= MAX_PLANS) {
+            return plan;
+        }
+
+        try {
+            plan = explain(execInfo.getStatement().getConnection(), sql, parameters);
+        } catch (SQLException e) {
+            plan = "EXPLAIN failed: " + e.getMessage();
+        }
+
+        String previous = this.plans.putIfAbsent(sql, plan);
+        return previous != null ? previous : plan;
+    }
+
+    private static String explain(Connection connection, String sql, List<ParameterSetOperation> parameters) throws SQLException {
+
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (ParameterSetOperation parameter : parameters) {
+                Object[] args = parameter.getArgs();
+                if (ParameterSetOperation.isSetNullParameterOperation(parameter)) {
+                    explain.setNull((Integer) args[0], (Integer) args[1]);
+                } else {
+                    explain.setObject((Integer) args[0], args[1]);
+                }
+            }
+
+            List<String> lines = new ArrayList<>();
+            try (ResultSet rs = explain.executeQuery()) {
+                while (rs.next()) {
+                    lines.add(rs.getString(1));
+                }
+            }
+            return String.join("\n", lines);
+        }
+    }
+
+    private static boolean isExplainable(String sql, List<ParameterSetOperation> parameters) {
+
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        if (!EXPLAINABLE.contains(trimmed.substring(0, end).toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+
+        // Parámetros por nombre (CallableStatement) o streams, que ya ha consumido la sentencia original
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            if (!(args[0] instanceof Integer) || args.length > 1 && (args[1] instanceof InputStream || args[1] instanceof Reader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<ParameterSetOperation> sorted(List<ParameterSetOperation> parameters) {
+
+        List<ParameterSetOperation> sorted = new ArrayList<>(parameters);
+        sorted.sort(Comparator.comparingInt(parameter -> parameter.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE));
+        return sorted;
+    }
+
+    private List<String> format(List<ParameterSetOperation> parameters) {
+
+        List<String> values = new ArrayList<>(parameters.size());
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            values.add(ParameterSetOperation.isSetNullParameterOperation(parameter) || args.length < 2 ? "NULL" : format(args[1]));
+        }
+        return values;
+    }
+
+    private String format(Object value) {
+
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof CharSequence || value instanceof Character) {
+            String text = value.toString();
+            if (this.redactText) {
+                return "<redacted " + text.length() + " chars>";
+            }
+            return "'" + (text.length() > MAX_TEXT ? text.substring(0, MAX_TEXT) + "..." : text) + "'";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof Clob || value instanceof InputStream || value instanceof Reader) {
+            return "<lob>";
+        }
+        return value.toString();
+    }
+
+}
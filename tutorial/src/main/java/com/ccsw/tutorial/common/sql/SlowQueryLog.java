@@ -0,0 +1,69 @@
+package com.ccsw.tutorial.common.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Últimas consultas lentas en memoria. Es un anillo de tamaño fijo: al llenarse, cada entrada nueva sustituye a la más
+ * antigua, así que el consumo no crece aunque la aplicación pase horas lenta.
+ */
+public class SlowQueryLog {
+
+    private final SlowQuery[] ring;
+
+    private int next;
+
+    private long total;
+
+    public SlowQueryLog(int capacity) {
+
+        this.ring = new SlowQuery[capacity];
+    }
+
+    /**
+     * @param query consulta lenta a registrar
+     */
+    public synchronized void add(SlowQuery query) {
+
+        this.ring[this.next] = query;
+        this.next = (this.next + 1) % this.ring.length;
+        this.total++;
+    }
+
+    /**
+     * @return {@link List} con las consultas guardadas, de la más reciente a la más antigua
+     */
+    public synchronized List<SlowQuery> entries() {
+
+        List<SlowQuery> entries = new ArrayList<>(this.ring.length);
+        for (int i = 1; i <= this.ring.length; i++) {
+            SlowQuery query = this.ring[Math.floorMod(this.next - i, this.ring.length)];
+            if (query == null) {
+                break;
+            }
+            entries.add(query);
+        }
+        return entries;
+    }
+
+    /**
+     * @return consultas lentas registradas desde el arranque o el último {@link #clear()}, incluidas las que ya han
+     * salido del anillo
+     */
+    public synchronized long total() {
+
+        return this.total;
+    }
+
+    /**
+     * Vacía el anillo
+     */
+    public synchronized void clear() {
+
+        Arrays.fill(this.ring, null);
+        this.next = 0;
+        this.total = 0;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.ccsw.tutorial.common.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Umbral y tamaño del registro de consultas lentas (ludoteca.slow-query.*)
+ */
+@ConfigurationProperties(prefix = "ludoteca.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled;
+
+    private Duration threshold = Duration.ofMillis(100);
+
+    private int capacity = 200;
+
+    private boolean redactText = true;
+
+    private boolean explain = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public boolean isRedactText() {
+        return redactText;
+    }
+
+    public void setRedactText(boolean redactText) {
+        this.redactText = redactText;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.ccsw.tutorial.common.text;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de textos para búsquedas sin distinguir mayúsculas ni acentos: "Aventureros al Tren" y
+ * "aventureros AL tren" normalizan igual, y "Dragón" igual que "dragon".
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * @param text texto original
+     * @return texto en minúsculas, sin marcas diacríticas y con los espacios colapsados; cadena vacía si es null
+     */
+    public static String normalize(String text) {
+
+        if (text == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String withoutMarks = DIACRITICS.matcher(decomposed).replaceAll("");
+
+        return WHITESPACE.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+}
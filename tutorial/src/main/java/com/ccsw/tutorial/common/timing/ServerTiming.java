@@ -0,0 +1,107 @@
+package com.ccsw.tutorial.common.timing;
+
+import java.util.Locale;
+
+/**
+ * Tiempos de la petición en curso, repartidos por fase, para la cabecera Server-Timing. Solo existe mientras
+ * {@link ServerTimingFilter} atiende la petición; con la cabecera desactivada {@link #current()} devuelve null y los
+ * puntos de medida no hacen nada.
+ */
+public final class ServerTiming {
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+
+    private long sqlStart;
+
+    private long sqlNanos;
+
+    private int sqlStatements;
+
+    private long mappingNanos;
+
+    private long jsonNanos;
+
+    private ServerTiming() {
+    }
+
+    /**
+     * @return tiempos de la petición en curso, null si no se están midiendo
+     */
+    public static ServerTiming current() {
+
+        return CURRENT.get();
+    }
+
+    static ServerTiming begin() {
+
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+
+        CURRENT.remove();
+    }
+
+    /**
+     * Marca el inicio de una ejecución JDBC
+     */
+    public void sqlStarted() {
+
+        this.sqlStart = System.nanoTime();
+    }
+
+    /**
+     * Suma la ejecución JDBC iniciada en {@link #sqlStarted()}, que puede ser un lote de varias sentencias
+     *
+     * @param statements sentencias ejecutadas
+     */
+    public void sqlFinished(int statements) {
+
+        this.sqlNanos += System.nanoTime() - this.sqlStart;
+        this.sqlStatements += statements;
+    }
+
+    /**
+     * @param nanos duración de una conversión a DTOs
+     */
+    public void addMapping(long nanos) {
+
+        this.mappingNanos += nanos;
+    }
+
+    /**
+     * @param nanos duración de una serialización a JSON
+     */
+    public void addJson(long nanos) {
+
+        this.jsonNanos += nanos;
+    }
+
+    /**
+     * @return número de sentencias SQL de la petición
+     */
+    public int getSqlStatements() {
+
+        return this.sqlStatements;
+    }
+
+    /**
+     * @return valor de la cabecera Server-Timing, con la duración total hasta este momento
+     */
+    public String header() {
+
+        long total = System.nanoTime() - this.start;
+        return String.format(Locale.ROOT, "sql;dur=%.3f;desc=\"%d statements\", mapping;dur=%.3f, json;dur=%.3f, total;dur=%.3f", millis(this.sqlNanos), this.sqlStatements,
+                millis(this.mappingNanos), millis(this.jsonNanos), millis(total));
+    }
+
+    private static double millis(long nanos) {
+
+        return nanos / 1_000_000.0;
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.ccsw.tutorial.common.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Añade a cada respuesta la cabecera Server-Timing con el tiempo en SQL (y el número de sentencias), en la conversión a
+ * DTOs, en la serialización a JSON y el total. La respuesta se guarda en memoria hasta terminar, porque la cabecera tiene
+ * que ir antes del cuerpo y la serialización es lo último que ocurre.
+ *
+ * Timing-Allow-Origin permite que el navegador muestre los tiempos también cuando el front está en otro origen.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    public static final String TIMING_ALLOW_ORIGIN = "Timing-Allow-Origin";
+
+    private final String allowOrigin;
+
+    public ServerTimingFilter(String allowOrigin) {
+
+        this.allowOrigin = allowOrigin;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        ServerTiming timing = ServerTiming.begin();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            ServerTiming.clear();
+            if (!response.isCommitted()) {
+                response.setHeader(SERVER_TIMING, timing.header());
+                response.setHeader(TIMING_ALLOW_ORIGIN, this.allowOrigin);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+}
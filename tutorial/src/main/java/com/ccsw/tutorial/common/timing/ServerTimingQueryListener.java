@@ -0,0 +1,33 @@
+package com.ccsw.tutorial.common.timing;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Suma cada ejecución JDBC al {@link ServerTiming} de la petición. ExecutionInfo solo da milisegundos, así que la
+ * duración se mide con nanoTime entre beforeQuery y afterQuery, que llegan en el mismo hilo.
+ */
+public class ServerTimingQueryListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.sqlStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.sqlFinished(execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size());
+        }
+    }
+
+}
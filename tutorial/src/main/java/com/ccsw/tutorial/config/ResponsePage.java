@@ -1,5 +1,6 @@
 package com.ccsw.tutorial.config;
 
+import com.ccsw.tutorial.common.pagination.CountMode;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -16,11 +17,15 @@ public class ResponsePage<T> extends PageImpl<T> {
 
     private static final long serialVersionUID = 1L;
 
+    private CountMode countMode;
+
     @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
     public ResponsePage(@JsonProperty("content") List<T> content, @JsonProperty("number") int number, @JsonProperty("size") int size, @JsonProperty("totalElements") Long totalElements, @JsonProperty("pageable") JsonNode pageable,
-            @JsonProperty("last") boolean last, @JsonProperty("totalPages") int totalPages, @JsonProperty("sort") JsonNode sort, @JsonProperty("first") boolean first, @JsonProperty("numberOfElements") int numberOfElements) {
+            @JsonProperty("last") boolean last, @JsonProperty("totalPages") int totalPages, @JsonProperty("sort") JsonNode sort, @JsonProperty("first") boolean first, @JsonProperty("numberOfElements") int numberOfElements,
+            @JsonProperty("countMode") CountMode countMode) {
 
         super(content, PageRequest.of(number, size), totalElements);
+        this.countMode = countMode;
     }
 
     public ResponsePage(List<T> content, Pageable pageable, long total) {
@@ -35,4 +40,8 @@ public class ResponsePage<T> extends PageImpl<T> {
         super(new ArrayList<>());
     }
 
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
 }
\ No newline at end of file
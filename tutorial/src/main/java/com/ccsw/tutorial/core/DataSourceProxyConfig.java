@@ -0,0 +1,45 @@
+package com.ccsw.tutorial.core;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Envuelve el DataSource en un proxy de datasource-proxy cuando hay algún {@link QueryExecutionListener} registrado, que
+ * recibe cada ejecución JDBC con su SQL y sus parámetros. Sin listeners el DataSource se queda como está y las sentencias
+ * no pasan por ninguna capa extra.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+
+                List<QueryExecutionListener> registered = listeners.orderedStream().toList();
+                if (registered.isEmpty()) {
+                    return bean;
+                }
+
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                registered.forEach(builder::listener);
+                return builder.build();
+            }
+        };
+    }
+
+}
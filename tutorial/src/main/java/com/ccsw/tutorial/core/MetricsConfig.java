@@ -0,0 +1,20 @@
+package com.ccsw.tutorial.core;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Timers de los métodos anotados con @Timed. Los servicios llevan la anotación a nivel de clase: un timer
+ * ludoteca.service por método, con las etiquetas class, method y exception.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+}
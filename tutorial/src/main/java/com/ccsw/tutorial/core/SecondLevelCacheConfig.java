@@ -0,0 +1,86 @@
+package com.ccsw.tutorial.core;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caché de segundo nivel de Hibernate sobre JCache con Caffeine en memoria. Cada región se crea con el tamaño y la
+ * caducidad de ludoteca.cache.regions y con estadísticas JCache activadas, que se publican por JMX y como métricas cache.*
+ * de cada región, junto a las de la caché games. Hibernate no crea
+ * regiones que falten: una entidad cacheada sin configuración hace fallar el arranque en lugar de crecer sin límite. Las
+ * estadísticas de Hibernate solo se recogen con ludoteca.cache.statistics.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+
+        // Un gestor por contexto de Spring, para que los tests con varios contextos no compartan regiones
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager(URI.create("ludoteca:" + UUID.randomUUID()),
+                getClass().getClassLoader());
+
+        properties.getRegions().forEach((name, region) -> cacheManager.createCache(name, configuration(region)));
+
+        // Hibernate exige que los timestamps de las tablas no caduquen mientras haya resultados de consultas que dependan de ellos
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, statistics(new CaffeineConfiguration<>()));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+
+        // Mismas etiquetas que Spring pone a la caché games: Prometheus descarta los medidores de un nombre con otras etiquetas
+        return registry -> hibernateCacheManager.getCacheNames()
+                .forEach(name -> JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name), "cache.manager", "hibernateCacheManager", "name", name));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager, SecondLevelCacheProperties cacheProperties) {
+
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            if (cacheProperties.isStatistics()) {
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+            // Con estadísticas Hibernate escribiría además un bloque "Session Metrics" en INFO por cada sesión
+            properties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(SecondLevelCacheProperties.Region region) {
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+        if (region.getExpireAfterWrite() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+        }
+        return statistics(configuration);
+    }
+
+    private static CaffeineConfiguration<Object, Object> statistics(CaffeineConfiguration<Object, Object> configuration) {
+
+        configuration.setStatisticsEnabled(true);
+        configuration.setManagementEnabled(true);
+        return configuration;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.ccsw.tutorial.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Regiones de la caché de segundo nivel de Hibernate, por nombre de región (ludoteca.cache.regions.&lt;region&gt;), y
+ * estadísticas de Hibernate para GET /cache/regions (ludoteca.cache.statistics)
+ */
+@ConfigurationProperties(prefix = "ludoteca.cache")
+public class SecondLevelCacheProperties {
+
+    private Map<String, Region> regions = new HashMap<>();
+
+    private boolean statistics;
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+
+    /**
+     * @return si Hibernate recoge estadísticas, que cuestan en cada sesión y solo usa GET /cache/regions
+     */
+    public boolean isStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(boolean statistics) {
+        this.statistics = statistics;
+    }
+
+    public static class Region {
+
+        private long maximumSize = 1000;
+
+        private Duration expireAfterWrite;
+
+        /**
+         * @return número máximo de entradas
+         */
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        /**
+         * @return caducidad desde la última escritura, null para no caducar
+         */
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
+}
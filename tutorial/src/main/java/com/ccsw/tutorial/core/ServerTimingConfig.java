@@ -0,0 +1,44 @@
+package com.ccsw.tutorial.core;
+
+import com.ccsw.tutorial.common.timing.ServerTimingFilter;
+import com.ccsw.tutorial.common.timing.ServerTimingJacksonConverter;
+import com.ccsw.tutorial.common.timing.ServerTimingQueryListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cabecera Server-Timing en cada respuesta, activada con ludoteca.server-timing.enabled. Desactivada no se registra
+ * ninguno de estos beans: ni filtro, ni conversor JSON propio, ni listener, así que el DataSource no se envuelve en el
+ * proxy de {@link DataSourceProxyConfig} salvo que otro listener lo pida.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ludoteca.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(@Value("${ludoteca.server-timing.allow-origin:*}") String allowOrigin) {
+
+        // Primero de la cadena, para que el total incluya el resto de filtros
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter(allowOrigin));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public ServerTimingQueryListener serverTimingQueryListener() {
+
+        return new ServerTimingQueryListener();
+    }
+
+    @Bean
+    public ServerTimingJacksonConverter serverTimingJacksonConverter(ObjectMapper objectMapper) {
+
+        return new ServerTimingJacksonConverter(objectMapper);
+    }
+
+}
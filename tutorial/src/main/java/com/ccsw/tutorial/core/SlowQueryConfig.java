@@ -0,0 +1,61 @@
+package com.ccsw.tutorial.core;
+
+import com.ccsw.tutorial.common.sql.RepositoryCaller;
+import com.ccsw.tutorial.common.sql.SlowQueryEndpoint;
+import com.ccsw.tutorial.common.sql.SlowQueryListener;
+import com.ccsw.tutorial.common.sql.SlowQueryLog;
+import com.ccsw.tutorial.common.sql.SlowQueryProperties;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Registro de consultas lentas (ludoteca.slow-query.*), que sustituye a spring.jpa.show-sql: en lugar de escribir cada
+ * sentencia guarda solo las que superan el umbral, con parámetros, método de repositorio y plan, y las publica en
+ * /actuator/slowqueries. Está desactivado salvo que se pida: su listener hace que {@link DataSourceProxyConfig} envuelva
+ * el DataSource y el advice se añade a todos los repositorios.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ludoteca.slow-query.enabled", havingValue = "true")
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryConfig {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(SlowQueryProperties properties) {
+
+        return new SlowQueryLog(properties.getCapacity());
+    }
+
+    @Bean
+    public SlowQueryListener slowQueryListener(SlowQueryLog slowQueryLog, SlowQueryProperties properties) {
+
+        return new SlowQueryListener(slowQueryLog, properties);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog, SlowQueryProperties properties) {
+
+        return new SlowQueryEndpoint(slowQueryLog, properties.getThreshold());
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryCallerPostProcessor() {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+
+                // Antes de afterPropertiesSet, que es cuando la factoría crea el proxy del repositorio
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory
+                            .addRepositoryProxyPostProcessor((proxy, information) -> proxy.addAdvice(0, new RepositoryCaller(information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.common.transaction.TransactionHooks;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameCacheStatsDto;
+import com.ccsw.tutorial.game.model.GameCatalogKey;
+import com.ccsw.tutorial.game.model.GameRow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Invalidación y estadísticas de la caché {@value #NAME}, que guarda los resultados de {@link GameService#find} por
+ * {@link GameCatalogKey}. Solo se invalidan las búsquedas cuyo resultado cambia con la escritura: las que contenían el
+ * juego, autor o categoría modificados y las que lo contendrán tras el cambio.
+ * <p>
+ * Cada invalidación incrementa una generación. Una búsqueda que empezó a leer antes de la invalidación no guarda su
+ * resultado, porque pudo leer los datos anteriores al commit y devolverlos a la caché después de haberlos invalidado.
+ */
+@Component
+public class GameCatalogCache {
+
+    public static final String NAME = "games";
+
+    private final Cache<Object, Object> cache;
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public GameCatalogCache(CacheManager cacheManager) {
+
+        this.cache = (Cache<Object, Object>) cacheManager.getCache(NAME).getNativeCache();
+    }
+
+    /**
+     * Devuelve la búsqueda guardada o la calcula y la guarda, salvo que haya habido una invalidación mientras se calculaba
+     *
+     * @param key búsqueda
+     * @param loader consulta que calcula el resultado si no está guardado
+     * @return {@link List} de juegos de la búsqueda
+     */
+    @SuppressWarnings("unchecked")
+    public List<GameRow> get(GameCatalogKey key, Supplier<List<GameRow>> loader) {
+
+        List<GameRow> cached = (List<GameRow>) this.cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = this.generation.get();
+        List<GameRow> games = loader.get();
+        if (this.generation.get() == generation) {
+            this.cache.put(key, games);
+            // La invalidación pudo llegar entre la comprobación y el put, después de que recorriera la caché
+            if (this.generation.get() != generation) {
+                this.cache.asMap().remove(key, games);
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Invalida las búsquedas que contenían el juego o que lo contendrán con su título y categoría actuales. Se llama tras
+     * el commit y después de actualizar los índices de títulos, para que una búsqueda que empiece tras la invalidación no
+     * lea el índice anterior.
+     *
+     * @param game juego guardado
+     */
+    public void evictGame(Game game) {
+
+        Long id = game.getId();
+        String title = game.getTitle();
+        Long idCategory = game.getCategory().getId();
+
+        this.evict((key, games) -> key.matches(title, idCategory) || games.stream().anyMatch(g -> g.id().equals(id)));
+    }
+
+    /**
+     * Invalida tras el commit las búsquedas que contienen algún juego del autor
+     *
+     * @param idAuthor PK del autor
+     */
+    public void evictAuthorAfterCommit(Long idAuthor) {
+
+        TransactionHooks.afterCommit(() -> this.evict((key, games) -> games.stream().anyMatch(g -> g.authorId().equals(idAuthor))));
+    }
+
+    /**
+     * Invalida tras el commit las búsquedas que contienen algún juego de la categoría
+     *
+     * @param idCategory PK de la categoría
+     */
+    public void evictCategoryAfterCommit(Long idCategory) {
+
+        TransactionHooks.afterCommit(() -> this.evict((key, games) -> games.stream().anyMatch(g -> g.categoryId().equals(idCategory))));
+    }
+
+    public GameCacheStatsDto stats() {
+
+        CacheStats stats = this.cache.stats();
+
+        return new GameCacheStatsDto(this.cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(), this.invalidations.sum());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evict(BiPredicate<GameCatalogKey, List<GameRow>> affected) {
+
+        this.generation.incrementAndGet();
+        this.cache.asMap().entrySet().removeIf(entry -> {
+            if (!affected.test((GameCatalogKey) entry.getKey(), (List<GameRow>) entry.getValue())) {
+                return false;
+            }
+            this.invalidations.increment();
+            return true;
+        });
+    }
+
+}
@@ -1,15 +1,17 @@
 package com.ccsw.tutorial.game;
 
+import com.ccsw.tutorial.common.jfr.MappingEvent;
 import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameCacheStatsDto;
 import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.game.model.GameRow;
+import com.ccsw.tutorial.game.model.GameTitle;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author ccsw
@@ -25,7 +27,7 @@ public class GameController {
     GameService gameService;
 
     @Autowired
-    ModelMapper mapper;
+    GameCatalogCache gameCatalogCache;
 
     /**
      * Método para recuperar una lista de {@link Game}
@@ -38,9 +40,35 @@ public class GameController {
     @RequestMapping(path = "", method = RequestMethod.GET)
     public List<GameDto> find(@RequestParam(value = "title", required = false) String title, @RequestParam(value = "idCategory", required = false) Long idCategory) {
 
-        List<Game> games = gameService.find(title, idCategory);
+        List<GameRow> games = gameService.find(title, idCategory);
 
-        return games.stream().map(e -> mapper.map(e, GameDto.class)).collect(Collectors.toList());
+        return MappingEvent.map(GameRow.class, games, GameRow::toDto);
+    }
+
+    /**
+     * Método para sugerir juegos mientras se escribe el título, sin cargar autor ni categoría
+     *
+     * @param prefix texto escrito
+     * @param limit número máximo de sugerencias
+     * @return {@link List} de {@link GameTitle} con los juegos más prestados primero
+     */
+    @Operation(summary = "Autocomplete", description = "Method that return the most borrowed Games with a title word starting with the prefix")
+    @RequestMapping(path = "/autocomplete", method = RequestMethod.GET)
+    public List<GameTitle> autocomplete(@RequestParam(value = "prefix") String prefix, @RequestParam(value = "limit", defaultValue = "10") int limit) {
+
+        return gameService.autocomplete(prefix, limit);
+    }
+
+    /**
+     * Método para consultar el uso de la caché de búsquedas de {@link Game}
+     *
+     * @return {@link GameCacheStatsDto}
+     */
+    @Operation(summary = "Cache stats", description = "Method that return hit, miss and eviction statistics of the Game search cache")
+    @RequestMapping(path = "/cache/stats", method = RequestMethod.GET)
+    public GameCacheStatsDto cacheStats() {
+
+        return gameCatalogCache.stats();
     }
 
     /**
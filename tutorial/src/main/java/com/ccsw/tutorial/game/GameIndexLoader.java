@@ -0,0 +1,39 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.game.model.GamePopularity;
+import com.ccsw.tutorial.game.model.GameTitle;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Carga los índices en memoria de juegos al arrancar
+ */
+@Component
+public class GameIndexLoader {
+
+    private final GameRepository gameRepository;
+
+    private final GameTitleIndex gameTitleIndex;
+
+    private final GameTitlePrefixIndex gameTitlePrefixIndex;
+
+    public GameIndexLoader(GameRepository gameRepository, GameTitleIndex gameTitleIndex, GameTitlePrefixIndex gameTitlePrefixIndex) {
+
+        this.gameRepository = gameRepository;
+        this.gameTitleIndex = gameTitleIndex;
+        this.gameTitlePrefixIndex = gameTitlePrefixIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+
+        List<GamePopularity> games = this.gameRepository.findAllPopularity();
+
+        this.gameTitleIndex.rebuild(games.stream().map(game -> new GameTitle(game.id(), game.title())).toList());
+        this.gameTitlePrefixIndex.rebuild(games);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.author.AuthorMapper;
+import com.ccsw.tutorial.category.CategoryMapper;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conversión de {@link Game} a {@link GameDto}, con su categoría y autor, sin reflexión
+ */
+@Component
+public class GameMapper {
+
+    private final CategoryMapper categoryMapper;
+
+    private final AuthorMapper authorMapper;
+
+    public GameMapper(CategoryMapper categoryMapper, AuthorMapper authorMapper) {
+
+        this.categoryMapper = categoryMapper;
+        this.authorMapper = authorMapper;
+    }
+
+    public GameDto toDto(Game game) {
+
+        if (game == null) {
+            return null;
+        }
+
+        GameDto dto = new GameDto();
+        dto.setId(game.getId());
+        dto.setTitle(game.getTitle());
+        dto.setAge(game.getAge());
+        dto.setCategory(this.categoryMapper.toDto(game.getCategory()));
+        dto.setAuthor(this.authorMapper.toDto(game.getAuthor()));
+        return dto;
+    }
+
+}
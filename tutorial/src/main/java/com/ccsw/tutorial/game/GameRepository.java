@@ -1,9 +1,11 @@
 package com.ccsw.tutorial.game;
 
 import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GamePopularity;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.List;
@@ -12,10 +14,13 @@ import java.util.List;
  * @author ccsw
  *
  */
-public interface GameRepository extends CrudRepository<Game, Long>, JpaSpecificationExecutor<Game> {
+public interface GameRepository extends CrudRepository<Game, Long>, JpaSpecificationExecutor<Game>, GameRowRepository {
 
     @Override
     @EntityGraph(attributePaths = { "category", "author" })
     List<Game> findAll(Specification<Game> spec);
 
+    @Query("select new com.ccsw.tutorial.game.model.GamePopularity(g.id, g.title, count(h.id)) from Game g left join LoanHistory h on h.game = g group by g.id, g.title")
+    List<GamePopularity> findAllPopularity();
+
 }
\ No newline at end of file
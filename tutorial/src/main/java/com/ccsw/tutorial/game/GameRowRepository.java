@@ -0,0 +1,23 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameRow;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas de listado de {@link Game} que seleccionan directamente las columnas del DTO, sin cargar entidades en el
+ * contexto de persistencia
+ */
+public interface GameRowRepository {
+
+    /**
+     * Recupera las filas de los juegos que cumplen la especificación, con su categoría y autor
+     *
+     * @param spec filtro
+     * @return {@link List} de {@link GameRow}
+     */
+    List<GameRow> findRows(Specification<Game> spec);
+
+}
@@ -0,0 +1,45 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.category.model.Category;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Implementación con Criteria de {@link GameRowRepository}, para reutilizar las {@link Specification} de la búsqueda
+ */
+public class GameRowRepositoryImpl implements GameRowRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GameRow> findRows(Specification<Game> spec) {
+
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<GameRow> query = builder.createQuery(GameRow.class);
+        Root<Game> root = query.from(Game.class);
+        Join<Game, Category> category = root.join("category");
+        Join<Game, Author> author = root.join("author");
+
+        query.select(builder.construct(GameRow.class, root.get("id"), root.get("title"), root.get("age"), category.get("id"), category.get("name"), author.get("id"), author.get("name"),
+                author.get("nationality")));
+
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return this.entityManager.createQuery(query).getResultList();
+    }
+
+}
@@ -2,6 +2,8 @@ package com.ccsw.tutorial.game;
 
 import com.ccsw.tutorial.game.model.Game;
 import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.game.model.GameRow;
+import com.ccsw.tutorial.game.model.GameTitle;
 
 import java.util.List;
 
@@ -16,9 +18,18 @@ public interface GameService {
      *
      * @param title título del juego
      * @param idCategory PK de la categoría
-     * @return {@link List} de {@link Game}
+     * @return {@link List} de {@link GameRow}
      */
-    List<Game> find(String title, Long idCategory);
+    List<GameRow> find(String title, Long idCategory);
+
+    /**
+     * Sugiere juegos con alguna palabra del título que empieza por el texto, los más prestados primero
+     *
+     * @param prefix texto escrito
+     * @param limit número máximo de sugerencias
+     * @return {@link List} de {@link GameTitle}
+     */
+    List<GameTitle> autocomplete(String prefix, int limit);
 
     /**
      * Guarda o modifica un juego, dependiendo de si el identificador está o no informado
@@ -3,14 +3,22 @@ package com.ccsw.tutorial.game;
 import com.ccsw.tutorial.author.AuthorService;
 import com.ccsw.tutorial.category.CategoryService;
 import com.ccsw.tutorial.common.criteria.SearchCriteria;
+import com.ccsw.tutorial.common.jfr.SpecificationQueryEvent;
+import com.ccsw.tutorial.common.transaction.TransactionHooks;
 import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameCatalogKey;
 import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.game.model.GameRow;
+import com.ccsw.tutorial.game.model.GameTitle;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -18,9 +26,14 @@ import java.util.List;
  *
  */
 @Service
+@Timed(value = "ludoteca.service", description = "Tiempo de los métodos de servicio")
 @Transactional
 public class GameServiceImpl implements GameService {
 
+    private static final int MAX_IN_IDS = 1000;
+
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     GameRepository gameRepository;
 
@@ -30,18 +43,74 @@ public class GameServiceImpl implements GameService {
     @Autowired
     CategoryService categoryService;
 
+    @Autowired
+    GameTitleIndex gameTitleIndex;
+
+    @Autowired
+    GameTitlePrefixIndex gameTitlePrefixIndex;
+
+    @Autowired
+    GameCatalogCache gameCatalogCache;
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Game> find(String title, Long idCategory) {
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<GameRow> find(String title, Long idCategory) {
+
+        // Sin transacción propia: un acierto de la caché no debe pedir una conexión al pool
+        return this.gameCatalogCache.get(GameCatalogKey.of(title, idCategory), () -> this.search(title, idCategory));
+    }
 
-        GameSpecification titleSpec = new GameSpecification(new SearchCriteria("title", ":", title));
-        GameSpecification categorySpec = new GameSpecification(new SearchCriteria("category.id", ":", idCategory));
+    private List<GameRow> search(String title, Long idCategory) {
+
+        SearchCriteria categoryCriteria = new SearchCriteria("category.id", ":", idCategory);
+        GameSpecification categorySpec = new GameSpecification(categoryCriteria);
+
+        if (title == null || title.isBlank()) {
+            SpecificationQueryEvent event = SpecificationQueryEvent.start();
+            List<GameRow> games = this.gameRepository.findRows(Specification.where(categorySpec));
+            event.finish(Game.class, "rows", categoryCriteria, 0, games.size());
+            return List.copyOf(games);
+        }
 
-        Specification<Game> spec = Specification.where(titleSpec).and(categorySpec);
+        // El índice de trigramas sustituye al LIKE '%title%', que obliga a recorrer la tabla entera
+        List<Long> candidates = this.gameTitleIndex.search(title);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        if (candidates.size() <= MAX_IN_IDS) {
+            SpecificationQueryEvent event = SpecificationQueryEvent.start();
+            List<GameRow> games = this.gameRepository.findRows(Specification.where(GameSpecification.idIn(candidates)).and(categorySpec));
+            event.finish(Game.class, "rows", categoryCriteria, candidates.size(), games.size());
+            return List.copyOf(games);
+        }
+
+        // Con textos muy comunes los candidatos son buena parte del catálogo: en vez de trocear el IN en muchas
+        // consultas se lee la categoría una sola vez y se cruza en memoria con los candidatos, que vienen ordenados
+        SpecificationQueryEvent event = SpecificationQueryEvent.start();
+        List<GameRow> rows = this.gameRepository.findRows(Specification.where(categorySpec));
+        event.finish(Game.class, "rows", categoryCriteria, 0, rows.size());
+
+        List<GameRow> games = new ArrayList<>(Math.min(rows.size(), candidates.size()));
+        for (GameRow row : rows) {
+            if (Collections.binarySearch(candidates, row.id()) >= 0) {
+                games.add(row);
+            }
+        }
+
+        return List.copyOf(games);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GameTitle> autocomplete(String prefix, int limit) {
 
-        return this.gameRepository.findAll(spec);
+        return this.gameTitlePrefixIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
     }
 
     /**
@@ -63,7 +132,13 @@ public class GameServiceImpl implements GameService {
         game.setAuthor(authorService.get(dto.getAuthor().getId()));
         game.setCategory(categoryService.get(dto.getCategory().getId()));
 
-        this.gameRepository.save(game);
+        Game saved = this.gameRepository.save(game);
+        TransactionHooks.afterCommit(() -> {
+            // Los índices antes que la caché: una búsqueda entre ambos pasos ya lee el título nuevo
+            this.gameTitleIndex.put(saved.getId(), saved.getTitle());
+            this.gameTitlePrefixIndex.put(saved.getId(), saved.getTitle());
+            this.gameCatalogCache.evictGame(saved);
+        });
     }
 
     @Override
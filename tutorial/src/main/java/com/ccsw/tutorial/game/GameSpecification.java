@@ -5,6 +5,8 @@ import com.ccsw.tutorial.game.model.Game;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class GameSpecification implements Specification<Game> {
 
     private static final long serialVersionUID = 1L;
@@ -16,6 +18,15 @@ public class GameSpecification implements Specification<Game> {
         this.criteria = criteria;
     }
 
+    /**
+     * @param ids PKs de los juegos
+     * @return {@link Specification} que filtra por los PKs indicados
+     */
+    public static Specification<Game> idIn(Collection<Long> ids) {
+
+        return (root, query, builder) -> root.get("id").in(ids);
+    }
+
     @Override
     public Predicate toPredicate(Root<Game> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
         if (criteria.getOperation().equalsIgnoreCase(":") && criteria.getValue() != null) {
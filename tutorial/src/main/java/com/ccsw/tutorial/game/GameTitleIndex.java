@@ -0,0 +1,249 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.common.text.TextNormalizer;
+import com.ccsw.tutorial.game.model.GameTitle;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas sobre los títulos normalizados de los juegos. Cada trigrama guarda la lista ordenada de
+ * PKs de los juegos que lo contienen; una búsqueda intersecta las listas de los trigramas del texto buscado, empezando
+ * por la más corta, y confirma los candidatos con el título completo.
+ */
+@Component
+public class GameTitleIndex {
+
+    private static final int GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, String> titles = new HashMap<>();
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Reconstruye el índice a partir de los juegos persistidos
+     *
+     * @param games todos los juegos
+     */
+    public void rebuild(List<GameTitle> games) {
+
+        this.lock.writeLock().lock();
+        try {
+            this.titles.clear();
+            this.postings.clear();
+            games.forEach(game -> this.putUnlocked(game.id(), game.title()));
+            this.postings.values().forEach(Postings::sort);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa un juego nuevo o renombrado
+     *
+     * @param id PK del juego
+     * @param title título actual
+     */
+    public void put(Long id, String title) {
+
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(id);
+            for (long gram : grams(TextNormalizer.normalize(title))) {
+                this.postings.computeIfAbsent(gram, k -> new Postings()).insert(id);
+            }
+            this.titles.put(id, TextNormalizer.normalize(title));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera los juegos cuyo título contiene el texto, sin distinguir mayúsculas ni acentos
+     *
+     * @param text texto buscado
+     * @return PKs de los juegos, en orden ascendente
+     */
+    public List<Long> search(String text) {
+
+        String query = TextNormalizer.normalize(text);
+
+        this.lock.readLock().lock();
+        try {
+            if (query.length() < GRAM) {
+                // Sin trigramas que consultar: se recorren los títulos en memoria
+                return this.titles.entrySet().stream().filter(e -> e.getValue().contains(query)).map(Map.Entry::getKey).sorted().toList();
+            }
+
+            List<Postings> lists = new ArrayList<>();
+            for (long gram : grams(query)) {
+                Postings list = this.postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Postings::size));
+
+            long[] candidates = lists.get(0).toArray();
+            int size = candidates.length;
+            for (int i = 1; i < lists.size() && size > 0; i++) {
+                size = lists.get(i).retain(candidates, size);
+            }
+
+            List<Long> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                // Los trigramas pueden aparecer en otro orden: se confirma la subcadena completa
+                if (this.titles.get(candidates[i]).contains(query)) {
+                    result.add(candidates[i]);
+                }
+            }
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        this.lock.readLock().lock();
+        try {
+            return this.titles.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void putUnlocked(Long id, String title) {
+
+        String normalized = TextNormalizer.normalize(title);
+        this.titles.put(id, normalized);
+        for (long gram : grams(normalized)) {
+            this.postings.computeIfAbsent(gram, k -> new Postings()).appendDistinct(id);
+        }
+    }
+
+    private void removeUnlocked(Long id) {
+
+        String previous = this.titles.remove(id);
+        if (previous == null) {
+            return;
+        }
+
+        for (long gram : grams(previous)) {
+            Postings list = this.postings.get(gram);
+            if (list != null && list.delete(id) && list.size() == 0) {
+                this.postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Trigramas del texto codificados como tres chars de 16 bits en un long, para no crear un String por trigrama. Puede
+     * contener repetidos.
+     */
+    private static long[] grams(String normalized) {
+
+        int count = Math.max(0, normalized.length() - GRAM + 1);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16) | normalized.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    /**
+     * Lista de PKs sobre un long[] que crece al doble. Se mantiene ordenada salvo durante la carga inicial, que añade al
+     * final y ordena una sola vez.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+
+        private int size;
+
+        int size() {
+
+            return this.size;
+        }
+
+        void append(long id) {
+
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            }
+            this.ids[this.size++] = id;
+        }
+
+        /**
+         * Añade al final ignorando el PK si acaba de añadirse, como ocurre con los trigramas repetidos de un título
+         */
+        void appendDistinct(long id) {
+
+            if (this.size == 0 || this.ids[this.size - 1] != id) {
+                this.append(id);
+            }
+        }
+
+        void sort() {
+
+            Arrays.sort(this.ids, 0, this.size);
+        }
+
+        void insert(long id) {
+
+            int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (position >= 0) {
+                return;
+            }
+
+            int at = -position - 1;
+            this.append(id);
+            System.arraycopy(this.ids, at, this.ids, at + 1, this.size - 1 - at);
+            this.ids[at] = id;
+        }
+
+        boolean delete(long id) {
+
+            int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (position < 0) {
+                return false;
+            }
+
+            System.arraycopy(this.ids, position + 1, this.ids, position, this.size - position - 1);
+            this.size--;
+            return true;
+        }
+
+        long[] toArray() {
+
+            return Arrays.copyOf(this.ids, this.size);
+        }
+
+        /**
+         * Deja en candidates[0..n) solo los PKs presentes en esta lista
+         *
+         * @return nuevo número de candidatos
+         */
+        int retain(long[] candidates, int n) {
+
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < n; i++) {
+                int position = Arrays.binarySearch(this.ids, from, this.size, candidates[i]);
+                if (position >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+            return kept;
+        }
+    }
+
+}
@@ -0,0 +1,457 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.common.text.TextNormalizer;
+import com.ccsw.tutorial.game.model.GamePopularity;
+import com.ccsw.tutorial.game.model.GameTitle;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Índice de prefijos para el autocompletado de títulos. Cada juego ocupa un hueco con su título, su título normalizado y
+ * su número de préstamos; el índice es un único long[] ordenado con una entrada por palabra del título normalizado,
+ * codificada como (hueco &lt;&lt; 32 | posición de la palabra), sin crear un String por palabra.
+ * <p>
+ * Un prefijo se resuelve con dos búsquedas binarias que delimitan el rango de palabras que empiezan por él. Si el rango
+ * es corto se recorre entero; si es largo, los juegos que coinciden abundan y es más barato recorrer los huecos por orden
+ * de popularidad hasta encontrar las sugerencias pedidas. Ese recorrido se corta a los {@link #MAX_RANK_SCAN} juegos más
+ * prestados: si el texto es común pero solo en juegos poco prestados, se recorre el rango, que crece con las
+ * coincidencias y no con el catálogo.
+ */
+@Component
+public class GameTitlePrefixIndex {
+
+    /**
+     * A partir de este número de palabras coincidentes se recorren los juegos por popularidad
+     */
+    private static final int MAX_RANGE_SCAN = 2_000;
+
+    /**
+     * Juegos que se revisan por popularidad antes de volver al recorrido del rango
+     */
+    private static final int MAX_RANK_SCAN = 2_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private long[] ids = new long[16];
+
+    private String[] titles = new String[16];
+
+    private String[] normalized = new String[16];
+
+    private long[] loans = new long[16];
+
+    private int slots;
+
+    // Huecos ordenados por popularidad, en el orden de las sugerencias
+    private int[] ranked = new int[16];
+
+    private long[] entries = new long[0];
+
+    private int size;
+
+    /**
+     * Reconstruye el índice a partir de los juegos persistidos
+     *
+     * @param games todos los juegos con su número de préstamos
+     */
+    public void rebuild(List<GamePopularity> games) {
+
+        this.lock.writeLock().lock();
+        try {
+            this.slotById.clear();
+            this.slots = 0;
+            this.size = 0;
+
+            List<Long> all = new ArrayList<>();
+            for (GamePopularity game : games) {
+                int slot = this.newSlot(game.id(), game.title());
+                this.loans[slot] = game.loans();
+                for (int offset : wordStarts(this.normalized[slot])) {
+                    all.add(entry(slot, offset));
+                }
+            }
+
+            all.sort(this::compareEntries);
+            this.entries = all.stream().mapToLong(Long::longValue).toArray();
+            this.size = this.entries.length;
+
+            int[] byRank = IntStream.range(0, this.slots).boxed().sorted(this::compareRank).mapToInt(Integer::intValue).toArray();
+            this.ranked = Arrays.copyOf(byRank, this.ids.length);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa un juego nuevo o renombrado
+     *
+     * @param id PK del juego
+     * @param title título actual
+     */
+    public void put(Long id, String title) {
+
+        this.lock.writeLock().lock();
+        try {
+            Integer existing = this.slotById.get(id);
+            int slot;
+            if (existing == null) {
+                slot = this.newSlot(id, title);
+            } else {
+                slot = existing;
+                for (int offset : wordStarts(this.normalized[slot])) {
+                    this.removeEntry(entry(slot, offset));
+                }
+                this.removeRanked(slot);
+                this.titles[slot] = title;
+                this.normalized[slot] = TextNormalizer.normalize(title);
+            }
+            this.insertRanked(slot);
+
+            for (int offset : wordStarts(this.normalized[slot])) {
+                this.insertEntry(entry(slot, offset));
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Suma préstamos al juego para ordenar las sugerencias por popularidad
+     *
+     * @param id PK del juego
+     * @param delta préstamos añadidos (o eliminados, si es negativo)
+     */
+    public void addLoans(Long id, long delta) {
+
+        this.lock.writeLock().lock();
+        try {
+            Integer slot = this.slotById.get(id);
+            if (slot != null) {
+                this.removeRanked(slot);
+                this.loans[slot] = Math.max(0, this.loans[slot] + delta);
+                this.insertRanked(slot);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera los juegos con alguna palabra del título que empieza por el texto, sin distinguir mayúsculas ni acentos
+     *
+     * @param prefix texto escrito
+     * @param limit número máximo de sugerencias
+     * @return {@link List} de {@link GameTitle} ordenada por préstamos descendente y título
+     */
+    public List<GameTitle> suggest(String prefix, int limit) {
+
+        String query = TextNormalizer.normalize(prefix);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            int from = this.lowerBound(query);
+            int to = this.upperBound(query);
+            if (to - from > MAX_RANGE_SCAN) {
+                List<GameTitle> byRank = this.suggestByRank(query, limit);
+                if (byRank != null) {
+                    return byRank;
+                }
+            }
+
+            // Montículo con el peor de los mejores en la cabeza
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ((Comparator<Integer>) this::compareRank).reversed());
+            for (int i = from; i < to; i++) {
+                int slot = slotOf(this.entries[i]);
+                if (top.size() == limit && this.compareRank(slot, top.peek()) >= 0 || top.contains(slot)) {
+                    continue;
+                }
+                top.add(slot);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Integer> best = new ArrayList<>(top);
+            best.sort(this::compareRank);
+            return best.stream().map(this::toGameTitle).toList();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        this.lock.readLock().lock();
+        try {
+            return this.slots;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recorre los juegos de más a menos prestado hasta reunir las sugerencias. Solo se usa cuando muchas palabras empiezan
+     * por el texto, así que las coincidencias suelen aparecer pronto.
+     *
+     * @return sugerencias, o null si no se han reunido en los {@link #MAX_RANK_SCAN} juegos más prestados
+     */
+    private List<GameTitle> suggestByRank(String query, int limit) {
+
+        int scan = Math.min(this.slots, MAX_RANK_SCAN);
+        List<GameTitle> result = new ArrayList<>(limit);
+        for (int i = 0; i < scan && result.size() < limit; i++) {
+            int slot = this.ranked[i];
+            if (hasWordStartingWith(this.normalized[slot], query)) {
+                result.add(this.toGameTitle(slot));
+            }
+        }
+        return result.size() == limit || scan == this.slots ? result : null;
+    }
+
+    private GameTitle toGameTitle(int slot) {
+
+        return new GameTitle(this.ids[slot], this.titles[slot]);
+    }
+
+    /**
+     * Orden de las sugerencias: más préstamos primero y, a igualdad, por título normalizado y PK
+     */
+    private int compareRank(int a, int b) {
+
+        int byLoans = Long.compare(this.loans[b], this.loans[a]);
+        if (byLoans != 0) {
+            return byLoans;
+        }
+        int byTitle = this.normalized[a].compareTo(this.normalized[b]);
+        return byTitle != 0 ? byTitle : Long.compare(this.ids[a], this.ids[b]);
+    }
+
+    private int searchRanked(int slot, int length) {
+
+        int lo = 0;
+        int hi = length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = this.compareRank(this.ranked[mid], slot);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * Inserta el hueco en su posición por popularidad. Los huecos ya colocados son los anteriores a él en ranked.
+     */
+    private void insertRanked(int slot) {
+
+        int placed = this.slots - 1;
+        int at = -this.searchRanked(slot, placed) - 1;
+        System.arraycopy(this.ranked, at, this.ranked, at + 1, placed - at);
+        this.ranked[at] = slot;
+    }
+
+    private void removeRanked(int slot) {
+
+        int at = this.searchRanked(slot, this.slots);
+        System.arraycopy(this.ranked, at + 1, this.ranked, at, this.slots - at - 1);
+    }
+
+    private int newSlot(Long id, String title) {
+
+        if (this.slots == this.ids.length) {
+            int capacity = this.slots * 2;
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.titles = Arrays.copyOf(this.titles, capacity);
+            this.normalized = Arrays.copyOf(this.normalized, capacity);
+            this.loans = Arrays.copyOf(this.loans, capacity);
+            this.ranked = Arrays.copyOf(this.ranked, capacity);
+        }
+
+        int slot = this.slots++;
+        this.ids[slot] = id;
+        this.titles[slot] = title;
+        this.normalized[slot] = TextNormalizer.normalize(title);
+        this.loans[slot] = 0;
+        this.slotById.put(id, slot);
+        return slot;
+    }
+
+    private void insertEntry(long entry) {
+
+        int at = this.search(entry);
+        if (at >= 0) {
+            return;
+        }
+        at = -at - 1;
+
+        if (this.size == this.entries.length) {
+            this.entries = Arrays.copyOf(this.entries, Math.max(16, this.size * 2));
+        }
+        System.arraycopy(this.entries, at, this.entries, at + 1, this.size - at);
+        this.entries[at] = entry;
+        this.size++;
+    }
+
+    private void removeEntry(long entry) {
+
+        int at = this.search(entry);
+        if (at < 0) {
+            return;
+        }
+
+        System.arraycopy(this.entries, at + 1, this.entries, at, this.size - at - 1);
+        this.size--;
+    }
+
+    /**
+     * Búsqueda binaria de una entrada, con el mismo contrato que {@link Arrays#binarySearch(long[], long)}
+     */
+    private int search(long entry) {
+
+        int lo = 0;
+        int hi = this.size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = this.compareEntries(this.entries[mid], entry);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * Primera entrada cuya palabra es mayor o igual que el texto
+     */
+    private int lowerBound(String query) {
+
+        int lo = 0;
+        int hi = this.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            long entry = this.entries[mid];
+            if (compareSuffix(this.normalized[slotOf(entry)], offsetOf(entry), query, 0) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Primera entrada cuya palabra no empieza por el texto y es mayor que él
+     */
+    private int upperBound(String query) {
+
+        int lo = 0;
+        int hi = this.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            long entry = this.entries[mid];
+            if (comparePrefix(this.normalized[slotOf(entry)], offsetOf(entry), query) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Orden por el texto desde la palabra hasta el final del título; a igualdad, por hueco y posición
+     */
+    private int compareEntries(long a, long b) {
+
+        int cmp = compareSuffix(this.normalized[slotOf(a)], offsetOf(a), this.normalized[slotOf(b)], offsetOf(b));
+        return cmp != 0 ? cmp : Long.compare(a, b);
+    }
+
+    private static int compareSuffix(String a, int offsetA, String b, int offsetB) {
+
+        int lengthA = a.length() - offsetA;
+        int lengthB = b.length() - offsetB;
+        int length = Math.min(lengthA, lengthB);
+        for (int i = 0; i < length; i++) {
+            int cmp = a.charAt(offsetA + i) - b.charAt(offsetB + i);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return lengthA - lengthB;
+    }
+
+    /**
+     * Compara la palabra con el texto truncándola a su longitud: 0 si la palabra empieza por el texto
+     */
+    private static int comparePrefix(String title, int offset, String query) {
+
+        int length = Math.min(title.length() - offset, query.length());
+        for (int i = 0; i < length; i++) {
+            int cmp = title.charAt(offset + i) - query.charAt(i);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length < query.length() ? -1 : 0;
+    }
+
+    /**
+     * Posiciones donde empieza una palabra: letra o dígito al principio del título o tras otro carácter
+     */
+    private static List<Integer> wordStarts(String normalized) {
+
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private static boolean hasWordStartingWith(String normalized, String query) {
+
+        for (int i = 0; i + query.length() <= normalized.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+            if (wordStart && normalized.startsWith(query, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long entry(int slot, int offset) {
+
+        return (long) slot << 32 | offset;
+    }
+
+    private static int slotOf(long entry) {
+
+        return (int) (entry >>> 32);
+    }
+
+    private static int offsetOf(long entry) {
+
+        return (int) entry;
+    }
+
+}
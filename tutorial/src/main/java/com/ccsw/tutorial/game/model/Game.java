@@ -3,6 +3,8 @@ package com.ccsw.tutorial.game.model;
 import com.ccsw.tutorial.author.model.Author;
 import com.ccsw.tutorial.category.model.Category;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * @author ccsw
@@ -10,10 +12,13 @@ import jakarta.persistence.*;
  */
 @Entity
 @Table(name = "game")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "game")
 public class Game {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -23,11 +28,11 @@ public class Game {
     @Column(name = "age", nullable = false)
     private String age;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private Author author;
 
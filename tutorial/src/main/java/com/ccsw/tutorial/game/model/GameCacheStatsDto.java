@@ -0,0 +1,62 @@
+package com.ccsw.tutorial.game.model;
+
+/**
+ * Estadísticas de la caché del catálogo de juegos
+ */
+public class GameCacheStatsDto {
+
+    private final long size;
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final double hitRate;
+
+    private final long evictionCount;
+
+    private final long invalidationCount;
+
+    public GameCacheStatsDto(long size, long hitCount, long missCount, double hitRate, long evictionCount, long invalidationCount) {
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+    }
+
+    /**
+     * @return número de búsquedas en caché
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    /**
+     * @return entradas expulsadas por tamaño o caducidad
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return entradas invalidadas al guardar juegos, autores o categorías
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+}
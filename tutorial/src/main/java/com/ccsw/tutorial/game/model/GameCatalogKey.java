@@ -0,0 +1,31 @@
+package com.ccsw.tutorial.game.model;
+
+import com.ccsw.tutorial.common.text.TextNormalizer;
+
+/**
+ * Clave de la caché del catálogo de juegos. Dos búsquedas con títulos que normalizan igual devuelven los mismos juegos,
+ * así que comparten entrada.
+ *
+ * @param title título normalizado, vacío si no se filtra por título
+ * @param idCategory PK de la categoría, null si no se filtra por categoría
+ */
+public record GameCatalogKey(String title, Long idCategory) {
+
+    public static GameCatalogKey of(String title, Long idCategory) {
+
+        return new GameCatalogKey(TextNormalizer.normalize(title), idCategory);
+    }
+
+    /**
+     * Indica si un juego con ese título y categoría aparece en los resultados de esta búsqueda
+     *
+     * @param title título del juego
+     * @param idCategory PK de la categoría del juego
+     * @return true si el juego cumple los filtros
+     */
+    public boolean matches(String title, Long idCategory) {
+
+        return (this.idCategory == null || this.idCategory.equals(idCategory)) && TextNormalizer.normalize(title).contains(this.title);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.ccsw.tutorial.game.model;
+
+/**
+ * Título de un {@link Game} junto con el número de préstamos que ha tenido, vigentes y archivados
+ *
+ * @param id PK del juego
+ * @param title título
+ * @param loans número de préstamos
+ */
+public record GamePopularity(Long id, String title, long loans) {
+
+}
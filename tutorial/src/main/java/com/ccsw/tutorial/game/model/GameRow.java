@@ -0,0 +1,32 @@
+package com.ccsw.tutorial.game.model;
+
+import com.ccsw.tutorial.author.model.AuthorDto;
+import com.ccsw.tutorial.category.model.CategoryDto;
+
+/**
+ * Columnas de un {@link Game} con su categoría y autor, tal como las devuelve la consulta de listado. Es inmutable para
+ * poder guardarse en la caché de búsquedas.
+ *
+ * @param id PK del juego
+ * @param title título
+ * @param age edad recomendada
+ * @param categoryId PK de la categoría
+ * @param categoryName nombre de la categoría
+ * @param authorId PK del autor
+ * @param authorName nombre del autor
+ * @param authorNationality nacionalidad del autor
+ */
+public record GameRow(Long id, String title, String age, Long categoryId, String categoryName, Long authorId, String authorName, String authorNationality) {
+
+    public GameDto toDto() {
+
+        GameDto dto = new GameDto();
+        dto.setId(this.id);
+        dto.setTitle(this.title);
+        dto.setAge(this.age);
+        dto.setCategory(new CategoryDto(this.categoryId, this.categoryName));
+        dto.setAuthor(new AuthorDto(this.authorId, this.authorName, this.authorNationality));
+        return dto;
+    }
+
+}
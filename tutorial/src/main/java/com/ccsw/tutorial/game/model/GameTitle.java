@@ -0,0 +1,11 @@
+package com.ccsw.tutorial.game.model;
+
+/**
+ * PK y título de un {@link Game}, sin autor ni categoría
+ *
+ * @param id PK del juego
+ * @param title título
+ */
+public record GameTitle(Long id, String title) {
+
+}
@@ -0,0 +1,103 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.common.pagination.PageCountCache;
+import com.ccsw.tutorial.common.transaction.TransactionHooks;
+import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanHistory;
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Mueve a loan_archive los préstamos devueltos antes del horizonte configurado, en lotes de una transacción cada uno
+ * para no bloquear loan durante toda la ejecución. Los préstamos archivados salen también de los índices en memoria.
+ */
+@Component
+@ConditionalOnProperty(name = "ludoteca.loan.archive.enabled", havingValue = "true")
+public class LoanArchiver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoanArchiver.class);
+
+    private final LoanRepository loanRepository;
+
+    private final LoanIntervalIndex loanIntervalIndex;
+
+    private final LoanOccupancyIndex loanOccupancyIndex;
+
+    private final PageCountCache pageCountCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ludoteca.loan.archive.horizon-days:365}")
+    int horizonDays = 365;
+
+    @Value("${ludoteca.loan.archive.batch-size:1000}")
+    int batchSize = 1000;
+
+    public LoanArchiver(LoanRepository loanRepository, LoanIntervalIndex loanIntervalIndex, LoanOccupancyIndex loanOccupancyIndex, PageCountCache pageCountCache, TransactionTemplate transactionTemplate) {
+
+        this.loanRepository = loanRepository;
+        this.loanIntervalIndex = loanIntervalIndex;
+        this.loanOccupancyIndex = loanOccupancyIndex;
+        this.pageCountCache = pageCountCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${ludoteca.loan.archive.cron:0 30 3 * * *}")
+    public void run() {
+
+        int archived = this.archive(LocalDate.now().minusDays(this.horizonDays));
+        if (archived > 0) {
+            LOG.info("Archived {} loans returned before {} days ago", archived, this.horizonDays);
+        }
+    }
+
+    /**
+     * Archiva los préstamos con fecha de devolución anterior al corte
+     *
+     * @param cutoff fecha de corte (exclusiva)
+     * @return número de préstamos archivados
+     */
+    public int archive(LocalDate cutoff) {
+
+        int archived = 0;
+        int moved;
+        do {
+            moved = this.transactionTemplate.execute(status -> this.moveBatch(cutoff));
+            archived += moved;
+        } while (moved == this.batchSize);
+
+        return archived;
+    }
+
+    private int moveBatch(LocalDate cutoff) {
+
+        List<LoanInterval> batch = this.loanRepository.findArchivable(cutoff, Limit.of(this.batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = batch.stream().map(LoanInterval::id).toList();
+        this.loanRepository.copyToArchive(ids);
+        this.loanRepository.deleteByIdIn(ids);
+
+        this.pageCountCache.evictAfterCommit(Loan.class);
+        this.pageCountCache.evictAfterCommit(LoanHistory.class);
+        TransactionHooks.afterCommit(() -> batch.forEach(interval -> {
+            this.loanIntervalIndex.remove(interval.id());
+            this.loanOccupancyIndex.remove(interval);
+        }));
+
+        return batch.size();
+    }
+
+}
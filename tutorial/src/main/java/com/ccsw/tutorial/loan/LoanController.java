@@ -1,19 +1,31 @@
 package com.ccsw.tutorial.loan;
 
+import com.ccsw.tutorial.common.jfr.MappingEvent;
+import com.ccsw.tutorial.common.pagination.CountedPage;
+import com.ccsw.tutorial.common.pagination.CursorPage;
+import com.ccsw.tutorial.game.model.GameRow;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.exceptions.IllegalCursorException;
 import com.ccsw.tutorial.loan.exceptions.IllegalDateRangeException;
 import com.ccsw.tutorial.loan.exceptions.IllegalReservationException;
 import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanBulkResultDto;
 import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanRow;
 import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import com.ccsw.tutorial.loan.model.OccupancyFootprintDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 
 @Tag(name = "Loan", description = "API of Loan")
 @RequestMapping(value = "/loan")
@@ -24,16 +36,30 @@ public class LoanController {
     LoanService loanService;
 
     @Autowired
-    ModelMapper mapper;
+    LoanMapper loanMapper;
 
     @Operation(summary = "Find Page", description = "Method that return a page of Loans")
     @RequestMapping(path = "", method = RequestMethod.POST)
-    public Page<LoanDto> find(@RequestBody LoanSearchDto dto) {
-        Page<Loan> page = this.loanService.findPage(dto);
-        return new PageImpl<>(page.getContent().stream().map(e -> mapper.map(e, LoanDto.class)).collect(Collectors.toList()), page.getPageable(), page.getTotalElements());
+    public CountedPage<LoanDto> find(@RequestBody LoanSearchDto dto) {
+        CountedPage<LoanRow> page = this.loanService.findPage(dto);
+        return new CountedPage<>(MappingEvent.map(LoanRow.class, page.getContent(), LoanRow::toDto), page.getPageable(), page.getTotalElements(), page.getCountMode());
 
     }
 
+    @Operation(summary = "Find by cursor", description = "Method that return a slice of Loans after the given cursor and the cursor of the next slice")
+    @RequestMapping(path = "/cursor", method = RequestMethod.POST)
+    public CursorPage<LoanDto> findByCursor(@RequestBody LoanSearchDto dto) {
+        Window<Loan> window;
+        try {
+            window = this.loanService.findWindow(dto);
+        } catch (IllegalCursorException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        List<LoanDto> content = MappingEvent.map(Loan.class, window.getContent(), loanMapper::toDto);
+        String nextCursor = window.hasNext() ? LoanCursor.encode(window.getContent().get(window.size() - 1)) : null;
+        return new CursorPage<>(content, nextCursor);
+    }
+
     @Operation(summary = "Save", description = "Method that saves a new Loan")
     @RequestMapping(path = "", method = RequestMethod.PUT)
     public void save(@RequestBody LoanDto dto) throws IllegalDateRangeException, IllegalReservationException {
@@ -41,6 +67,32 @@ public class LoanController {
 
     }
 
+    @Operation(summary = "Save bulk", description = "Method that saves a list of new Loans and returns the rejected ones")
+    @RequestMapping(path = "/bulk", method = RequestMethod.PUT)
+    public LoanBulkResultDto saveAll(@RequestBody List<LoanDto> dtos) throws IllegalReservationException {
+        return this.loanService.saveAll(dtos);
+    }
+
+    @Operation(summary = "Find available", description = "Method that return the Games without Loans between two dates")
+    @RequestMapping(path = "/available", method = RequestMethod.GET)
+    public List<GameDto> findAvailable(@RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate, @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "title", required = false) String title, @RequestParam(value = "idCategory", required = false) Long idCategory) throws IllegalDateRangeException {
+        List<GameRow> games = this.loanService.findAvailableGames(startDate, endDate, title, idCategory);
+        return MappingEvent.map(GameRow.class, games, GameRow::toDto);
+    }
+
+    @Operation(summary = "Find free days", description = "Method that return the days of a month without Loans for a Game")
+    @RequestMapping(path = "/free-days", method = RequestMethod.GET)
+    public List<LocalDate> findFreeDays(@RequestParam("idGame") Long idGame, @RequestParam("month") @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) throws IllegalDateRangeException {
+        return this.loanService.findFreeDays(idGame, month);
+    }
+
+    @Operation(summary = "Occupancy footprint", description = "Method that return the memory used by the Game occupancy index")
+    @RequestMapping(path = "/occupancy/footprint", method = RequestMethod.GET)
+    public OccupancyFootprintDto getOccupancyFootprint() {
+        return this.loanService.getOccupancyFootprint();
+    }
+
     @Operation(summary = "Delete", description = "Method that deletes a Loan")
     @RequestMapping(path = "/{id}", method = RequestMethod.DELETE)
     public void delete(@PathVariable("id") Long id) throws Exception {
@@ -0,0 +1,68 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.exceptions.IllegalCursorException;
+import com.ccsw.tutorial.loan.model.Loan;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cursor opaco de la búsqueda de préstamos. Codifica la clave (startDate, id) del último préstamo devuelto, que es
+ * también el orden de la búsqueda, para continuar con un seek sobre el índice en lugar de un offset.
+ */
+public final class LoanCursor {
+
+    static final Sort ORDER = Sort.by("startDate", "id");
+
+    private static final String SEPARATOR = "|";
+
+    private LoanCursor() {
+    }
+
+    /**
+     * Genera el cursor que apunta justo después del préstamo
+     *
+     * @param loan último préstamo de la página
+     * @return cursor codificado en Base64 URL
+     */
+    public static String encode(Loan loan) {
+
+        String key = loan.getStartDate() + SEPARATOR + loan.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Convierte un cursor en la posición de scroll de Spring Data. Un cursor vacío es el inicio.
+     *
+     * @param cursor cursor recibido
+     * @return {@link KeysetScrollPosition}
+     * @throws IllegalCursorException si el cursor no lo ha generado {@link #encode}
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf(SEPARATOR);
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("startDate", LocalDate.parse(key.substring(0, separator)));
+            keys.put("id", Long.valueOf(key.substring(separator + 1)));
+
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalCursorException("Cursor no válido: " + cursor, e);
+        }
+    }
+
+}
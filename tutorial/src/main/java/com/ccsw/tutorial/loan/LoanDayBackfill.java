@@ -0,0 +1,34 @@
+package com.ccsw.tutorial.loan;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rellena loan_day con los préstamos existentes que no tienen sus días reservados, por ejemplo los cargados directamente
+ * en la tabla loan. Es idempotente: solo trata los préstamos sin filas.
+ */
+@Component
+public class LoanDayBackfill {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoanDayBackfill.class);
+
+    private final LoanDayRepository loanDayRepository;
+
+    public LoanDayBackfill(LoanDayRepository loanDayRepository) {
+
+        this.loanDayRepository = loanDayRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+
+        int days = this.loanDayRepository.backfill();
+        if (days > 0) {
+            LOG.info("Backfilled {} loan day slots", days);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanDay;
+import com.ccsw.tutorial.loan.model.LoanDayId;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LoanDayRepository extends JpaRepository<LoanDay, LoanDayId> {
+
+    @Modifying
+    @Query("delete from LoanDay d where d.loanId = :loanId")
+    int deleteByLoanId(@Param("loanId") Long loanId);
+
+    long countByLoanId(Long loanId);
+
+    /**
+     * Genera los días reservados de los préstamos que todavía no los tienen, en una sola sentencia
+     *
+     * @return número de días insertados
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO loan_day (game_id, reserved_day, loan_id) " //
+            + "SELECT l.game_id, DATEADD(DAY, r.X, l.start_date), l.id FROM loan l " //
+            + "JOIN SYSTEM_RANGE(0, (SELECT COALESCE(MAX(DATEDIFF(DAY, start_date, end_date)), 0) FROM loan)) r ON DATEADD(DAY, r.X, l.start_date) <= l.end_date " //
+            + "WHERE NOT EXISTS (SELECT 1 FROM loan_day d WHERE d.loan_id = l.id)", nativeQuery = true)
+    int backfill();
+
+}
@@ -0,0 +1,12 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanHistory;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Búsquedas sobre préstamos vigentes y archivados
+ */
+public interface LoanHistoryRepository extends Repository<LoanHistory, Long>, JpaSpecificationExecutor<LoanHistory>, LoanRowRepository {
+
+}
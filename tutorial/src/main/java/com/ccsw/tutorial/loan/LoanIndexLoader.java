@@ -0,0 +1,38 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Carga los índices en memoria de préstamos al arrancar, leyendo la tabla loan una sola vez para todos ellos
+ */
+@Component
+public class LoanIndexLoader {
+
+    private final LoanRepository loanRepository;
+
+    private final LoanIntervalIndex loanIntervalIndex;
+
+    private final LoanOccupancyIndex loanOccupancyIndex;
+
+    public LoanIndexLoader(LoanRepository loanRepository, LoanIntervalIndex loanIntervalIndex, LoanOccupancyIndex loanOccupancyIndex) {
+
+        this.loanRepository = loanRepository;
+        this.loanIntervalIndex = loanIntervalIndex;
+        this.loanOccupancyIndex = loanOccupancyIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+
+        List<LoanInterval> intervals = this.loanRepository.findAllIntervals();
+
+        this.loanIntervalIndex.rebuild(intervals);
+        this.loanOccupancyIndex.rebuild(intervals);
+    }
+
+}
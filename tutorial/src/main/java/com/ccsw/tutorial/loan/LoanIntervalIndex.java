@@ -0,0 +1,210 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria de los préstamos por juego y por cliente. Permite responder a las reglas de reserva con una sola
+ * consulta al índice, independientemente de la duración del préstamo.
+ */
+@Component
+public class LoanIntervalIndex {
+
+    private static final Comparator<LoanInterval> BY_START = Comparator.comparing(LoanInterval::startDate).thenComparing(LoanInterval::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, LoanInterval> byId = new HashMap<>();
+
+    private final Map<Long, IntervalSet> byGame = new HashMap<>();
+
+    private final Map<Long, IntervalSet> byClient = new HashMap<>();
+
+    /**
+     * Reconstruye el índice a partir de los préstamos persistidos
+     *
+     * @param intervals todos los préstamos
+     */
+    public void rebuild(List<LoanInterval> intervals) {
+
+        this.lock.writeLock().lock();
+        try {
+            this.byId.clear();
+            this.byGame.clear();
+            this.byClient.clear();
+            intervals.forEach(this::addUnlocked);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si el juego tiene algún préstamo que solape con el rango [start, end]
+     *
+     * @param gameId PK del juego
+     * @param start fecha de inicio
+     * @param end fecha de fin
+     * @return true si el juego está reservado algún día del rango
+     */
+    public boolean isGameBooked(Long gameId, LocalDate start, LocalDate end) {
+
+        this.lock.readLock().lock();
+        try {
+            IntervalSet set = this.byGame.get(gameId);
+            return set != null && !set.overlapping(start, end).isEmpty();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula el máximo de préstamos simultáneos que tiene el cliente en cualquier día del rango [start, end]
+     *
+     * @param clientId PK del cliente
+     * @param start fecha de inicio
+     * @param end fecha de fin
+     * @return número máximo de préstamos en un mismo día
+     */
+    public int maxClientLoans(Long clientId, LocalDate start, LocalDate end) {
+
+        List<LoanInterval> overlapping;
+
+        this.lock.readLock().lock();
+        try {
+            IntervalSet set = this.byClient.get(clientId);
+            if (set == null) {
+                return 0;
+            }
+            overlapping = set.overlapping(start, end);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        return maxConcurrent(overlapping, start, end);
+    }
+
+    public void add(LoanInterval interval) {
+
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(interval.id());
+            this.addUnlocked(interval);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long loanId) {
+
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(loanId);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        this.lock.readLock().lock();
+        try {
+            return this.byId.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void addUnlocked(LoanInterval interval) {
+
+        this.byId.put(interval.id(), interval);
+        this.byGame.computeIfAbsent(interval.gameId(), k -> new IntervalSet()).add(interval);
+        this.byClient.computeIfAbsent(interval.clientId(), k -> new IntervalSet()).add(interval);
+    }
+
+    private void removeUnlocked(Long loanId) {
+
+        LoanInterval interval = this.byId.remove(loanId);
+        if (interval == null) {
+            return;
+        }
+
+        this.byGame.get(interval.gameId()).remove(interval);
+        this.byClient.get(interval.clientId()).remove(interval);
+    }
+
+    /**
+     * Barrido de eventos sobre los préstamos recortados al rango pedido
+     */
+    static int maxConcurrent(List<LoanInterval> intervals, LocalDate start, LocalDate end) {
+
+        if (intervals.size() < 2) {
+            return intervals.size();
+        }
+
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        long[] events = new long[intervals.size() * 2];
+        int i = 0;
+        for (LoanInterval interval : intervals) {
+            long s = Math.max(interval.startDate().toEpochDay(), from) - from;
+            long e = Math.min(interval.endDate().toEpochDay(), to) - from + 1;
+            // El bit menos significativo distingue salida (0) de entrada (1) para que las salidas se procesen antes
+            events[i++] = (s << 1) | 1;
+            events[i++] = e << 1;
+        }
+        Arrays.sort(events);
+
+        int current = 0;
+        int max = 0;
+        for (long event : events) {
+            current += (event & 1) == 1 ? 1 : -1;
+            max = Math.max(max, current);
+        }
+
+        return max;
+    }
+
+    /**
+     * Intervalos de una misma clave ordenados por fecha de inicio. Guarda la duración máxima vista para acotar la
+     * búsqueda de solapamientos a los intervalos que empiezan como mucho esa cantidad de días antes del rango.
+     */
+    private static final class IntervalSet {
+
+        private final TreeSet<LoanInterval> intervals = new TreeSet<>(BY_START);
+
+        private long maxSpanDays;
+
+        void add(LoanInterval interval) {
+
+            this.intervals.add(interval);
+            this.maxSpanDays = Math.max(this.maxSpanDays, ChronoUnit.DAYS.between(interval.startDate(), interval.endDate()));
+        }
+
+        void remove(LoanInterval interval) {
+
+            this.intervals.remove(interval);
+        }
+
+        List<LoanInterval> overlapping(LocalDate start, LocalDate end) {
+
+            LoanInterval from = new LoanInterval(Long.MIN_VALUE, null, null, start.minusDays(this.maxSpanDays), null);
+            LoanInterval to = new LoanInterval(Long.MAX_VALUE, null, null, end, null);
+
+            List<LoanInterval> result = new ArrayList<>();
+            for (LoanInterval interval : this.intervals.subSet(from, true, to, true)) {
+                if (interval.overlaps(start, end)) {
+                    result.add(interval);
+                }
+            }
+
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.client.ClientMapper;
+import com.ccsw.tutorial.game.GameMapper;
+import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conversión de {@link Loan} a {@link LoanDto}, con su juego y cliente, sin reflexión
+ */
+@Component
+public class LoanMapper {
+
+    private final GameMapper gameMapper;
+
+    private final ClientMapper clientMapper;
+
+    public LoanMapper(GameMapper gameMapper, ClientMapper clientMapper) {
+
+        this.gameMapper = gameMapper;
+        this.clientMapper = clientMapper;
+    }
+
+    public LoanDto toDto(Loan loan) {
+
+        if (loan == null) {
+            return null;
+        }
+
+        LoanDto dto = new LoanDto();
+        dto.setId(loan.getId());
+        dto.setGame(this.gameMapper.toDto(loan.getGame()));
+        dto.setClient(this.clientMapper.toDto(loan.getClient()));
+        dto.setStartDate(loan.getStartDate());
+        dto.setEndDate(loan.getEndDate());
+        return dto;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.exceptions.IllegalDateRangeException;
+import com.ccsw.tutorial.loan.exceptions.IllegalReservationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de las reservas: reparto del tiempo de {@link LoanService#save} entre validación e insert, y préstamos
+ * rechazados por cada regla. Los medidores se registran una vez al arrancar; en cada reserva solo se suma al que toca.
+ */
+@Component
+public class LoanMetrics {
+
+    private final Timer validation;
+
+    private final Timer insert;
+
+    private final Counter dateRangeRejections;
+
+    private final Counter reservationRejections;
+
+    public LoanMetrics(MeterRegistry registry) {
+
+        this.validation = saveTimer(registry, "validation");
+        this.insert = saveTimer(registry, "insert");
+        this.dateRangeRejections = rejectionCounter(registry, IllegalDateRangeException.class);
+        this.reservationRejections = rejectionCounter(registry, IllegalReservationException.class);
+    }
+
+    /**
+     * Tiempo de las comprobaciones de fechas y de las reglas de reserva
+     */
+    public void recordValidation(long nanos) {
+
+        this.validation.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tiempo de los inserts del préstamo y de sus días
+     */
+    public void recordInsert(long nanos) {
+
+        this.insert.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Cuenta un préstamo rechazado por la excepción indicada
+     */
+    public void rejected(Exception e) {
+
+        if (e instanceof IllegalDateRangeException) {
+            this.dateRangeRejections.increment();
+        } else if (e instanceof IllegalReservationException) {
+            this.reservationRejections.increment();
+        }
+    }
+
+    private static Timer saveTimer(MeterRegistry registry, String phase) {
+
+        return Timer.builder("ludoteca.loan.save").description("Tiempo de LoanService.save por fase").tag("phase", phase).publishPercentileHistogram().register(registry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, Class<? extends Exception> exception) {
+
+        return Counter.builder("ludoteca.loan.rejections").description("Préstamos rechazados por las reglas de fechas y de reserva").tag("exception", exception.getSimpleName())
+                .register(registry);
+    }
+
+}
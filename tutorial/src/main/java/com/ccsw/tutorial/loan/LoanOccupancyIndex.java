@@ -0,0 +1,310 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import com.ccsw.tutorial.loan.model.OccupancyFootprintDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ocupación diaria de cada juego como un mapa de bits indexado por día epoch: el bit d está a 1 si el juego está prestado
+ * el día d. Cada juego guarda un único long[] contiguo entre su primer y su último día ocupado, sin un objeto por
+ * préstamo, y las consultas por rango se resuelven palabra a palabra (64 días por operación). Solo se guardan los días
+ * de la ventana admitida (past-years hacia atrás y future-years hacia delante), de modo que una fecha lejana no puede
+ * hacer crecer el mapa sin límite; el servicio rechaza los préstamos y consultas fuera de ella.
+ */
+@Component
+public class LoanOccupancyIndex {
+
+    private static final int WORD_BITS = 64;
+
+    // Cabeceras de objeto y entrada de HashMap con compressed oops, para la estimación de memoria
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long ENTRY_OVERHEAD_BYTES = 32 + 16 + 24;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, GameBitmap> byGame = new HashMap<>();
+
+    @Value("${ludoteca.loan.window.past-years:10}")
+    int pastYears = 10;
+
+    @Value("${ludoteca.loan.window.future-years:10}")
+    int futureYears = 10;
+
+    /**
+     * Reconstruye los mapas de bits a partir de los préstamos persistidos
+     *
+     * @param intervals todos los préstamos
+     */
+    public void rebuild(List<LoanInterval> intervals) {
+
+        long firstDay = this.firstSupportedDay().toEpochDay();
+        long lastDay = this.lastSupportedDay().toEpochDay();
+
+        // Primera pasada para calcular los límites y reservar cada mapa de una vez, sin copias al crecer
+        Map<Long, long[]> bounds = new HashMap<>();
+        for (LoanInterval interval : intervals) {
+            long from = Math.max(interval.startDate().toEpochDay(), firstDay);
+            long to = Math.min(interval.endDate().toEpochDay(), lastDay);
+            if (from <= to) {
+                long[] b = bounds.computeIfAbsent(interval.gameId(), k -> new long[] { Long.MAX_VALUE, Long.MIN_VALUE });
+                b[0] = Math.min(b[0], wordOf(from));
+                b[1] = Math.max(b[1], wordOf(to));
+            }
+        }
+
+        Map<Long, GameBitmap> bitmaps = new HashMap<>(bounds.size() * 4 / 3 + 1);
+        bounds.forEach((gameId, b) -> {
+            GameBitmap bitmap = new GameBitmap();
+            bitmap.ensureCapacity(b[0], b[1], wordOf(firstDay));
+            bitmaps.put(gameId, bitmap);
+        });
+        for (LoanInterval interval : intervals) {
+            long from = Math.max(interval.startDate().toEpochDay(), firstDay);
+            long to = Math.min(interval.endDate().toEpochDay(), lastDay);
+            if (from <= to) {
+                bitmaps.get(interval.gameId()).set(from, to, wordOf(firstDay));
+            }
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            this.byGame.clear();
+            this.byGame.putAll(bitmaps);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ocupa los días del préstamo que caen dentro de la ventana admitida
+     */
+    public void add(LoanInterval interval) {
+
+        long firstDay = this.firstSupportedDay().toEpochDay();
+        long from = Math.max(interval.startDate().toEpochDay(), firstDay);
+        long to = Math.min(interval.endDate().toEpochDay(), this.lastSupportedDay().toEpochDay());
+        if (from > to) {
+            return;
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            this.byGame.computeIfAbsent(interval.gameId(), k -> new GameBitmap()).set(from, to, wordOf(firstDay));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Libera los días del préstamo. Un juego no puede tener dos préstamos el mismo día, así que esos días quedan libres.
+     */
+    public void remove(LoanInterval interval) {
+
+        this.lock.writeLock().lock();
+        try {
+            GameBitmap bitmap = this.byGame.get(interval.gameId());
+            if (bitmap != null) {
+                bitmap.clear(interval.startDate().toEpochDay(), interval.endDate().toEpochDay());
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Primer día de la ventana admitida
+     *
+     * @return fecha
+     */
+    public LocalDate firstSupportedDay() {
+
+        return LocalDate.now().minusYears(this.pastYears);
+    }
+
+    /**
+     * Último día de la ventana admitida
+     *
+     * @return fecha
+     */
+    public LocalDate lastSupportedDay() {
+
+        return LocalDate.now().plusYears(this.futureYears);
+    }
+
+    /**
+     * Indica si el juego está libre todos los días del rango [start, end]
+     *
+     * @param gameId PK del juego
+     * @param start fecha de inicio
+     * @param end fecha de fin
+     * @return true si ningún día del rango está ocupado
+     */
+    public boolean isFree(Long gameId, LocalDate start, LocalDate end) {
+
+        this.lock.readLock().lock();
+        try {
+            GameBitmap bitmap = this.byGame.get(gameId);
+            return bitmap == null || !bitmap.any(start.toEpochDay(), end.toEpochDay());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera los días libres del juego en un mes
+     *
+     * @param gameId PK del juego
+     * @param month mes
+     * @return {@link List} de días libres ordenados
+     */
+    public List<LocalDate> freeDays(Long gameId, YearMonth month) {
+
+        long from = month.atDay(1).toEpochDay();
+        long to = month.atEndOfMonth().toEpochDay();
+        List<LocalDate> days = new ArrayList<>(month.lengthOfMonth());
+
+        this.lock.readLock().lock();
+        try {
+            GameBitmap bitmap = this.byGame.get(gameId);
+            for (long word = wordOf(from); word <= wordOf(to); word++) {
+                long free = ~(bitmap == null ? 0L : bitmap.word(word)) & mask(word, from, to);
+                while (free != 0) {
+                    days.add(LocalDate.ofEpochDay(word * WORD_BITS + Long.numberOfTrailingZeros(free)));
+                    free &= free - 1;
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        return days;
+    }
+
+    /**
+     * Memoria ocupada por los mapas de bits, para dimensionar el heap con históricos de varios años
+     *
+     * @return {@link OccupancyFootprintDto}
+     */
+    public OccupancyFootprintDto footprint() {
+
+        this.lock.readLock().lock();
+        try {
+            long words = 0;
+            long minDay = Long.MAX_VALUE;
+            long maxDay = Long.MIN_VALUE;
+            for (GameBitmap bitmap : this.byGame.values()) {
+                words += bitmap.words.length;
+                if (bitmap.words.length > 0) {
+                    minDay = Math.min(minDay, bitmap.baseWord * WORD_BITS);
+                    maxDay = Math.max(maxDay, (bitmap.baseWord + bitmap.words.length) * WORD_BITS - 1);
+                }
+            }
+
+            int games = this.byGame.size();
+            long bitmapBytes = words * Long.BYTES;
+            long heapBytes = bitmapBytes + games * (ARRAY_HEADER_BYTES + ENTRY_OVERHEAD_BYTES);
+            long spanDays = games == 0 ? 0 : maxDay - minDay + 1;
+            // Un año son 6 palabras (366 días redondeados a 64) más la cabecera del juego repartida en el histórico actual
+            long bytesPerGameYear = 6 * Long.BYTES + (spanDays == 0 ? 0 : (ARRAY_HEADER_BYTES + ENTRY_OVERHEAD_BYTES) * 366 / spanDays);
+
+            return new OccupancyFootprintDto(games, words, bitmapBytes, heapBytes, spanDays, bytesPerGameYear);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static long wordOf(long day) {
+
+        return Math.floorDiv(day, WORD_BITS);
+    }
+
+    /**
+     * Máscara con los bits de la palabra que caen dentro de [from, to]
+     */
+    private static long mask(long word, long from, long to) {
+
+        long first = word * WORD_BITS;
+        int lo = (int) (Math.max(from, first) - first);
+        int hi = (int) (Math.min(to, first + WORD_BITS - 1) - first);
+
+        return (-1L >>> (WORD_BITS - 1 - (hi - lo))) << lo;
+    }
+
+    /**
+     * Palabras contiguas desde baseWord. Crece por los dos extremos según se ocupan días fuera del rango actual y, al
+     * crecer, descarta las palabras que la ventana admitida ya ha dejado atrás.
+     */
+    private static final class GameBitmap {
+
+        private long baseWord;
+
+        private long[] words = new long[0];
+
+        long word(long word) {
+
+            long i = word - this.baseWord;
+            return i < 0 || i >= this.words.length ? 0L : this.words[(int) i];
+        }
+
+        void set(long from, long to, long floorWord) {
+
+            this.ensureCapacity(wordOf(from), wordOf(to), floorWord);
+            for (long word = wordOf(from); word <= wordOf(to); word++) {
+                this.words[(int) (word - this.baseWord)] |= mask(word, from, to);
+            }
+        }
+
+        void clear(long from, long to) {
+
+            long first = Math.max(wordOf(from), this.baseWord);
+            long last = Math.min(wordOf(to), this.baseWord + this.words.length - 1);
+            for (long word = first; word <= last; word++) {
+                this.words[(int) (word - this.baseWord)] &= ~mask(word, from, to);
+            }
+        }
+
+        boolean any(long from, long to) {
+
+            long first = Math.max(wordOf(from), this.baseWord);
+            long last = Math.min(wordOf(to), this.baseWord + this.words.length - 1);
+            for (long word = first; word <= last; word++) {
+                if ((this.words[(int) (word - this.baseWord)] & mask(word, from, to)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void ensureCapacity(long firstWord, long lastWord, long floorWord) {
+
+            if (this.words.length == 0) {
+                this.baseWord = firstWord;
+                this.words = new long[(int) (lastWord - firstWord + 1)];
+                return;
+            }
+
+            long end = this.baseWord + this.words.length - 1;
+            long newBase = Math.max(Math.min(this.baseWord, firstWord), floorWord);
+            long newEnd = Math.max(end, lastWord);
+            if (newBase == this.baseWord && newEnd == end) {
+                return;
+            }
+
+            long[] grown = new long[(int) (newEnd - newBase + 1)];
+            long kept = Math.max(this.baseWord, newBase);
+            if (kept <= end) {
+                System.arraycopy(this.words, (int) (kept - this.baseWord), grown, (int) (kept - newBase), (int) (end - kept + 1));
+            }
+            this.baseWord = newBase;
+            this.words = grown;
+        }
+    }
+
+}
@@ -1,15 +1,108 @@
 package com.ccsw.tutorial.loan;
 
 import com.ccsw.tutorial.loan.model.Loan;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.EntityGraph;
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
-public interface LoanRepository extends CrudRepository<Loan, Long>, JpaSpecificationExecutor<Loan> {
-    @Override
-    @EntityGraph(attributePaths = { "game", "client" })
-    Page<Loan> findAll(Specification<Loan> spec, Pageable pageable);
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface LoanRepository extends CrudRepository<Loan, Long>, JpaSpecificationExecutor<Loan>, LoanRowRepository {
+    @Query("select new com.ccsw.tutorial.loan.model.LoanInterval(l.id, l.game.id, l.client.id, l.startDate, l.endDate) from Loan l")
+    List<LoanInterval> findAllIntervals();
+
+    /**
+     * Guarda el préstamo y envía el insert en el momento, antes que sus días en loan_day. Lo implementa
+     * SimpleJpaRepository, como el resto de métodos de CrudRepository.
+     */
+    <S extends Loan> S saveAndFlush(S loan);
+
+    /**
+     * Indica si el juego tiene algún préstamo que solape con el rango. Se invoca como
+     * {@code exists...(gameId, endDate, startDate)}: inicio del préstamo <= fin del rango y fin del préstamo >= inicio.
+     * La consulta es explícita para filtrar por la columna game_id y no a través de un join con game, que impediría usar
+     * el índice compuesto.
+     */
+    @Query("select case when count(l) > 0 then true else false end from Loan l where l.game.id = :gameId and l.startDate <= :endDate and l.endDate >= :startDate")
+    boolean existsByGameIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(@Param("gameId") Long gameId, @Param("endDate") LocalDate endDate, @Param("startDate") LocalDate startDate);
+
+    /**
+     * Préstamos de cualquiera de los juegos o clientes que solapan con el rango, para validar una carga masiva con una sola
+     * consulta
+     */
+    @Query("select new com.ccsw.tutorial.loan.model.LoanInterval(l.id, l.game.id, l.client.id, l.startDate, l.endDate) from Loan l" //
+            + " where (l.game.id in :gameIds or l.client.id in :clientIds) and l.startDate <= :endDate and l.endDate >= :startDate")
+    List<LoanInterval> findIntervals(@Param("gameIds") Collection<Long> gameIds, @Param("clientIds") Collection<Long> clientIds, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Siguiente lote de préstamos devueltos antes de la fecha de corte, en orden de PK
+     */
+    @Query("select new com.ccsw.tutorial.loan.model.LoanInterval(l.id, l.game.id, l.client.id, l.startDate, l.endDate) from Loan l where l.endDate < :cutoff order by l.id")
+    List<LoanInterval> findArchivable(@Param("cutoff") LocalDate cutoff, Limit limit);
+
+    /**
+     * Copia los préstamos a loan_archive. Se borran después con {@link #deleteByIdIn(Collection)}. Al ser nativa declara la
+     * tabla que modifica: sin ella Hibernate supone que toca todas y vacía cada región de la caché de segundo nivel.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "loan_archive"))
+    @Query(value = "INSERT INTO loan_archive (id, game_id, client_id, start_date, end_date) SELECT id, game_id, client_id, start_date, end_date FROM loan WHERE id IN (:ids)", nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Borra los préstamos; loan_day se borra en cascada
+     */
+    @Modifying
+    @Query("delete from Loan l where l.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bloquea las filas de los juegos (SELECT ... FOR UPDATE) en orden de PK, para que dos cargas con juegos comunes no se
+     * esperen mutuamente. Todo alta de préstamo pasa por aquí antes de validar, así que las reservas de un mismo juego se
+     * serializan y cada una ve los días que han confirmado las anteriores.
+     *
+     * @return {@link List} con las PKs de los juegos que existen
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g.id from Game g where g.id in :ids order by g.id")
+    List<Long> lockGames(@Param("ids") Collection<Long> ids);
+
+    @Query("select c.id from Client c where c.id in :ids")
+    List<Long> findExistingClientIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * PKs de los juegos con algún préstamo que solapa con el rango, en una sola consulta
+     */
+    @Query("select distinct l.game.id from Loan l where l.startDate <= :endDate and l.endDate >= :startDate")
+    List<Long> findBookedGameIds(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Préstamos simultáneos del cliente en cada punto donde puede darse el máximo dentro del rango: el inicio del rango o
+     * el inicio de cada préstamo que solapa con él. Ordenado de mayor a menor.
+     */
+    @Query("select count(other) from Loan l, Loan other where l.client.id = :clientId and other.client.id = :clientId" //
+            + " and l.startDate <= :endDate and l.endDate >= :startDate" //
+            + " and other.startDate <= (case when l.startDate < :startDate then :startDate else l.startDate end)" //
+            + " and other.endDate >= (case when l.startDate < :startDate then :startDate else l.startDate end)" //
+            + " group by l.id order by count(other) desc")
+    List<Long> countConcurrentClientLoans(@Param("clientId") Long clientId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Limit limit);
+
+    /**
+     * Máximo de préstamos simultáneos del cliente en cualquier día del rango, en una sola consulta
+     */
+    default int maxConcurrentClientLoans(Long clientId, LocalDate startDate, LocalDate endDate) {
+        List<Long> counts = countConcurrentClientLoans(clientId, startDate, endDate, Limit.of(1));
+        return counts.isEmpty() ? 0 : counts.get(0).intValue();
+    }
 }
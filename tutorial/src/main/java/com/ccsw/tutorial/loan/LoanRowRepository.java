@@ -0,0 +1,25 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Consulta paginada de préstamos que selecciona directamente las columnas del DTO, sin cargar entidades en el contexto
+ * de persistencia. La comparten {@link LoanRepository} y {@link LoanHistoryRepository}.
+ */
+public interface LoanRowRepository {
+
+    /**
+     * Recupera una página de filas sin calcular el total: pide pageSize + 1 filas para saber si hay siguiente
+     *
+     * @param entity entidad consultada, {@link com.ccsw.tutorial.loan.model.Loan} o
+     * {@link com.ccsw.tutorial.loan.model.LoanHistory}
+     * @param spec filtro
+     * @param pageable página
+     * @return {@link Slice} de {@link LoanRow}
+     */
+    <T> Slice<LoanRow> findRows(Class<T> entity, Specification<T> spec, Pageable pageable);
+
+}
@@ -0,0 +1,54 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Implementación con Criteria de {@link LoanRowRepository}, para reutilizar las {@link LoanSpecification} de la búsqueda
+ */
+public class LoanRowRepositoryImpl implements LoanRowRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Slice<LoanRow> findRows(Class<T> entity, Specification<T> spec, Pageable pageable) {
+
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoanRow> query = builder.createQuery(LoanRow.class);
+        Root<T> root = query.from(entity);
+        Join<T, ?> game = root.join("game");
+        Join<?, ?> category = game.join("category");
+        Join<?, ?> author = game.join("author");
+        Join<T, ?> client = root.join("client");
+
+        query.select(builder.construct(LoanRow.class, root.get("id"), game.get("id"), game.get("title"), game.get("age"), category.get("id"), category.get("name"), author.get("id"), author.get("name"),
+                author.get("nationality"), client.get("id"), client.get("name"), root.get("startDate"), root.get("endDate")));
+
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<LoanRow> rows = this.entityManager.createQuery(query) //
+                .setFirstResult((int) pageable.getOffset()) //
+                .setMaxResults(pageable.getPageSize() + 1) //
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanDto;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Una llamada a {@link LoanService#save}: juego, días reservados, consultas lanzadas para validar las reglas de reserva y
+ * resultado. Desactivado salvo que la grabación lo active (plantilla jfr/ludoteca.jfc o perfil jfr).
+ */
+@Name("ludoteca.LoanSave")
+@Label("Loan Save")
+@Description("Validación e insert de un préstamo")
+@Category({ "Ludoteca", "Loan" })
+@Enabled(false)
+@StackTrace(false)
+public class LoanSaveEvent extends Event {
+
+    public static final String SAVED = "SAVED";
+    public static final String REJECTED = "REJECTED";
+    public static final String FAILED = "FAILED";
+
+    @Label("Game Id")
+    private long gameId;
+
+    @Label("Client Id")
+    private long clientId;
+
+    @Label("Days")
+    @Description("Días del préstamo, inicio y fin incluidos")
+    private int days;
+
+    @Label("Conflict Check")
+    @Description("index o database, ver ludoteca.loan.conflict-check")
+    private String conflictCheck;
+
+    @Label("Validation Queries")
+    @Description("Consultas lanzadas para comprobar las reglas de reserva, incluido el bloqueo del juego")
+    private int validationQueries;
+
+    @Label("Outcome")
+    @Description("SAVED, REJECTED o FAILED")
+    private String outcome;
+
+    @Label("Reason")
+    @Description("Mensaje de la excepción si no se ha guardado")
+    private String reason;
+
+    /**
+     * @return evento con el inicio del guardado ya marcado
+     */
+    public static LoanSaveEvent start() {
+
+        LoanSaveEvent event = new LoanSaveEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Cierra el evento y lo guarda si la grabación lo tiene activo y supera el umbral
+     *
+     * @param dto préstamo a guardar
+     * @param conflictCheck estrategia de validación
+     * @param validationQueries consultas lanzadas para validar
+     * @param outcome SAVED, REJECTED o FAILED
+     * @param reason excepción que ha impedido guardar, null si se ha guardado
+     */
+    public void finish(LoanDto dto, String conflictCheck, int validationQueries, String outcome, Exception reason) {
+
+        end();
+        if (shouldCommit()) {
+            this.gameId = dto.getGame() != null && dto.getGame().getId() != null ? dto.getGame().getId() : 0;
+            this.clientId = dto.getClient() != null && dto.getClient().getId() != null ? dto.getClient().getId() : 0;
+            this.days = dto.getStartDate() != null && dto.getEndDate() != null ? (int) ChronoUnit.DAYS.between(dto.getStartDate(), dto.getEndDate()) + 1 : 0;
+            this.conflictCheck = conflictCheck;
+            this.validationQueries = validationQueries;
+            this.outcome = outcome;
+            this.reason = reason != null ? reason.getMessage() : null;
+            commit();
+        }
+    }
+
+}
@@ -1,23 +1,83 @@
 package com.ccsw.tutorial.loan;
 
+import com.ccsw.tutorial.common.pagination.CountedPage;
+import com.ccsw.tutorial.game.model.GameRow;
 import com.ccsw.tutorial.loan.exceptions.IllegalDateRangeException;
 import com.ccsw.tutorial.loan.exceptions.IllegalReservationException;
 import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanBulkResultDto;
 import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanRow;
 import com.ccsw.tutorial.loan.model.LoanSearchDto;
-import org.springframework.data.domain.Page;
+import com.ccsw.tutorial.loan.model.OccupancyFootprintDto;
+import org.springframework.data.domain.Window;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 public interface LoanService {
     Loan get(Long id);
 
-    Page<Loan> findPage(LoanSearchDto dto);
+    /**
+     * Recupera una página de préstamos filtrando opcionalmente por juego, cliente y/o fecha
+     *
+     * @param dto filtros y paginación, incluido el modo de conteo
+     * @return {@link CountedPage} de {@link LoanRow}
+     */
+    CountedPage<LoanRow> findPage(LoanSearchDto dto);
+
+    /**
+     * Recupera una ventana de préstamos ordenados por fecha de inicio y PK a partir del cursor de la búsqueda, con los
+     * mismos filtros que {@link #findPage(LoanSearchDto)} pero sin calcular el total. Solo recorre los préstamos
+     * vigentes, así que rechaza las búsquedas que piden incluir el archivo.
+     *
+     * @param dto filtros, tamaño de página y cursor
+     * @return {@link Window} de {@link Loan}
+     */
+    Window<Loan> findWindow(LoanSearchDto dto);
 
     List<Loan> findAll();
 
     void save(LoanDto dto) throws IllegalReservationException, IllegalDateRangeException;
 
+    /**
+     * Guarda varios préstamos en una sola transacción. Se validan todos juntos contra los préstamos existentes y entre
+     * sí; los que no cumplen las reglas se devuelven como fallos y el resto se guardan.
+     *
+     * @param dtos préstamos a guardar
+     * @return {@link LoanBulkResultDto} con las PKs creadas y los fallos por posición
+     */
+    LoanBulkResultDto saveAll(List<LoanDto> dtos) throws IllegalReservationException;
+
     void delete(Long id) throws Exception;
 
+    /**
+     * Recupera los juegos que no tienen ningún préstamo en el rango de fechas, filtrando opcionalmente por título y/o
+     * categoría
+     *
+     * @param startDate fecha de inicio
+     * @param endDate fecha de fin
+     * @param title título del juego
+     * @param idCategory PK de la categoría
+     * @return {@link List} de {@link GameRow} libres todo el rango
+     */
+    List<GameRow> findAvailableGames(LocalDate startDate, LocalDate endDate, String title, Long idCategory) throws IllegalDateRangeException;
+
+    /**
+     * Recupera los días en los que el juego no tiene ningún préstamo dentro de un mes
+     *
+     * @param idGame PK del juego
+     * @param month mes a consultar
+     * @return {@link List} de días libres ordenados
+     */
+    List<LocalDate> findFreeDays(Long idGame, YearMonth month) throws IllegalDateRangeException;
+
+    /**
+     * Recupera la memoria ocupada por el índice de ocupación
+     *
+     * @return {@link OccupancyFootprintDto}
+     */
+    OccupancyFootprintDto getOccupancyFootprint();
+
 }
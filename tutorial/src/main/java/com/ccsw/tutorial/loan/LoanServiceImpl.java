@@ -3,31 +3,60 @@ package com.ccsw.tutorial.loan;
 import com.ccsw.tutorial.client.ClientService;
 import com.ccsw.tutorial.client.model.Client;
 import com.ccsw.tutorial.common.criteria.SearchCriteria;
-import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.common.jfr.SpecificationQueryEvent;
+import com.ccsw.tutorial.common.pagination.CountedPage;
+import com.ccsw.tutorial.common.pagination.PageCountCache;
+import com.ccsw.tutorial.common.transaction.TransactionHooks;
 import com.ccsw.tutorial.game.GameService;
+import com.ccsw.tutorial.game.GameTitlePrefixIndex;
 import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameRow;
+import com.ccsw.tutorial.loan.exceptions.IllegalCursorException;
 import com.ccsw.tutorial.loan.exceptions.IllegalDateRangeException;
 import com.ccsw.tutorial.loan.exceptions.IllegalReservationException;
 import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanBulkFailureDto;
+import com.ccsw.tutorial.loan.model.LoanBulkResultDto;
+import com.ccsw.tutorial.loan.model.LoanDay;
 import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanHistory;
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import com.ccsw.tutorial.loan.model.LoanRow;
 import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import com.ccsw.tutorial.loan.model.OccupancyFootprintDto;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "ludoteca.service", description = "Tiempo de los métodos de servicio")
 @Transactional
 public class LoanServiceImpl implements LoanService {
 
+    private static final String DATABASE_CONFLICT_CHECK = "database";
+
+    private static final String OUTSIDE_WINDOW_MESSAGE = "Las fechas quedan fuera del período admitido para préstamos";
+
     @Autowired
     LoanRepository loanRepository;
 
@@ -37,22 +66,108 @@ public class LoanServiceImpl implements LoanService {
     @Autowired
     ClientService clientService;
 
+    @Autowired
+    LoanDayRepository loanDayRepository;
+
+    @Autowired
+    LoanIntervalIndex loanIntervalIndex;
+
+    @Autowired
+    LoanOccupancyIndex loanOccupancyIndex;
+
+    @Autowired
+    PageCountCache pageCountCache;
+
+    @Autowired
+    LoanHistoryRepository loanHistoryRepository;
+
+    @Autowired
+    GameTitlePrefixIndex gameTitlePrefixIndex;
+
+    @Autowired
+    LoanMetrics loanMetrics;
+
+    @Value("${ludoteca.loan.archive.enabled:false}")
+    boolean archiveEnabled;
+
+    @Value("${ludoteca.loan.archive.horizon-days:365}")
+    int archiveHorizonDays = 365;
+
+    @Value("${ludoteca.loan.conflict-check:index}")
+    String conflictCheck = "index";
+
     @Override
     public Loan get(Long id) {
         return this.loanRepository.findById(id).orElse(null);
     }
 
     @Override
-    public Page<Loan> findPage(LoanSearchDto dto) {
+    public CountedPage<LoanRow> findPage(LoanSearchDto dto) {
+        if (dto.isIncludeArchive()) {
+            return findPage(loanHistoryRepository, LoanHistory.class, dto);
+        }
+
+        return findPage(loanRepository, Loan.class, dto);
+    }
+
+    private <T, R extends JpaSpecificationExecutor<T> & LoanRowRepository> CountedPage<LoanRow> findPage(R repository, Class<T> entity, LoanSearchDto dto) {
         Pageable pageable = PageRequest.of(dto.getPageable().getPageNumber(), dto.getPageable().getPageSize());
+        List<SearchCriteria> criteria = toCriteria(dto);
+        Specification<T> spec = toSpecification(criteria);
+        // Solo las columnas del DTO, con juego y cliente en la misma consulta; pide pageSize + 1 filas para saber si hay siguiente
+        SpecificationQueryEvent event = SpecificationQueryEvent.start();
+        Slice<LoanRow> slice = repository.findRows(entity, spec, pageable);
+        event.finish(entity, "rows", criteria, 0, slice.getNumberOfElements());
+
+        switch (dto.getPageable().getCountMode()) {
+        case NONE:
+            return CountedPage.withoutCount(slice);
+        case ESTIMATED:
+            List<Object> filter = Arrays.asList(dto.getIdGame(), dto.getIdClient(), dto.getDate());
+            return CountedPage.estimated(slice, this.pageCountCache.count(entity, filter, () -> count(repository, entity, spec, criteria)));
+        default:
+            // Sin count si la página ya indica el total: primera página incompleta o última página
+            return CountedPage.exact(PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> count(repository, entity, spec, criteria)));
+        }
+    }
+
+    private static <T> long count(JpaSpecificationExecutor<T> repository, Class<T> entity, Specification<T> spec, List<SearchCriteria> criteria) {
+        SpecificationQueryEvent event = SpecificationQueryEvent.start();
+        long total = repository.count(spec);
+        event.finish(entity, "count", criteria, 0, total);
+        return total;
+    }
+
+    @Override
+    public Window<Loan> findWindow(LoanSearchDto dto) {
+        if (dto.isIncludeArchive()) {
+            throw new IllegalCursorException("La búsqueda por cursor no incluye los préstamos archivados");
+        }
+
+        KeysetScrollPosition position = LoanCursor.decode(dto.getCursor());
+
+        // Seek sobre (start_date, id): sin offset ni count, la consulta pide pageSize + 1 filas para saber si hay más
+        List<SearchCriteria> criteria = toCriteria(dto);
+        Specification<Loan> spec = LoanServiceImpl.<Loan> toSpecification(criteria).and(LoanSpecification.fetchGameAndClient());
+
+        SpecificationQueryEvent event = SpecificationQueryEvent.start();
+        Window<Loan> window = loanRepository.findBy(spec, query -> query.sortBy(LoanCursor.ORDER).limit(dto.getPageable().getPageSize()).scroll(position));
+        event.finish(Loan.class, "scroll", criteria, 0, window.size());
 
-        LoanSpecification gameSpec = new LoanSpecification(new SearchCriteria("game.id", ":", dto.getIdGame()));
-        LoanSpecification clientSpec = new LoanSpecification(new SearchCriteria("client.id", ":", dto.getIdClient()));
-        LoanSpecification dateSpec = new LoanSpecification(new SearchCriteria("date", "date", dto.getDate()));
+        return window;
+    }
+
+    private static List<SearchCriteria> toCriteria(LoanSearchDto dto) {
+        return List.of(new SearchCriteria("game.id", ":", dto.getIdGame()), new SearchCriteria("client.id", ":", dto.getIdClient()), new SearchCriteria("date", "date", dto.getDate()));
+    }
 
-        Specification<Loan> spec = Specification.where(gameSpec).and(clientSpec).and(dateSpec);
+    private static <T> Specification<T> toSpecification(List<SearchCriteria> criteria) {
+        Specification<T> spec = Specification.where(new LoanSpecification<>(criteria.get(0)));
+        for (int i = 1; i < criteria.size(); i++) {
+            spec = spec.and(new LoanSpecification<>(criteria.get(i)));
+        }
 
-        return loanRepository.findAll(spec, pageable);
+        return spec;
     }
 
     @Override
@@ -61,45 +176,239 @@ public class LoanServiceImpl implements LoanService {
     }
 
     @Override
+    @Transactional(rollbackOn = IllegalReservationException.class)
     public void save(LoanDto dto) throws IllegalDateRangeException, IllegalReservationException {
-        Loan loan = new Loan();
-        if (dto.getEndDate().isBefore(dto.getStartDate())) {
-            throw new IllegalDateRangeException("La fecha de devolución no puede ser anterior a la fecha de inicio");
-        } else if (ChronoUnit.DAYS.between(dto.getStartDate(), dto.getEndDate()) > 14) {
-            throw new IllegalDateRangeException("El período de préstamo no puede ser mayor a catorce días");
+        LoanSaveEvent event = LoanSaveEvent.start();
+        int validationQueries = 0;
+        String outcome = LoanSaveEvent.FAILED;
+        Exception reason = null;
+
+        try {
+            // La validación se mide también cuando rechaza el préstamo
+            long start = System.nanoTime();
+            try {
+                validateDates(dto);
+
+                validationQueries++;
+                if (this.loanRepository.lockGames(List.of(dto.getGame().getId())).isEmpty()) {
+                    throw this.rejected(new IllegalReservationException("El juego no existe"));
+                }
+
+                validationQueries += this.queriesPerRule();
+                if (this.isGameBooked(dto.getGame().getId(), dto.getStartDate(), dto.getEndDate())) {
+                    throw this.rejected(new IllegalReservationException("El juego ya está reservado para este día"));
+                }
+
+                validationQueries += this.queriesPerRule();
+                if (this.maxClientLoans(dto.getClient().getId(), dto.getStartDate(), dto.getEndDate()) >= 2) {
+                    throw this.rejected(new IllegalReservationException("El cliente ya tiene dos juegos reservados para ese día"));
+                }
+            } finally {
+                this.loanMetrics.recordValidation(System.nanoTime() - start);
+            }
+
+            long validated = System.nanoTime();
+
+            // El préstamo se envía antes que sus días para que un fallo de loan_day solo pueda ser un día ya reservado
+            Loan saved;
+            try {
+                saved = this.loanRepository.saveAndFlush(toLoan(dto));
+            } catch (DataIntegrityViolationException e) {
+                // El juego existe y está bloqueado: la única otra restricción de loan es la FK del cliente
+                if (constraintKind(e) != ConstraintKind.OTHER) {
+                    throw e;
+                }
+                throw this.rejected(new IllegalReservationException("El cliente no existe"));
+            }
+
+            try {
+                this.loanDayRepository.saveAllAndFlush(LoanDay.of(saved));
+            } catch (DataIntegrityViolationException e) {
+                if (constraintKind(e) != ConstraintKind.UNIQUE) {
+                    throw e;
+                }
+                // Otra petición ha reservado alguno de estos días entre la comprobación y el insert
+                throw this.rejected(new IllegalReservationException("El juego ya está reservado para este día"));
+            }
+
+            this.loanMetrics.recordInsert(System.nanoTime() - validated);
+
+            this.indexAfterCommit(List.of(LoanInterval.of(saved)));
+            outcome = LoanSaveEvent.SAVED;
+        } catch (IllegalDateRangeException | IllegalReservationException e) {
+            outcome = LoanSaveEvent.REJECTED;
+            reason = e;
+            throw e;
+        } catch (RuntimeException e) {
+            reason = e;
+            throw e;
+        } finally {
+            event.finish(dto, this.conflictCheck, validationQueries, outcome, reason);
         }
+    }
 
-        BeanUtils.copyProperties(dto, loan, "id", "game", "client");
+    @Override
+    @Transactional(rollbackOn = IllegalReservationException.class)
+    public LoanBulkResultDto saveAll(List<LoanDto> dtos) throws IllegalReservationException {
+        LoanBulkResultDto result = new LoanBulkResultDto();
+
+        Map<Integer, LoanDto> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            LoanDto dto = dtos.get(i);
+            if (dto.getGame() == null || dto.getGame().getId() == null || dto.getClient() == null || dto.getClient().getId() == null || dto.getStartDate() == null || dto.getEndDate() == null) {
+                result.getFailures().add(new LoanBulkFailureDto(i, "Faltan el juego, el cliente o las fechas del préstamo"));
+                continue;
+            }
+            try {
+                validateDates(dto);
+                candidates.put(i, dto);
+            } catch (IllegalDateRangeException e) {
+                result.getFailures().add(new LoanBulkFailureDto(i, e.getMessage()));
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> gameIds = candidates.values().stream().map(dto -> dto.getGame().getId()).collect(Collectors.toSet());
+        Set<Long> clientIds = candidates.values().stream().map(dto -> dto.getClient().getId()).collect(Collectors.toSet());
+        LocalDate from = candidates.values().stream().map(LoanDto::getStartDate).min(LocalDate::compareTo).get();
+        LocalDate to = candidates.values().stream().map(LoanDto::getEndDate).max(LocalDate::compareTo).get();
 
-        LoanSearchDto gameSearchDto = new LoanSearchDto();
-        gameSearchDto.setIdGame(dto.getGame().getId());
-        Page<Loan> existingLoans = null;
+        // Con los juegos bloqueados ninguna otra alta puede reservar sus días hasta el commit: los conflictos se detectan
+        // aquí y se informan por posición en lugar de fallar el lote entero al insertar loan_day
+        Set<Long> existingGames = new HashSet<>(this.loanRepository.lockGames(gameIds));
+        Set<Long> existingClients = new HashSet<>(this.loanRepository.findExistingClientIds(clientIds));
 
-        PageableRequest pageable = new PageableRequest();
-        pageable.setPageNumber(0);
-        pageable.setPageSize(10);
-        gameSearchDto.setPageable(pageable);
+        // Índice temporal con los préstamos que pueden chocar con la carga y los que se van aceptando de la propia carga
+        LoanIntervalIndex batchIndex = new LoanIntervalIndex();
+        batchIndex.rebuild(this.loanRepository.findIntervals(gameIds, clientIds, from, to));
 
-        for (LocalDate date = dto.getStartDate(); !date.isAfter(dto.getEndDate()); date = date.plusDays(1L)) {
-            gameSearchDto.setDate(date);
-            existingLoans = this.findPage(gameSearchDto);
+        List<Loan> loans = new ArrayList<>();
+        long pendingId = 0;
+        for (Map.Entry<Integer, LoanDto> entry : candidates.entrySet()) {
+            LoanDto dto = entry.getValue();
+            Long gameId = dto.getGame().getId();
+            Long clientId = dto.getClient().getId();
 
-            if (!existingLoans.isEmpty()) {
-                throw new IllegalReservationException("El juego ya está reservado para este día");
+            String failure = null;
+            if (!existingGames.contains(gameId)) {
+                failure = "El juego no existe";
+            } else if (!existingClients.contains(clientId)) {
+                failure = "El cliente no existe";
+            } else if (batchIndex.isGameBooked(gameId, dto.getStartDate(), dto.getEndDate())) {
+                failure = "El juego ya está reservado para este día";
+            } else if (batchIndex.maxClientLoans(clientId, dto.getStartDate(), dto.getEndDate()) >= 2) {
+                failure = "El cliente ya tiene dos juegos reservados para ese día";
             }
+
+            if (failure != null) {
+                result.getFailures().add(new LoanBulkFailureDto(entry.getKey(), failure));
+                continue;
+            }
+
+            // PK negativa provisional, no coincide con ningún préstamo existente
+            batchIndex.add(new LoanInterval(--pendingId, gameId, clientId, dto.getStartDate(), dto.getEndDate()));
+            loans.add(toLoan(dto));
         }
 
-        LoanSearchDto clientSearchDto = new LoanSearchDto();
-        clientSearchDto.setIdClient(dto.getClient().getId());
-        clientSearchDto.setPageable(pageable);
+        result.getFailures().sort(Comparator.comparingInt(LoanBulkFailureDto::getIndex));
 
-        for (LocalDate date = dto.getStartDate(); !date.isAfter(dto.getEndDate()); date = date.plusDays(1L)) {
-            clientSearchDto.setDate(date);
-            existingLoans = this.findPage(clientSearchDto);
-            if (existingLoans.getTotalElements() >= 2) {
-                throw new IllegalReservationException("El cliente ya tiene dos juegos reservados para ese día");
+        if (loans.isEmpty()) {
+            return result;
+        }
+
+        // Con PKs de secuencia los inserts de loan y de loan_day se envían en lotes de hibernate.jdbc.batch_size
+        List<LoanInterval> intervals = new ArrayList<>(loans.size());
+        List<LoanDay> days = new ArrayList<>();
+        for (Loan saved : this.loanRepository.saveAll(loans)) {
+            result.getSavedIds().add(saved.getId());
+            intervals.add(LoanInterval.of(saved));
+            days.addAll(LoanDay.of(saved));
+        }
+
+        try {
+            this.loanDayRepository.saveAllAndFlush(days);
+        } catch (DataIntegrityViolationException e) {
+            if (constraintKind(e) != ConstraintKind.UNIQUE) {
+                throw e;
             }
+            // Solo si algo da de alta préstamos sin pasar por lockGames
+            throw this.rejected(new IllegalReservationException("El juego ya está reservado para este día"));
+        }
+
+        this.indexAfterCommit(intervals);
+
+        return result;
+    }
+
+    @Override
+    public List<GameRow> findAvailableGames(LocalDate startDate, LocalDate endDate, String title, Long idCategory) throws IllegalDateRangeException {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalDateRangeException("La fecha de devolución no puede ser anterior a la fecha de inicio");
+        } else if (this.isOutsideWindow(startDate, endDate)) {
+            throw new IllegalDateRangeException(OUTSIDE_WINDOW_MESSAGE);
+        }
+
+        List<GameRow> games = this.gameService.find(title, idCategory);
+
+        if (DATABASE_CONFLICT_CHECK.equalsIgnoreCase(this.conflictCheck)) {
+            Set<Long> booked = new HashSet<>(this.loanRepository.findBookedGameIds(startDate, endDate));
+            return games.stream().filter(game -> !booked.contains(game.id())).collect(Collectors.toList());
+        }
+
+        return games.stream().filter(game -> this.loanOccupancyIndex.isFree(game.id(), startDate, endDate)).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<LocalDate> findFreeDays(Long idGame, YearMonth month) throws IllegalDateRangeException {
+        if (this.isOutsideWindow(month.atDay(1), month.atEndOfMonth())) {
+            throw new IllegalDateRangeException(OUTSIDE_WINDOW_MESSAGE);
+        }
+
+        return this.loanOccupancyIndex.freeDays(idGame, month);
+    }
+
+    @Override
+    public OccupancyFootprintDto getOccupancyFootprint() {
+        return this.loanOccupancyIndex.footprint();
+    }
+
+    private void validateDates(LoanDto dto) throws IllegalDateRangeException {
+        if (dto.getEndDate().isBefore(dto.getStartDate())) {
+            throw this.rejected(new IllegalDateRangeException("La fecha de devolución no puede ser anterior a la fecha de inicio"));
+        } else if (ChronoUnit.DAYS.between(dto.getStartDate(), dto.getEndDate()) > 14) {
+            throw this.rejected(new IllegalDateRangeException("El período de préstamo no puede ser mayor a catorce días"));
+        } else if (this.archiveEnabled && dto.getEndDate().isBefore(LocalDate.now().minusDays(this.archiveHorizonDays))) {
+            // Las reglas de reserva solo miran los préstamos vigentes, no los archivados
+            throw this.rejected(new IllegalDateRangeException("El préstamo es anterior al horizonte del histórico archivado"));
+        } else if (this.isOutsideWindow(dto.getStartDate(), dto.getEndDate())) {
+            throw this.rejected(new IllegalDateRangeException(OUTSIDE_WINDOW_MESSAGE));
         }
+    }
+
+    /**
+     * La ventana la define {@link LoanOccupancyIndex}: fuera de ella el índice no guarda los días ocupados
+     */
+    private boolean isOutsideWindow(LocalDate startDate, LocalDate endDate) {
+        return startDate.isBefore(this.loanOccupancyIndex.firstSupportedDay()) || endDate.isAfter(this.loanOccupancyIndex.lastSupportedDay());
+    }
+
+    private static ConstraintKind constraintKind(DataIntegrityViolationException e) {
+        // loan no tiene más restricción única que su PK de secuencia: una violación única al enviar los días es siempre la
+        // PK (game_id, reserved_day) de loan_day
+        return e.getCause() instanceof ConstraintViolationException violation ? violation.getKind() : null;
+    }
+
+    private <E extends Exception> E rejected(E e) {
+        this.loanMetrics.rejected(e);
+        return e;
+    }
+
+    private static Loan toLoan(LoanDto dto) {
+        Loan loan = new Loan();
+        BeanUtils.copyProperties(dto, loan, "id", "game", "client");
 
         Client client = new Client();
         client.setId(dto.getClient().getId());
@@ -107,15 +416,63 @@ public class LoanServiceImpl implements LoanService {
         Game game = new Game();
         game.setId(dto.getGame().getId());
         loan.setGame(game);
-        this.loanRepository.save(loan);
+
+        return loan;
+    }
+
+    private void indexAfterCommit(List<LoanInterval> intervals) {
+        this.evictCountsAfterCommit();
+        TransactionHooks.afterCommit(() -> intervals.forEach(interval -> {
+            this.loanIntervalIndex.add(interval);
+            this.loanOccupancyIndex.add(interval);
+            this.gameTitlePrefixIndex.addLoans(interval.gameId(), 1);
+        }));
+    }
+
+    /**
+     * La vista de {@link LoanHistory} incluye los préstamos vigentes, así que sus totales también cambian
+     */
+    private void evictCountsAfterCommit() {
+        this.pageCountCache.evictAfterCommit(Loan.class);
+        this.pageCountCache.evictAfterCommit(LoanHistory.class);
+    }
+
+    private int queriesPerRule() {
+        // Cada regla de reserva es una consulta con la comprobación en base de datos y ninguna con el índice en memoria
+        return DATABASE_CONFLICT_CHECK.equalsIgnoreCase(this.conflictCheck) ? 1 : 0;
+    }
+
+    private boolean isGameBooked(Long gameId, LocalDate startDate, LocalDate endDate) {
+        if (DATABASE_CONFLICT_CHECK.equalsIgnoreCase(this.conflictCheck)) {
+            return this.loanRepository.existsByGameIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(gameId, endDate, startDate);
+        }
+
+        return this.loanIntervalIndex.isGameBooked(gameId, startDate, endDate);
+    }
+
+    private int maxClientLoans(Long clientId, LocalDate startDate, LocalDate endDate) {
+        if (DATABASE_CONFLICT_CHECK.equalsIgnoreCase(this.conflictCheck)) {
+            return this.loanRepository.maxConcurrentClientLoans(clientId, startDate, endDate);
+        }
+
+        return this.loanIntervalIndex.maxClientLoans(clientId, startDate, endDate);
     }
 
     @Override
     public void delete(Long id) throws Exception {
-        if (this.get(id) == null) {
+        Loan loan = this.get(id);
+        if (loan == null) {
             throw new Exception("Not exists");
         }
 
+        LoanInterval interval = LoanInterval.of(loan);
+        this.loanDayRepository.deleteByLoanId(id);
         this.loanRepository.deleteById(id);
+        this.evictCountsAfterCommit();
+        TransactionHooks.afterCommit(() -> {
+            this.loanIntervalIndex.remove(id);
+            this.loanOccupancyIndex.remove(interval);
+            this.gameTitlePrefixIndex.addLoans(interval.gameId(), -1);
+        });
     }
 }
@@ -7,7 +7,11 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 
-public class LoanSpecification implements Specification<Loan> {
+/**
+ * Filtros de la búsqueda de préstamos. Es genérica para aplicarse tanto a {@link Loan} como a
+ * {@link com.ccsw.tutorial.loan.model.LoanHistory}, que comparten los nombres de atributos.
+ */
+public class LoanSpecification<T> implements Specification<T> {
     private static final long serialVersionUID = 1L;
 
     private final SearchCriteria criteria;
@@ -17,7 +21,7 @@ public class LoanSpecification implements Specification<Loan> {
     }
 
     @Override
-    public Predicate toPredicate(Root<Loan> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
         if (criteria.getOperation().equalsIgnoreCase(":") && criteria.getValue() != null) {
             Path<String> path = getPath(root);
             if (path.getJavaType() == String.class) {
@@ -36,7 +40,24 @@ public class LoanSpecification implements Specification<Loan> {
         return null;
     }
 
-    private Path<String> getPath(Root<Loan> root) {
+    /**
+     * Carga en la misma consulta el juego con su autor y categoría y el cliente, que es lo que se devuelve en
+     * {@link com.ccsw.tutorial.loan.model.LoanDto}. Las consultas fluent (slice, page, scroll) no aplican el entity graph
+     * del repositorio, así que el plan de carga va en la propia especificación.
+     */
+    public static <T> Specification<T> fetchGameAndClient() {
+        return (root, query, builder) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                Fetch<T, ?> game = root.fetch("game");
+                game.fetch("author");
+                game.fetch("category");
+                root.fetch("client");
+            }
+            return null;
+        };
+    }
+
+    private Path<String> getPath(Root<T> root) {
         String key = criteria.getKey();
         String[] split = key.split("[.]", 0);
 
@@ -0,0 +1,11 @@
+package com.ccsw.tutorial.loan.exceptions;
+
+public class IllegalCursorException extends IllegalArgumentException {
+    public IllegalCursorException(String message) {
+        super(message);
+    }
+
+    public IllegalCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ccsw.tutorial.loan.model;
+
+/**
+ * Préstamo rechazado en una carga masiva
+ */
+public class LoanBulkFailureDto {
+    private int index;
+    private String message;
+
+    public LoanBulkFailureDto() {
+    }
+
+    public LoanBulkFailureDto(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    /**
+     * @return posición del préstamo en la lista recibida
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
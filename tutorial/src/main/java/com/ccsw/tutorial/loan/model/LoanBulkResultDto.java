@@ -0,0 +1,28 @@
+package com.ccsw.tutorial.loan.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una carga masiva de préstamos: PKs de los préstamos creados y motivo de rechazo de los demás
+ */
+public class LoanBulkResultDto {
+    private List<Long> savedIds = new ArrayList<>();
+    private List<LoanBulkFailureDto> failures = new ArrayList<>();
+
+    public List<Long> getSavedIds() {
+        return savedIds;
+    }
+
+    public void setSavedIds(List<Long> savedIds) {
+        this.savedIds = savedIds;
+    }
+
+    public List<LoanBulkFailureDto> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<LoanBulkFailureDto> failures) {
+        this.failures = failures;
+    }
+}
@@ -0,0 +1,71 @@
+package com.ccsw.tutorial.loan.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Día reservado de un juego. Cada {@link Loan} ocupa una fila por día y la PK (game_id, reserved_day) hace que una doble
+ * reserva falle en el propio insert.
+ */
+@Entity
+@Table(name = "loan_day")
+public class LoanDay implements Persistable<LoanDayId> {
+
+    @EmbeddedId
+    private LoanDayId id;
+
+    @Column(name = "loan_id", nullable = false)
+    private Long loanId;
+
+    @Transient
+    private boolean isNew = true;
+
+    public LoanDay() {
+    }
+
+    public LoanDay(Long gameId, LocalDate reservedDay, Long loanId) {
+        this.id = new LoanDayId(gameId, reservedDay);
+        this.loanId = loanId;
+    }
+
+    /**
+     * Genera los días reservados por un préstamo, de la fecha de inicio a la de devolución ambas incluidas
+     *
+     * @param loan préstamo persistido
+     * @return {@link List} de {@link LoanDay}
+     */
+    public static List<LoanDay> of(Loan loan) {
+        List<LoanDay> days = new ArrayList<>();
+        for (LocalDate date = loan.getStartDate(); !date.isAfter(loan.getEndDate()); date = date.plusDays(1L)) {
+            days.add(new LoanDay(loan.getGame().getId(), date, loan.getId()));
+        }
+        return days;
+    }
+
+    @Override
+    public LoanDayId getId() {
+        return id;
+    }
+
+    public Long getLoanId() {
+        return loanId;
+    }
+
+    /**
+     * Las filas se crean siempre junto a su préstamo y nunca se modifican: se insertan sin consultar antes si existen
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ccsw.tutorial.loan.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * PK de {@link LoanDay}: un juego solo puede estar reservado una vez por día
+ */
+@Embeddable
+public class LoanDayId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+
+    @Column(name = "reserved_day", nullable = false)
+    private LocalDate reservedDay;
+
+    public LoanDayId() {
+    }
+
+    public LoanDayId(Long gameId, LocalDate reservedDay) {
+        this.gameId = gameId;
+        this.reservedDay = reservedDay;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public LocalDate getReservedDay() {
+        return reservedDay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LoanDayId other)) {
+            return false;
+        }
+        return Objects.equals(gameId, other.gameId) && Objects.equals(reservedDay, other.reservedDay);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(gameId, reservedDay);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ccsw.tutorial.loan.model;
+
+import com.ccsw.tutorial.client.model.Client;
+import com.ccsw.tutorial.game.model.Game;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDate;
+
+/**
+ * Préstamos vigentes y archivados, de solo lectura sobre la vista loan_history. Solo se usa en las búsquedas que piden
+ * incluir el archivo; el resto de lecturas y las reglas de reserva trabajan únicamente con {@link Loan}. Las tablas de
+ * la vista se declaran con {@link Synchronize} para que Hibernate relacione sus cambios con esta entidad.
+ */
+@Entity
+@Immutable
+@Synchronize({ "loan", "loan_archive" })
+@Table(name = "loan_history")
+public class LoanHistory {
+    @Id
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id", nullable = false)
+    private Game game;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "archived", nullable = false)
+    private boolean archived;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ccsw.tutorial.loan.model;
+
+import java.time.LocalDate;
+
+/**
+ * Vista mínima de un {@link Loan} con lo necesario para detectar solapamientos
+ *
+ * @param id PK del préstamo
+ * @param gameId PK del juego
+ * @param clientId PK del cliente
+ * @param startDate fecha de inicio (inclusive)
+ * @param endDate fecha de devolución (inclusive)
+ */
+public record LoanInterval(Long id, Long gameId, Long clientId, LocalDate startDate, LocalDate endDate) {
+
+    public static LoanInterval of(Loan loan) {
+
+        return new LoanInterval(loan.getId(), loan.getGame().getId(), loan.getClient().getId(), loan.getStartDate(), loan.getEndDate());
+    }
+
+    public boolean overlaps(LocalDate start, LocalDate end) {
+
+        return !this.startDate.isAfter(end) && !this.endDate.isBefore(start);
+    }
+
+}
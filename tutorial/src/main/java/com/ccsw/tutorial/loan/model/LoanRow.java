@@ -0,0 +1,39 @@
+package com.ccsw.tutorial.loan.model;
+
+import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.game.model.GameRow;
+
+import java.time.LocalDate;
+
+/**
+ * Columnas de un préstamo, vigente o archivado, con su juego y cliente, tal como las devuelve la consulta paginada
+ *
+ * @param id PK del préstamo
+ * @param gameId PK del juego
+ * @param gameTitle título del juego
+ * @param gameAge edad recomendada del juego
+ * @param categoryId PK de la categoría del juego
+ * @param categoryName nombre de la categoría del juego
+ * @param authorId PK del autor del juego
+ * @param authorName nombre del autor del juego
+ * @param authorNationality nacionalidad del autor del juego
+ * @param clientId PK del cliente
+ * @param clientName nombre del cliente
+ * @param startDate fecha de inicio
+ * @param endDate fecha de devolución
+ */
+public record LoanRow(Long id, Long gameId, String gameTitle, String gameAge, Long categoryId, String categoryName, Long authorId, String authorName, String authorNationality, Long clientId,
+        String clientName, LocalDate startDate, LocalDate endDate) {
+
+    public LoanDto toDto() {
+
+        LoanDto dto = new LoanDto();
+        dto.setId(this.id);
+        dto.setGame(new GameRow(this.gameId, this.gameTitle, this.gameAge, this.categoryId, this.categoryName, this.authorId, this.authorName, this.authorNationality).toDto());
+        dto.setClient(new ClientDto(this.clientId, this.clientName));
+        dto.setStartDate(this.startDate);
+        dto.setEndDate(this.endDate);
+        return dto;
+    }
+
+}
@@ -9,6 +9,8 @@ public class LoanSearchDto {
     private Long idGame;
     private Long idClient;
     private LocalDate date;
+    private String cursor;
+    private boolean includeArchive;
 
     public PageableRequest getPageable() {
         return pageable;
@@ -41,4 +43,26 @@ public class LoanSearchDto {
     public void setDate(LocalDate date) {
         this.date = date;
     }
+
+    /**
+     * @return cursor opaco devuelto por la página anterior; vacío para la primera página
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return true para buscar también en los préstamos archivados
+     */
+    public boolean isIncludeArchive() {
+        return includeArchive;
+    }
+
+    public void setIncludeArchive(boolean includeArchive) {
+        this.includeArchive = includeArchive;
+    }
 }
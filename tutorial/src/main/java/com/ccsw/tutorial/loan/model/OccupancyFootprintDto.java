@@ -0,0 +1,70 @@
+package com.ccsw.tutorial.loan.model;
+
+/**
+ * Informe de memoria del índice de ocupación por juego
+ */
+public class OccupancyFootprintDto {
+
+    private final int games;
+
+    private final long words;
+
+    private final long bitmapBytes;
+
+    private final long estimatedHeapBytes;
+
+    private final long spanDays;
+
+    private final long bytesPerGameYear;
+
+    public OccupancyFootprintDto(int games, long words, long bitmapBytes, long estimatedHeapBytes, long spanDays, long bytesPerGameYear) {
+        this.games = games;
+        this.words = words;
+        this.bitmapBytes = bitmapBytes;
+        this.estimatedHeapBytes = estimatedHeapBytes;
+        this.spanDays = spanDays;
+        this.bytesPerGameYear = bytesPerGameYear;
+    }
+
+    /**
+     * @return juegos con algún día ocupado
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * @return palabras de 64 días reservadas en total
+     */
+    public long getWords() {
+        return words;
+    }
+
+    /**
+     * @return bytes de los mapas de bits
+     */
+    public long getBitmapBytes() {
+        return bitmapBytes;
+    }
+
+    /**
+     * @return bytes estimados en heap incluyendo cabeceras y entradas del mapa por juego
+     */
+    public long getEstimatedHeapBytes() {
+        return estimatedHeapBytes;
+    }
+
+    /**
+     * @return días entre el primer y el último día cubiertos por algún mapa
+     */
+    public long getSpanDays() {
+        return spanDays;
+    }
+
+    /**
+     * @return bytes estimados por juego y año de histórico, para proyectar el heap
+     */
+    public long getBytesPerGameYear() {
+        return bytesPerGameYear;
+    }
+}
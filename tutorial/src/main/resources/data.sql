@@ -1,30 +1,30 @@
-INSERT INTO category(name) VALUES ('Eurogames');
-INSERT INTO category(name) VALUES ('Ameritrash');
-INSERT INTO category(name) VALUES ('Familiar');
+INSERT INTO category(id, name) VALUES (1, 'Eurogames');
+INSERT INTO category(id, name) VALUES (2, 'Ameritrash');
+INSERT INTO category(id, name) VALUES (3, 'Familiar');
 
-INSERT INTO author(name, nationality) VALUES ('Alan R. Moon', 'US');
-INSERT INTO author(name, nationality) VALUES ('Vital Lacerda', 'PT');
-INSERT INTO author(name, nationality) VALUES ('Simone Luciani', 'IT');
-INSERT INTO author(name, nationality) VALUES ('Perepau Llistosella', 'ES');
-INSERT INTO author(name, nationality) VALUES ('Michael Kiesling', 'DE');
-INSERT INTO author(name, nationality) VALUES ('Phil Walker-Harding', 'US');
+INSERT INTO author(id, name, nationality) VALUES (1, 'Alan R. Moon', 'US');
+INSERT INTO author(id, name, nationality) VALUES (2, 'Vital Lacerda', 'PT');
+INSERT INTO author(id, name, nationality) VALUES (3, 'Simone Luciani', 'IT');
+INSERT INTO author(id, name, nationality) VALUES (4, 'Perepau Llistosella', 'ES');
+INSERT INTO author(id, name, nationality) VALUES (5, 'Michael Kiesling', 'DE');
+INSERT INTO author(id, name, nationality) VALUES (6, 'Phil Walker-Harding', 'US');
 
-INSERT INTO game(title, age, category_id, author_id) VALUES ('On Mars', '14', 1, 2);
-INSERT INTO game(title, age, category_id, author_id) VALUES ('Aventureros al tren', '8', 3, 1);
-INSERT INTO game(title, age, category_id, author_id) VALUES ('1920: Wall Street', '12', 1, 4);
-INSERT INTO game(title, age, category_id, author_id) VALUES ('Barrage', '14', 1, 3);
-INSERT INTO game(title, age, category_id, author_id) VALUES ('Los viajes de Marco Polo', '12', 1, 3);
-INSERT INTO game(title, age, category_id, author_id) VALUES ('Azul', '8', 3, 5);
+INSERT INTO game(id, title, age, category_id, author_id) VALUES (1, 'On Mars', '14', 1, 2);
+INSERT INTO game(id, title, age, category_id, author_id) VALUES (2, 'Aventureros al tren', '8', 3, 1);
+INSERT INTO game(id, title, age, category_id, author_id) VALUES (3, '1920: Wall Street', '12', 1, 4);
+INSERT INTO game(id, title, age, category_id, author_id) VALUES (4, 'Barrage', '14', 1, 3);
+INSERT INTO game(id, title, age, category_id, author_id) VALUES (5, 'Los viajes de Marco Polo', '12', 1, 3);
+INSERT INTO game(id, title, age, category_id, author_id) VALUES (6, 'Azul', '8', 3, 5);
 
 
-INSERT INTO client(name) VALUES ('Pedro');
-INSERT INTO client(name) VALUES ('María');
-INSERT INTO client(name) VALUES ('Juan');
+INSERT INTO client(id, name) VALUES (1, 'Pedro');
+INSERT INTO client(id, name) VALUES (2, 'María');
+INSERT INTO client(id, name) VALUES (3, 'Juan');
 
 
-INSERT INTO loan(game_id, client_id, start_date, end_date) VALUES (1, 3, '2025-10-14', '2025-10-23');
-INSERT INTO loan(game_id, client_id, start_date, end_date) VALUES (3, 3, '2025-10-23', '2025-10-29');
-INSERT INTO loan(game_id, client_id, start_date, end_date) VALUES (1, 1, '2025-07-13', '2025-07-23');
-INSERT INTO loan(game_id, client_id, start_date, end_date) VALUES (2, 1, '2025-08-01', '2025-08-10');
-INSERT INTO loan(game_id, client_id, start_date, end_date) VALUES (4, 1, '2025-09-05', '2025-09-15');
-INSERT INTO loan(game_id, client_id, start_date, end_date) VALUES (5, 3, '2025-07-20', '2025-07-25');
+INSERT INTO loan(id, game_id, client_id, start_date, end_date) VALUES (1, 1, 3, '2025-10-14', '2025-10-23');
+INSERT INTO loan(id, game_id, client_id, start_date, end_date) VALUES (2, 3, 3, '2025-10-23', '2025-10-29');
+INSERT INTO loan(id, game_id, client_id, start_date, end_date) VALUES (3, 1, 1, '2025-07-13', '2025-07-23');
+INSERT INTO loan(id, game_id, client_id, start_date, end_date) VALUES (4, 2, 1, '2025-08-01', '2025-08-10');
+INSERT INTO loan(id, game_id, client_id, start_date, end_date) VALUES (5, 4, 1, '2025-09-05', '2025-09-15');
+INSERT INTO loan(id, game_id, client_id, start_date, end_date) VALUES (6, 5, 3, '2025-07-20', '2025-07-25');
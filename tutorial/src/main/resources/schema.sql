@@ -0,0 +1,82 @@
+-- Secuencias con saltos de 50: Hibernate reserva un bloque de ids por llamada (pooled-lo) y puede agrupar los inserts.
+-- Los inserts fuera de Hibernate toman un valor completo de la secuencia y no chocan con los bloques ya reservados.
+CREATE SEQUENCE category_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE game_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE client_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE loan_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE category (
+    id BIGINT DEFAULT NEXT VALUE FOR category_seq PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE author (
+    id BIGINT DEFAULT NEXT VALUE FOR author_seq PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    nationality VARCHAR(255)
+);
+
+CREATE TABLE game (
+    id BIGINT DEFAULT NEXT VALUE FOR game_seq PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    age VARCHAR(255) NOT NULL,
+    category_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    CONSTRAINT fk_game_category FOREIGN KEY (category_id) REFERENCES category (id),
+    CONSTRAINT fk_game_author FOREIGN KEY (author_id) REFERENCES author (id)
+);
+
+CREATE TABLE client (
+    id BIGINT DEFAULT NEXT VALUE FOR client_seq PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_client_name UNIQUE (name)
+);
+
+CREATE TABLE loan (
+    id BIGINT DEFAULT NEXT VALUE FOR loan_seq PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    client_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    CONSTRAINT fk_loan_game FOREIGN KEY (game_id) REFERENCES game (id),
+    CONSTRAINT fk_loan_client FOREIGN KEY (client_id) REFERENCES client (id)
+);
+
+-- Reglas de reserva: solapamiento por juego y préstamos simultáneos por cliente
+CREATE INDEX idx_loan_game_dates ON loan (game_id, start_date, end_date);
+CREATE INDEX idx_loan_client_dates ON loan (client_id, start_date, end_date);
+-- Orden de la búsqueda por cursor: seek sobre (start_date, id) sin ordenar toda la tabla
+CREATE INDEX idx_loan_start_id ON loan (start_date, id);
+
+-- Histórico frío: préstamos devueltos antes del horizonte de archivo, con la misma PK que tenían en loan
+CREATE TABLE loan_archive (
+    id BIGINT PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    client_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    CONSTRAINT fk_loan_archive_game FOREIGN KEY (game_id) REFERENCES game (id),
+    CONSTRAINT fk_loan_archive_client FOREIGN KEY (client_id) REFERENCES client (id)
+);
+
+CREATE INDEX idx_loan_archive_game_dates ON loan_archive (game_id, start_date, end_date);
+CREATE INDEX idx_loan_archive_client_dates ON loan_archive (client_id, start_date, end_date);
+-- Selección de los lotes a archivar
+CREATE INDEX idx_loan_end_date ON loan (end_date);
+
+CREATE VIEW loan_history AS
+    SELECT id, game_id, client_id, start_date, end_date, FALSE AS archived FROM loan
+    UNION ALL
+    SELECT id, game_id, client_id, start_date, end_date, TRUE AS archived FROM loan_archive;
+
+-- Un día por préstamo: la PK impide reservar dos veces el mismo juego el mismo día
+CREATE TABLE loan_day (
+    game_id BIGINT NOT NULL,
+    reserved_day DATE NOT NULL,
+    loan_id BIGINT NOT NULL,
+    CONSTRAINT pk_loan_day PRIMARY KEY (game_id, reserved_day),
+    CONSTRAINT fk_loan_day_loan FOREIGN KEY (loan_id) REFERENCES loan (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_loan_day_loan ON loan_day (loan_id);
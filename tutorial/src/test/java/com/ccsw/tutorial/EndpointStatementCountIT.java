@@ -0,0 +1,304 @@
+package com.ccsw.tutorial;
+
+import com.ccsw.tutorial.author.model.AuthorDto;
+import com.ccsw.tutorial.author.model.AuthorSearchDto;
+import com.ccsw.tutorial.category.model.CategoryDto;
+import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.common.pagination.CountMode;
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.game.GameCatalogCache;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.ccsw.tutorial.loan.LoanFixtures.loanDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Número de sentencias SQL que lanza cada endpoint con las cachés vacías. Un cambio en los planes de carga (asociaciones
+ * lazy, entity graphs, batch fetching) que vuelva a introducir un N+1 rompe estos tests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "ludoteca.cache.statistics=true")
+public class EndpointStatementCountIT {
+
+    public static final String LOCALHOST = "http://localhost:";
+
+    private static final LocalDate NEW_START_DATE = LocalDate.parse("2024-07-20");
+    private static final LocalDate NEW_END_DATE = LocalDate.parse("2024-07-25");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        cacheManager.getCache(GameCatalogCache.NAME).clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void findAllCategories() {
+        assertStatements(1, HttpMethod.GET, "/category", null);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void createCategory() {
+        assertStatements(2, HttpMethod.PUT, "/category", categoryDto("Abstracto"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void modifyCategory() {
+        assertStatements(2, HttpMethod.PUT, "/category/3", categoryDto("Abstracto"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void deleteCategory() {
+        request(HttpMethod.PUT, "/category", categoryDto("Abstracto"));
+        statistics.clear();
+
+        assertStatements(1, HttpMethod.DELETE, "/category/4", null);
+    }
+
+    @Test
+    public void findAuthorPage() {
+        AuthorSearchDto searchDto = new AuthorSearchDto();
+        searchDto.setPageable(new PageableRequest(0, 5));
+
+        assertStatements(2, HttpMethod.POST, "/author", searchDto);
+    }
+
+    @Test
+    public void findAllAuthors() {
+        assertStatements(1, HttpMethod.GET, "/author", null);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void createAuthor() {
+        assertStatements(2, HttpMethod.PUT, "/author", authorDto("Uwe Rosenberg"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void modifyAuthor() {
+        assertStatements(2, HttpMethod.PUT, "/author/1", authorDto("Uwe Rosenberg"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void deleteAuthor() {
+        request(HttpMethod.PUT, "/author", authorDto("Uwe Rosenberg"));
+        statistics.clear();
+
+        assertStatements(1, HttpMethod.DELETE, "/author/7", null);
+    }
+
+    @Test
+    public void findAllClients() {
+        assertStatements(1, HttpMethod.GET, "/client", null);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void createClient() {
+        assertStatements(3, HttpMethod.PUT, "/client", clientDto("Lucía"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void modifyClient() {
+        assertStatements(3, HttpMethod.PUT, "/client/2", clientDto("Lucía"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void deleteClient() {
+        request(HttpMethod.PUT, "/client", clientDto("Lucía"));
+        statistics.clear();
+
+        assertStatements(2, HttpMethod.DELETE, "/client/4", null);
+    }
+
+    @Test
+    public void findAllGames() {
+        assertStatements(1, HttpMethod.GET, "/game", null);
+    }
+
+    @Test
+    public void findGamesByTitleAndCategory() {
+        assertStatements(1, HttpMethod.GET, "/game?title=mar&idCategory=1", null);
+    }
+
+    @Test
+    public void autocompleteGames() {
+        assertStatements(0, HttpMethod.GET, "/game/autocomplete?prefix=a", null);
+    }
+
+    @Test
+    public void gameCacheStats() {
+        assertStatements(0, HttpMethod.GET, "/game/cache/stats", null);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void createGame() {
+        assertStatements(4, HttpMethod.PUT, "/game", gameDto("Agricola"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void modifyGame() {
+        assertStatements(4, HttpMethod.PUT, "/game/1", gameDto("Agricola"));
+    }
+
+    @Test
+    public void findLoanPage() {
+        assertStatements(2, HttpMethod.POST, "/loan", loanSearchDto(CountMode.EXACT, false));
+    }
+
+    @Test
+    public void findLoanPageWithoutCount() {
+        assertStatements(1, HttpMethod.POST, "/loan", loanSearchDto(CountMode.NONE, false));
+    }
+
+    @Test
+    public void findLoanPageIncludingArchive() {
+        assertStatements(2, HttpMethod.POST, "/loan", loanSearchDto(CountMode.EXACT, true));
+    }
+
+    @Test
+    public void findLoansByCursor() {
+        assertStatements(1, HttpMethod.POST, "/loan/cursor", loanSearchDto(CountMode.EXACT, false));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void createLoan() {
+        assertStatements(4, HttpMethod.PUT, "/loan", loanDto(6L, 2L, NEW_START_DATE, NEW_END_DATE));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void createLoansInBulk() {
+        List<LoanDto> dtos = List.of(loanDto(6L, 2L, NEW_START_DATE, NEW_END_DATE), //
+                loanDto(2L, 2L, NEW_START_DATE, NEW_END_DATE));
+
+        assertStatements(6, HttpMethod.PUT, "/loan/bulk", dtos);
+    }
+
+    @Test
+    public void findAvailableGames() {
+        assertStatements(1, HttpMethod.GET, "/loan/available?startDate=2025-10-20&endDate=2025-10-25", null);
+    }
+
+    @Test
+    public void findFreeDays() {
+        assertStatements(0, HttpMethod.GET, "/loan/free-days?idGame=1&month=2025-10", null);
+    }
+
+    @Test
+    public void occupancyFootprint() {
+        assertStatements(0, HttpMethod.GET, "/loan/occupancy/footprint", null);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void deleteLoan() {
+        assertStatements(3, HttpMethod.DELETE, "/loan/2", null);
+    }
+
+    @Test
+    public void cacheRegions() {
+        assertStatements(0, HttpMethod.GET, "/cache/regions", null);
+    }
+
+    private void assertStatements(long expected, HttpMethod method, String path, Object body) {
+        request(method, path, body);
+
+        assertEquals(expected, statistics.getPrepareStatementCount(), method + " " + path);
+    }
+
+    private void request(HttpMethod method, String path, Object body) {
+        ResponseEntity<String> response = restTemplate.exchange(LOCALHOST + port + path, method, body == null ? null : new HttpEntity<>(body), String.class);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful(), method + " " + path + " -> " + response.getStatusCode());
+    }
+
+    private static CategoryDto categoryDto(String name) {
+        CategoryDto dto = new CategoryDto();
+        dto.setName(name);
+        return dto;
+    }
+
+    private static AuthorDto authorDto(String name) {
+        AuthorDto dto = new AuthorDto();
+        dto.setName(name);
+        dto.setNationality("DE");
+        return dto;
+    }
+
+    private static ClientDto clientDto(String name) {
+        ClientDto dto = new ClientDto();
+        dto.setName(name);
+        return dto;
+    }
+
+    private static GameDto gameDto(String title) {
+        CategoryDto category = new CategoryDto();
+        category.setId(1L);
+        AuthorDto author = new AuthorDto();
+        author.setId(2L);
+
+        GameDto dto = new GameDto();
+        dto.setTitle(title);
+        dto.setAge("12");
+        dto.setCategory(category);
+        dto.setAuthor(author);
+        return dto;
+    }
+
+    private static LoanSearchDto loanSearchDto(CountMode countMode, boolean includeArchive) {
+        PageableRequest pageable = new PageableRequest(0, 5);
+        pageable.setCountMode(countMode);
+
+        LoanSearchDto dto = new LoanSearchDto();
+        dto.setPageable(pageable);
+        dto.setIncludeArchive(includeArchive);
+        return dto;
+    }
+
+}
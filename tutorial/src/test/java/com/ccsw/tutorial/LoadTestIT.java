@@ -0,0 +1,297 @@
+package com.ccsw.tutorial;
+
+import com.ccsw.tutorial.author.model.AuthorSearchDto;
+import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.common.datagen.DataGeneratorRunner;
+import com.ccsw.tutorial.common.datagen.GeneratedData;
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga HTTP: arranca la aplicación con el perfil datagen y envía peticiones a una tasa fija con una mezcla
+ * de navegación del catálogo, búsquedas paginadas y reservas sobre los juegos populares que ha generado datagen.
+ * Escribe latencias p50/p95/p99, throughput y errores por endpoint en un JSON.
+ *
+ * Es un generador de bucle abierto: cada petición tiene su instante de envío previsto, se envía sin esperar a las
+ * anteriores y su latencia se mide desde ese instante. Con usuarios que esperan la respuesta antes de enviar la
+ * siguiente, una respuesta lenta retrasa las peticiones que venían detrás y esa espera no aparece en ninguna latencia
+ * (omisión coordinada). Si el propio generador se retrasa, el informe lo indica en maxScheduleLagMillis.
+ *
+ * Las reservas rechazadas por las reglas de negocio responden 500, igual que en {@link com.ccsw.tutorial.loan.LoanIT},
+ * así que en PUT /loan los errores incluyen los choques esperados; el desglose por código está en el informe.
+ *
+ * mvn test -Dtest=LoadTestIT -Dbenchmark=true [-Dloadtest.rate=200] [-Dloadtest.seconds=30] [-Dloadtest.warmup=5]
+ * [-Dloadtest.report=target/loadtest-report.json]
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = { "ludoteca.datagen.authors=1000", "ludoteca.datagen.games=2000",
+        "ludoteca.datagen.clients=5000", "ludoteca.datagen.loans=20000" })
+@ActiveProfiles("datagen")
+@DirtiesContext
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class LoadTestIT {
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 5);
+    private static final String REPORT = System.getProperty("loadtest.report", "target/loadtest-report.json");
+
+    private static final int HOT_GAMES = 10;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String[] TITLE_WORDS = { "reinos", "dragones", "piratas", "islas", "oro", "norte", "mar", "torres" };
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataGeneratorRunner dataGeneratorRunner;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+
+    private List<Long> hotGames;
+
+    private long firstClientId;
+
+    private int clients;
+
+    @BeforeEach
+    public void setUp() {
+        GeneratedData data = dataGeneratorRunner.getGeneratedData();
+        // Los juegos populares están repartidos al azar entre los generados; basta con los primeros para que choquen
+        hotGames = data.popularGameIds().subList(0, Math.min(HOT_GAMES, data.popularGameIds().size()));
+        firstClientId = data.firstClientId();
+        clients = data.clients();
+    }
+
+    @Test
+    public void runTrafficMix() throws Exception {
+        run(Duration.ofSeconds(WARMUP_SECONDS));
+        Run run = run(Duration.ofSeconds(SECONDS));
+
+        Map<String, EndpointReport> endpoints = new TreeMap<>();
+        run.recorders().forEach((endpoint, recorder) -> endpoints.put(endpoint, recorder.report(SECONDS)));
+        Report report = new Report(Instant.now(), RATE, SECONDS, WARMUP_SECONDS, run.maxScheduleLagNanos() / 1e6, hotGames, endpoints);
+
+        File file = new File(REPORT);
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+
+        endpoints.forEach((endpoint, r) -> System.out.printf("%-12s %8d req %8.1f req/s  p50 %7.2f  p95 %7.2f  p99 %7.2f ms  errors %5.1f%% %s%n", endpoint, r.requests(),
+                r.throughput(), r.p50Millis(), r.p95Millis(), r.p99Millis(), r.errorRate() * 100, r.statuses()));
+        System.out.printf("target %d req/s, max schedule lag %.2f ms%n", RATE, report.maxScheduleLagMillis());
+        System.out.println("report: " + file.getAbsolutePath());
+
+        // Las lecturas no tienen errores esperados; en ningún endpoint debe fallar la conexión
+        for (Map.Entry<String, EndpointReport> entry : endpoints.entrySet()) {
+            assertEquals(0, entry.getValue().ioErrors(), entry.getKey());
+            if (!entry.getKey().startsWith("PUT")) {
+                assertEquals(0, entry.getValue().errors(), entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Envía RATE peticiones por segundo durante el tiempo indicado, cada una en su instante previsto, y espera a que
+     * terminen todas
+     */
+    private Run run(Duration duration) throws Exception {
+        long intervalNanos = 1_000_000_000L / RATE;
+        long requests = duration.toSeconds() * RATE;
+        Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long maxLag = 0;
+
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            maxLag = Math.max(maxLag, -wait);
+
+            pending.add(send(recorders, random, intended));
+        }
+
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(TIMEOUT.toSeconds() + duration.toSeconds(), TimeUnit.SECONDS);
+        return new Run(recorders, maxLag);
+    }
+
+    private CompletableFuture<?> send(Map<String, Recorder> recorders, ThreadLocalRandom random, long intended) throws JsonProcessingException {
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            return exchange(recorders, "GET /game", HttpRequest.newBuilder(uri("/game" + gameQuery(random))).GET(), intended);
+        } else if (roll < 65) {
+            return exchange(recorders, "POST /loan", post("/loan", loanSearch(random)), intended);
+        } else if (roll < 80) {
+            return exchange(recorders, "POST /author", post("/author", authorSearch(random)), intended);
+        }
+        return exchange(recorders, "PUT /loan", HttpRequest.newBuilder(uri("/loan")).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(reservation(random)))), intended);
+    }
+
+    /**
+     * La latencia se cuenta desde el envío previsto, no desde el real: incluye el tiempo que la petición habría esperado
+     * en la cola si el generador o el cliente HTTP se han retrasado
+     */
+    private CompletableFuture<?> exchange(Map<String, Recorder> recorders, String endpoint, HttpRequest.Builder request, long intended) {
+        Recorder recorder = recorders.computeIfAbsent(endpoint, k -> new Recorder());
+
+        return httpClient.sendAsync(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.discarding()).handle((response, e) -> {
+            if (e != null) {
+                recorder.ioError();
+            } else {
+                recorder.record(response.statusCode(), System.nanoTime() - intended);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Catálogo completo, por título o por título y categoría
+     */
+    private static String gameQuery(ThreadLocalRandom random) {
+        int kind = random.nextInt(4);
+        if (kind == 0) {
+            return "";
+        }
+
+        String query = "?title=" + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+        return kind == 3 ? query + "&idCategory=" + (1 + random.nextInt(3)) : query;
+    }
+
+    private LoanSearchDto loanSearch(ThreadLocalRandom random) {
+        LoanSearchDto dto = new LoanSearchDto();
+        dto.setPageable(new PageableRequest(random.nextInt(20), 20));
+        if (random.nextBoolean()) {
+            dto.setIdGame(hotGame(random));
+        }
+        return dto;
+    }
+
+    private static AuthorSearchDto authorSearch(ThreadLocalRandom random) {
+        AuthorSearchDto dto = new AuthorSearchDto();
+        dto.setPageable(new PageableRequest(random.nextInt(50), 20));
+        return dto;
+    }
+
+    /**
+     * Reserva de uno de los juegos populares en las próximas semanas, así que varias peticiones compiten por los mismos
+     * días
+     */
+    private LoanDto reservation(ThreadLocalRandom random) {
+        GameDto game = new GameDto();
+        game.setId(hotGame(random));
+        ClientDto client = new ClientDto(firstClientId + random.nextInt(clients), null);
+        LocalDate startDate = LocalDate.now().plusDays(random.nextInt(60));
+
+        LoanDto dto = new LoanDto();
+        dto.setGame(game);
+        dto.setClient(client);
+        dto.setStartDate(startDate);
+        dto.setEndDate(startDate.plusDays(random.nextInt(7)));
+        return dto;
+    }
+
+    private long hotGame(ThreadLocalRandom random) {
+        return hotGames.get(random.nextInt(hotGames.size()));
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws JsonProcessingException {
+        return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Latencias y códigos de respuesta de un endpoint. Registran los hilos del cliente HTTP al completar cada respuesta
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long ioErrors;
+
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        synchronized void record(int status, long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            statuses.merge(status, 1L, Long::sum);
+        }
+
+        synchronized void ioError() {
+            ioErrors++;
+        }
+
+        synchronized EndpointReport report(int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+
+            long errors = statuses.entrySet().stream().filter(e -> e.getKey() >= 400).mapToLong(Map.Entry::getValue).sum() + ioErrors;
+            long requests = count + ioErrors;
+
+            return new EndpointReport(requests, (double) count / seconds, errors, requests == 0 ? 0 : (double) errors / requests, ioErrors, statuses, percentile(sorted, 0.50),
+                    percentile(sorted, 0.95), percentile(sorted, 0.99), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+    public record EndpointReport(long requests, double throughput, long errors, double errorRate, long ioErrors, Map<Integer, Long> statuses, double p50Millis, double p95Millis,
+            double p99Millis, double maxMillis) {
+    }
+
+    public record Report(Instant finishedAt, int ratePerSecond, int seconds, int warmupSeconds, double maxScheduleLagMillis, List<Long> hotGames,
+            Map<String, EndpointReport> endpoints) {
+    }
+
+    private record Run(Map<String, Recorder> recorders, long maxScheduleLagNanos) {
+    }
+
+}
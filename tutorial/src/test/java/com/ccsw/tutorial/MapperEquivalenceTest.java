@@ -0,0 +1,144 @@
+package com.ccsw.tutorial;
+
+import com.ccsw.tutorial.author.AuthorMapper;
+import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.author.model.AuthorDto;
+import com.ccsw.tutorial.category.CategoryMapper;
+import com.ccsw.tutorial.category.model.Category;
+import com.ccsw.tutorial.category.model.CategoryDto;
+import com.ccsw.tutorial.client.ClientMapper;
+import com.ccsw.tutorial.client.model.Client;
+import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.game.GameMapper;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.LoanMapper;
+import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Los mappers escritos a mano deben producir el mismo JSON que el {@link ModelMapper} por defecto al que sustituyen
+ */
+public class MapperEquivalenceTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final CategoryMapper categoryMapper = new CategoryMapper();
+
+    private final AuthorMapper authorMapper = new AuthorMapper();
+
+    private final ClientMapper clientMapper = new ClientMapper();
+
+    private final GameMapper gameMapper = new GameMapper(categoryMapper, authorMapper);
+
+    private final LoanMapper loanMapper = new LoanMapper(gameMapper, clientMapper);
+
+    @Test
+    public void categoryMappingShouldMatchModelMapper() {
+        assertEquivalent(modelMapper.map(category(3L, "Familiar"), CategoryDto.class), categoryMapper.toDto(category(3L, "Familiar")));
+        assertEquivalent(modelMapper.map(category(null, null), CategoryDto.class), categoryMapper.toDto(category(null, null)));
+    }
+
+    @Test
+    public void authorMappingShouldMatchModelMapper() {
+        assertEquivalent(modelMapper.map(author(5L, "Michael Kiesling", "DE"), AuthorDto.class), authorMapper.toDto(author(5L, "Michael Kiesling", "DE")));
+        assertEquivalent(modelMapper.map(author(5L, "Michael Kiesling", null), AuthorDto.class), authorMapper.toDto(author(5L, "Michael Kiesling", null)));
+    }
+
+    @Test
+    public void clientMappingShouldMatchModelMapper() {
+        assertEquivalent(modelMapper.map(client(2L, "María"), ClientDto.class), clientMapper.toDto(client(2L, "María")));
+        assertEquivalent(modelMapper.map(client(2L, null), ClientDto.class), clientMapper.toDto(client(2L, null)));
+    }
+
+    @Test
+    public void gameMappingShouldMatchModelMapper() {
+        Game game = game(6L, "Azul", category(3L, "Familiar"), author(5L, "Michael Kiesling", "DE"));
+
+        assertEquivalent(modelMapper.map(game, GameDto.class), gameMapper.toDto(game));
+    }
+
+    @Test
+    public void gameWithoutAssociationsShouldMatchModelMapper() {
+        Game game = game(6L, "Azul", null, null);
+
+        assertEquivalent(modelMapper.map(game, GameDto.class), gameMapper.toDto(game));
+    }
+
+    @Test
+    public void loanMappingShouldMatchModelMapper() {
+        Loan loan = loan(7L, game(6L, "Azul", category(3L, "Familiar"), author(5L, "Michael Kiesling", "DE")), client(2L, "María"));
+
+        assertEquivalent(modelMapper.map(loan, LoanDto.class), loanMapper.toDto(loan));
+    }
+
+    @Test
+    public void loanWithoutAssociationsShouldMatchModelMapper() {
+        Loan loan = loan(7L, null, null);
+
+        assertEquivalent(modelMapper.map(loan, LoanDto.class), loanMapper.toDto(loan));
+    }
+
+    @Test
+    public void nullSourceShouldReturnNull() {
+        assertNull(loanMapper.toDto(null));
+        assertNull(gameMapper.toDto(null));
+    }
+
+    private void assertEquivalent(Object expected, Object actual) {
+        assertEquals(objectMapper.valueToTree(expected), objectMapper.valueToTree(actual));
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    private static Author author(Long id, String name, String nationality) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName(name);
+        author.setNationality(nationality);
+        return author;
+    }
+
+    private static Client client(Long id, String name) {
+        Client client = new Client();
+        client.setId(id);
+        client.setName(name);
+        return client;
+    }
+
+    private static Game game(Long id, String title, Category category, Author author) {
+        Game game = new Game();
+        game.setId(id);
+        game.setTitle(title);
+        game.setAge("8");
+        game.setCategory(category);
+        game.setAuthor(author);
+        return game;
+    }
+
+    private static Loan loan(Long id, Game game, Client client) {
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setGame(game);
+        loan.setClient(client);
+        loan.setStartDate(LocalDate.parse("2025-10-20"));
+        loan.setEndDate(LocalDate.parse("2025-10-25"));
+        return loan;
+    }
+
+}
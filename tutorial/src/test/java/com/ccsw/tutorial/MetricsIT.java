@@ -0,0 +1,66 @@
+package com.ccsw.tutorial;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+
+import static com.ccsw.tutorial.loan.LoanFixtures.loanDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Métricas publicadas en /actuator/prometheus: histogramas por endpoint, tiempos por método de servicio, fases del
+ * guardado de préstamos, rechazos por tipo de excepción, el pool de conexiones y las cachés, incluidas las regiones de
+ * Hibernate. En los tests Spring Boot desactiva la exportación de métricas salvo que se pida con
+ * {@link AutoConfigureObservability}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@DirtiesContext
+public class MetricsIT {
+
+    public static final String LOCALHOST = "http://localhost:";
+
+    private static final LocalDate NEW_START_DATE = LocalDate.parse("2024-07-20");
+    private static final LocalDate NEW_END_DATE = LocalDate.parse("2024-07-25");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void prometheusShouldExposeEndpointServiceAndLoanMetrics() {
+        restTemplate.getForEntity(LOCALHOST + port + "/game", String.class);
+        restTemplate.exchange(LOCALHOST + port + "/loan", HttpMethod.PUT, new HttpEntity<>(loanDto(6L, 2L, NEW_START_DATE, NEW_END_DATE)), Void.class);
+        restTemplate.exchange(LOCALHOST + port + "/loan", HttpMethod.PUT, new HttpEntity<>(loanDto(6L, 3L, NEW_END_DATE, NEW_START_DATE)), Void.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(LOCALHOST + port + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        String body = response.getBody();
+        assertTrue(body.contains("http_server_requests_seconds_bucket{"), "http.server.requests histogram");
+        assertTrue(body.contains("uri=\"/game\""), "GET /game");
+        assertTrue(body.matches("(?s).*ludoteca_service_seconds_count\\{[^}]*class=\"com.ccsw.tutorial.loan.LoanServiceImpl\"[^}]*method=\"save\".*"), "LoanServiceImpl.save");
+        assertTrue(body.contains("ludoteca_loan_save_seconds_bucket{"), "ludoteca.loan.save histogram");
+        assertTrue(body.contains("phase=\"validation\""), "validation phase");
+        assertTrue(body.contains("phase=\"insert\""), "insert phase");
+        assertTrue(body.matches("(?s).*ludoteca_loan_rejections_total\\{[^}]*exception=\"IllegalDateRangeException\"[^}]*} 1\\.0.*"), "rejection");
+        assertTrue(body.contains("hikaricp_connections_active{"), "hikari pool");
+        assertTrue(body.matches("(?s).*cache_gets_total\\{[^}]*cache=\"games\".*"), "games cache");
+        assertTrue(body.matches("(?s).*cache_gets_total\\{[^}]*cache=\"game\"[^}]*cache_manager=\"hibernateCacheManager\".*"), "game region");
+        assertTrue(body.matches("(?s).*cache_puts_total\\{[^}]*cache=\"category\".*"), "category region");
+    }
+
+}
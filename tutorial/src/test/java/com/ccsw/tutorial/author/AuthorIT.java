@@ -2,13 +2,17 @@ package com.ccsw.tutorial.author;
 
 import com.ccsw.tutorial.author.model.AuthorDto;
 import com.ccsw.tutorial.author.model.AuthorSearchDto;
+import com.ccsw.tutorial.common.pagination.CountMode;
 import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.common.sql.SqlBudget;
+import com.ccsw.tutorial.common.sql.SqlStatementRecorder;
 import com.ccsw.tutorial.config.ResponsePage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -18,10 +22,10 @@ import org.springframework.test.annotation.DirtiesContext;
 
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(SqlStatementRecorder.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 public class AuthorIT {
 
@@ -46,6 +50,7 @@ public class AuthorIT {
     };
 
     @Test
+    @SqlBudget(select = 2)
     public void findFirstPageWithFiveSizeShouldReturnFirstFiveResults() {
 
         AuthorSearchDto searchDto = new AuthorSearchDto();
@@ -74,6 +79,52 @@ public class AuthorIT {
     }
 
     @Test
+    @SqlBudget(select = 2)
+    public void findPageWithoutCountShouldReturnOnlyWhetherThereIsNextPage() {
+
+        AuthorSearchDto searchDto = new AuthorSearchDto();
+        PageableRequest pageable = new PageableRequest(0, PAGE_SIZE);
+        pageable.setCountMode(CountMode.NONE);
+        searchDto.setPageable(pageable);
+
+        ResponseEntity<ResponsePage<AuthorDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+
+        assertEquals(CountMode.NONE, response.getBody().getCountMode());
+        assertEquals(PAGE_SIZE, response.getBody().getContent().size());
+        assertTrue(response.getBody().hasNext());
+
+        pageable.setPageNumber(1);
+        response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+
+        assertEquals(TOTAL_AUTHORS - PAGE_SIZE, response.getBody().getContent().size());
+        assertFalse(response.getBody().hasNext());
+    }
+
+    @Test
+    public void findPageWithEstimatedCountShouldRefreshAfterSave() {
+
+        AuthorSearchDto searchDto = new AuthorSearchDto();
+        PageableRequest pageable = new PageableRequest(0, PAGE_SIZE);
+        pageable.setCountMode(CountMode.ESTIMATED);
+        searchDto.setPageable(pageable);
+
+        ResponseEntity<ResponsePage<AuthorDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+
+        assertEquals(CountMode.ESTIMATED, response.getBody().getCountMode());
+        assertEquals(TOTAL_AUTHORS, response.getBody().getTotalElements());
+
+        AuthorDto dto = new AuthorDto();
+        dto.setName(NEW_AUTHOR_NAME);
+        dto.setNationality(NEW_NATIONALITY);
+        restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.PUT, new HttpEntity<>(dto), Void.class);
+
+        response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+
+        assertEquals(TOTAL_AUTHORS + 1, response.getBody().getTotalElements());
+    }
+
+    @Test
+    @SqlBudget(select = 3, insert = 1)
     public void saveWithoutIdShouldCreateNewAuthor() {
 
         long newAuthorId = TOTAL_AUTHORS + 1;
@@ -99,6 +150,7 @@ public class AuthorIT {
     }
 
     @Test
+    @SqlBudget(select = 3, update = 1)
     public void modifyWithExistIdShouldModifyAuthor() {
 
         AuthorDto dto = new AuthorDto();
@@ -135,6 +187,7 @@ public class AuthorIT {
     }
 
     @Test
+    @SqlBudget(select = 2, delete = 1)
     public void deleteWithExistsIdShouldDeleteCategory() {
 
         long newAuthorsSize = TOTAL_AUTHORS - 1;
@@ -164,6 +217,7 @@ public class AuthorIT {
     };
 
     @Test
+    @SqlBudget(select = 1)
     public void findAllShouldReturnAllAuthor() {
 
         ResponseEntity<List<AuthorDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.GET, null, responseTypeList);
@@ -1,17 +1,30 @@
 package com.ccsw.tutorial.author;
 
 import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.author.model.AuthorDto;
+import com.ccsw.tutorial.author.model.AuthorSearchDto;
+import com.ccsw.tutorial.common.pagination.CountMode;
+import com.ccsw.tutorial.common.pagination.CountedPage;
+import com.ccsw.tutorial.common.pagination.PageCountCache;
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.game.GameCatalogCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class AuthorTest {
@@ -22,6 +35,12 @@ public class AuthorTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private PageCountCache pageCountCache;
+
+    @Mock
+    private GameCatalogCache gameCatalogCache;
+
     @InjectMocks
     private AuthorServiceImpl authorService;
 
@@ -49,4 +68,56 @@ public class AuthorTest {
         assertNull(author);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void findPageWithoutCountShouldNotCount() {
+
+        Pageable pageable = PageRequest.of(0, 5);
+        AuthorSearchDto dto = searchDto(CountMode.NONE);
+        when(authorRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(Collections.nCopies(5, mock(Author.class)), pageable, true));
+
+        CountedPage<Author> page = authorService.findPage(dto);
+
+        assertEquals(CountMode.NONE, page.getCountMode());
+        assertTrue(page.hasNext());
+        verify(authorRepository, never()).findAll(any(Pageable.class));
+        verify(authorRepository, never()).count();
+    }
+
+    @Test
+    public void findPageWithEstimatedCountShouldUseCachedCount() {
+
+        Pageable pageable = PageRequest.of(0, 5);
+        AuthorSearchDto dto = searchDto(CountMode.ESTIMATED);
+        when(authorRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(mock(Author.class)), pageable, true));
+        when(pageCountCache.count(eq(Author.class), any(), any())).thenReturn(40L);
+
+        CountedPage<Author> page = authorService.findPage(dto);
+
+        assertEquals(CountMode.ESTIMATED, page.getCountMode());
+        assertEquals(40L, page.getTotalElements());
+    }
+
+    @Test
+    public void saveExistsAuthorIdShouldEvictGameCatalog() {
+
+        AuthorDto dto = new AuthorDto();
+        dto.setName("Nuevo autor");
+        when(authorRepository.findById(EXISTS_AUTHOR_ID)).thenReturn(Optional.of(new Author()));
+
+        authorService.save(EXISTS_AUTHOR_ID, dto);
+
+        verify(authorRepository).save(any(Author.class));
+        verify(gameCatalogCache).evictAuthorAfterCommit(EXISTS_AUTHOR_ID);
+    }
+
+    private AuthorSearchDto searchDto(CountMode countMode) {
+
+        PageableRequest pageable = new PageableRequest(0, 5);
+        pageable.setCountMode(countMode);
+
+        AuthorSearchDto dto = new AuthorSearchDto();
+        dto.setPageable(pageable);
+        return dto;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.ccsw.tutorial.category;
 
 import com.ccsw.tutorial.category.model.Category;
 import com.ccsw.tutorial.category.model.CategoryDto;
+import com.ccsw.tutorial.game.GameCatalogCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -22,6 +23,9 @@ public class CategoryTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private GameCatalogCache gameCatalogCache;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -54,6 +58,7 @@ public class CategoryTest {
         verify(categoryRepository).save(category.capture());
 
         assertEquals(CATEGORY_NAME, category.getValue().getName());
+        verifyNoInteractions(gameCatalogCache);
     }
 
     public static final Long EXISTS_CATEGORY_ID = 1L;
@@ -70,6 +75,7 @@ public class CategoryTest {
         categoryService.save(EXISTS_CATEGORY_ID, categoryDto);
 
         verify(categoryRepository).save(category);
+        verify(gameCatalogCache).evictCategoryAfterCommit(EXISTS_CATEGORY_ID);
     }
 
     @Test
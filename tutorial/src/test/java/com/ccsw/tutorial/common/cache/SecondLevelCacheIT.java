@@ -0,0 +1,136 @@
+package com.ccsw.tutorial.common.cache;
+
+import com.ccsw.tutorial.author.AuthorService;
+import com.ccsw.tutorial.category.CategoryService;
+import com.ccsw.tutorial.category.model.CategoryDto;
+import com.ccsw.tutorial.game.GameService;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.loan.LoanService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "ludoteca.cache.statistics=true")
+public class SecondLevelCacheIT {
+
+    private static final Long EXISTS_ID = 1L;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private SecondLevelCacheStatistics secondLevelCacheStatistics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void repeatedCategoryFindAllShouldHitQueryCache() {
+        categoryService.findAll();
+
+        assertEquals(0, statementsFor(() -> categoryService.findAll()));
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    public void repeatedAuthorGetShouldHitEntityCache() {
+        authorService.get(EXISTS_ID);
+
+        assertEquals(0, statementsFor(() -> authorService.get(EXISTS_ID)));
+    }
+
+    @Test
+    public void repeatedGameGetShouldLoadAuthorAndCategoryFromCache() {
+        loadGame();
+
+        assertEquals(0, statementsFor(this::loadGame));
+    }
+
+    @Test
+    public void loanLoadShouldTakeGamesFromCache() {
+        // En frío: préstamos y un lote por asociación LAZY (juegos, autores y categorías)
+        assertEquals(4, statementsFor(this::loadLoanGames));
+
+        // En caliente solo se consulta la tabla de préstamos
+        assertEquals(1, statementsFor(this::loadLoanGames));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void categorySaveShouldInvalidateCachedFindAll() {
+        categoryService.findAll();
+
+        CategoryDto dto = new CategoryDto();
+        dto.setName("Renombrada");
+        categoryService.save(EXISTS_ID, dto);
+
+        assertTrue(categoryService.findAll().stream().anyMatch(category -> category.getName().equals("Renombrada")));
+    }
+
+    @Test
+    public void regionStatisticsShouldReportHits() {
+        authorService.get(EXISTS_ID);
+        authorService.get(EXISTS_ID);
+
+        List<CacheRegionStatsDto> regions = secondLevelCacheStatistics.regions();
+        CacheRegionStatsDto author = regions.stream().filter(region -> region.getRegion().equals("author")).findFirst().orElseThrow();
+
+        assertEquals(List.of("author", "category", "default-query-results-region", "game"), regions.stream().map(CacheRegionStatsDto::getRegion).toList());
+        assertEquals(1, author.getHitCount());
+        assertEquals(1, author.getPutCount());
+    }
+
+    private void loadGame() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Game game = gameService.getGameById(EXISTS_ID);
+            assertNotNull(game.getAuthor().getName());
+            assertNotNull(game.getCategory().getName());
+        });
+    }
+
+    private void loadLoanGames() {
+        transactionTemplate.executeWithoutResult(status -> loanService.findAll().forEach(loan -> {
+            loan.getGame().getAuthor().getName();
+            loan.getGame().getCategory().getName();
+        }));
+    }
+
+    private long statementsFor(Runnable action) {
+        long before = statistics.getPrepareStatementCount();
+        action.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+}
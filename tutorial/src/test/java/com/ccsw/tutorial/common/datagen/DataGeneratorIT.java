@@ -0,0 +1,122 @@
+package com.ccsw.tutorial.common.datagen;
+
+import com.ccsw.tutorial.loan.LoanOccupancyIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = { "ludoteca.datagen.categories=4", "ludoteca.datagen.authors=20", "ludoteca.datagen.games=200", "ludoteca.datagen.clients=150",
+        "ludoteca.datagen.loans=5000", "ludoteca.datagen.from=2030-01-01", "ludoteca.datagen.batch-size=128" })
+@ActiveProfiles("datagen")
+@DirtiesContext
+public class DataGeneratorIT {
+
+    // Filas de data.sql
+    private static final long SEEDED_GAMES = 6;
+    private static final long SEEDED_CLIENTS = 3;
+    private static final long SEEDED_LOANS = 6;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private DataGeneratorProperties properties;
+
+    @Autowired
+    private LoanOccupancyIndex loanOccupancyIndex;
+
+    @Autowired
+    private DataGeneratorRunner dataGeneratorRunner;
+
+    @Test
+    public void datagenProfileShouldAppendConfiguredVolume() {
+        assertEquals(SEEDED_GAMES + 200, count("game"));
+        assertEquals(SEEDED_CLIENTS + 150, count("client"));
+        assertEquals(SEEDED_LOANS + 5000, count("loan"));
+    }
+
+    @Test
+    public void generatedLoansShouldNotOverlapPerGame() {
+        Long overlaps = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan a JOIN loan b ON a.game_id = b.game_id AND a.id < b.id " //
+                + "AND a.start_date <= b.end_date AND b.start_date <= a.end_date", Long.class);
+
+        assertEquals(0L, overlaps);
+    }
+
+    @Test
+    public void generatedLoansShouldHaveAtMostTwoLoansPerClientAndDay() {
+        Long busiestDay = jdbcTemplate.queryForObject("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM loan l JOIN loan_day d ON d.loan_id = l.id " //
+                + "GROUP BY l.client_id, d.reserved_day)", Long.class);
+
+        assertTrue(busiestDay <= 2, "max loans per client and day: " + busiestDay);
+    }
+
+    @Test
+    public void generatedLoansShouldLastAtMostFourteenDays() {
+        Long longest = jdbcTemplate.queryForObject("SELECT MAX(DATEDIFF(DAY, start_date, end_date)) + 1 FROM loan", Long.class);
+
+        assertTrue(longest <= 14, "longest loan: " + longest + " days");
+    }
+
+    @Test
+    public void generatedLoansShouldReserveTheirDays() {
+        Long missing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan l WHERE (SELECT COUNT(*) FROM loan_day d WHERE d.loan_id = l.id) " //
+                + "<> DATEDIFF(DAY, l.start_date, l.end_date) + 1", Long.class);
+
+        assertEquals(0L, missing);
+    }
+
+    @Test
+    public void generatedLoansShouldBeLoadedInMemoryIndexes() {
+        Map<String, Object> loan = jdbcTemplate.queryForMap("SELECT game_id, start_date, end_date FROM loan WHERE id = ?", SEEDED_LOANS + 1);
+        LocalDate start = ((Date) loan.get("START_DATE")).toLocalDate();
+        LocalDate end = ((Date) loan.get("END_DATE")).toLocalDate();
+
+        assertFalse(loanOccupancyIndex.isFree(((Number) loan.get("GAME_ID")).longValue(), start, end));
+    }
+
+    @Test
+    public void popularGamesShouldBeBorrowedMoreOften() {
+        List<Long> popular = dataGeneratorRunner.getGeneratedData().popularGameIds();
+        assertFalse(popular.isEmpty());
+
+        String ids = popular.stream().map(String::valueOf).collect(Collectors.joining(","));
+        double popularLoans = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan WHERE game_id IN (" + ids + ")", Long.class) / (double) popular.size();
+        double otherLoans = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan WHERE game_id > ? AND game_id NOT IN (" + ids + ")", Long.class, SEEDED_GAMES)
+                / (double) (200 - popular.size());
+
+        assertTrue(popularLoans > 1.5 * otherLoans, "loans per popular game " + popularLoans + ", per other game " + otherLoans);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void generatingAgainShouldContinueAfterExistingIds() {
+        GeneratedData data = dataGenerator.generate(properties);
+
+        assertEquals(SEEDED_GAMES + 200 + 1, data.firstGameId());
+        assertEquals(SEEDED_CLIENTS + 150 + 1, data.firstClientId());
+        assertEquals(SEEDED_LOANS + 2 * 5000, count("loan"));
+        assertEquals(SEEDED_LOANS + 2 * 5000 + 1, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR loan_seq", Long.class));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.ccsw.tutorial.common.jfr;
+
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.ccsw.tutorial.loan.LoanFixtures.loanDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "ludoteca.jfr.destination=target/jfr-recorder-it.jfr")
+@ActiveProfiles("jfr")
+@DirtiesContext
+public class JfrRecorderIT {
+
+    public static final String LOCALHOST = "http://localhost:";
+
+    private static final LocalDate NEW_START_DATE = LocalDate.parse("2024-07-20");
+    private static final LocalDate NEW_END_DATE = LocalDate.parse("2024-07-25");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JfrRecorder jfrRecorder;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void recordingShouldEnableApplicationEvents() {
+        assertEquals("true", jfrRecorder.getRecording().getSettings().get("ludoteca.LoanSave#enabled"));
+        assertEquals("true", jfrRecorder.getRecording().getSettings().get("ludoteca.SpecificationQuery#enabled"));
+        assertEquals("true", jfrRecorder.getRecording().getSettings().get("ludoteca.Mapping#enabled"));
+        // La configuración de JDK sigue activa junto a la plantilla
+        assertEquals("true", jfrRecorder.getRecording().getSettings().get("jdk.GarbageCollection#enabled"));
+    }
+
+    @Test
+    public void requestsShouldBeRecorded() throws Exception {
+        restTemplate.getForEntity(LOCALHOST + port + "/game?idCategory=1", String.class);
+
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, 5));
+        searchDto.setIdGame(1L);
+        restTemplate.exchange(LOCALHOST + port + "/loan", HttpMethod.POST, new HttpEntity<>(searchDto), String.class);
+
+        restTemplate.exchange(LOCALHOST + port + "/loan", HttpMethod.PUT, new HttpEntity<>(loanDto(6L, 2L, NEW_START_DATE, NEW_END_DATE)), Void.class);
+        restTemplate.exchange(LOCALHOST + port + "/loan", HttpMethod.PUT, new HttpEntity<>(loanDto(6L, 3L, NEW_START_DATE, NEW_END_DATE)), Void.class);
+
+        Path file = tempDir.resolve("dump.jfr");
+        jfrRecorder.getRecording().dump(file);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        // Cada hilo escribe en su propio buffer, así que el fichero no viene en orden cronológico
+        List<RecordedEvent> saves = events.stream().filter(e -> e.getEventType().getName().equals("ludoteca.LoanSave")).sorted(Comparator.comparing(RecordedEvent::getStartTime)).toList();
+        assertEquals(2, saves.size());
+        assertEquals("SAVED", saves.get(0).getString("outcome"));
+        assertEquals(6L, saves.get(0).getLong("gameId"));
+        assertEquals(6, saves.get(0).getInt("days"));
+        // Con el índice en memoria solo el bloqueo del juego va a la base de datos
+        assertEquals(1, saves.get(0).getInt("validationQueries"));
+        assertEquals("REJECTED", saves.get(1).getString("outcome"));
+        assertEquals("El juego ya está reservado para este día", saves.get(1).getString("reason"));
+
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("ludoteca.SpecificationQuery") && e.getString("entity").equals("Game")
+                && e.getString("filter").equals("category.id : 1")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("ludoteca.SpecificationQuery") && e.getString("entity").equals("Loan")
+                && e.getString("operation").equals("rows") && e.getString("filter").contains("game.id : 1")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("ludoteca.Mapping") && e.getString("source").equals("GameRow") && e.getInt("size") > 0));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("ludoteca.Mapping") && e.getString("source").equals("LoanRow")));
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.ccsw.tutorial.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PageCountCacheTest {
+
+    private final PageCountCache cache = new PageCountCache();
+
+    @Test
+    public void countShouldBeCachedPerFilter() {
+        AtomicLong counts = new AtomicLong();
+
+        assertEquals(1L, cache.count(String.class, "a", counts::incrementAndGet));
+        assertEquals(1L, cache.count(String.class, "a", counts::incrementAndGet));
+        assertEquals(2L, cache.count(String.class, "b", counts::incrementAndGet));
+    }
+
+    @Test
+    public void evictShouldRecountOnlyThatEntity() {
+        AtomicLong counts = new AtomicLong();
+        cache.count(String.class, "a", counts::incrementAndGet);
+        cache.count(Long.class, "a", counts::incrementAndGet);
+
+        // Sin transacción activa se descarta de inmediato
+        cache.evictAfterCommit(String.class);
+
+        assertEquals(3L, cache.count(String.class, "a", counts::incrementAndGet));
+        assertEquals(2L, cache.count(Long.class, "a", counts::incrementAndGet));
+    }
+
+    @Test
+    public void countStartedBeforeEvictShouldNotBeCached() {
+        AtomicLong counts = new AtomicLong();
+
+        // Otra transacción confirma una escritura mientras se cuenta
+        assertEquals(1L, cache.count(String.class, "a", () -> {
+            cache.evictAfterCommit(String.class);
+            return counts.incrementAndGet();
+        }));
+
+        assertEquals(2L, cache.count(String.class, "a", counts::incrementAndGet));
+        assertEquals(2L, cache.count(String.class, "a", counts::incrementAndGet));
+    }
+
+}
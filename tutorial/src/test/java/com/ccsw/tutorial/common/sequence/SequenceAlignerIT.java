@@ -0,0 +1,42 @@
+package com.ccsw.tutorial.common.sequence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SequenceAlignerIT {
+
+    private static final long IMPORTED_ID = 500L;
+
+    @Autowired
+    private SequenceAligner sequenceAligner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void startupShouldAlignSequencesWithSeededRows() {
+        assertEquals(0, sequenceAligner.align());
+        assertEquals(7L, nextValue("loan_seq"));
+        assertEquals(4L, nextValue("client_seq"));
+    }
+
+    @Test
+    public void rowsImportedWithExplicitIdShouldMoveSequence() {
+        jdbcTemplate.update("INSERT INTO category (id, name) VALUES (?, 'Importada')", IMPORTED_ID);
+
+        assertEquals(1, sequenceAligner.align());
+        assertEquals(IMPORTED_ID + 1, nextValue("category_seq"));
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+    }
+
+}
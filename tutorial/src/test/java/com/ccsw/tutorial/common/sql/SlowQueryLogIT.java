@@ -0,0 +1,116 @@
+package com.ccsw.tutorial.common.sql;
+
+import com.ccsw.tutorial.client.ClientRepository;
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = { "ludoteca.slow-query.enabled=true", "ludoteca.slow-query.threshold=0ms",
+        "management.endpoints.web.exposure.include=slowqueries" })
+@DirtiesContext
+public class SlowQueryLogIT {
+
+    public static final String LOCALHOST = "http://localhost:";
+
+    private static final String FIND_ROWS = "LoanRepository.findRows(Class, Specification, Pageable)";
+
+    private static final String CLIENT_NAME = "Cliente que no existe";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @BeforeEach
+    public void clear() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    public void findLoanPageShouldRecordQueriesWithRepositoryMethodAndPlan() {
+        findLoanPage();
+
+        JsonNode body = restTemplate.getForObject(LOCALHOST + port + "/actuator/slowqueries", JsonNode.class);
+        assertEquals(0, body.get("thresholdMillis").asLong());
+
+        JsonNode rows = null;
+        boolean count = false;
+        for (JsonNode query : body.get("queries")) {
+            assertFalse(query.get("sql").asText().startsWith("EXPLAIN"));
+            if (FIND_ROWS.equals(query.get("caller").asText())) {
+                rows = query;
+            }
+            count |= "LoanRepository.count(Specification)".equals(query.get("caller").asText());
+        }
+
+        assertNotNull(rows, body.toString());
+        assertTrue(count, body.toString());
+        assertEquals("1", rows.get("parameters").get(0).asText());
+        assertTrue(rows.get("plan").asText().toUpperCase().startsWith("SELECT"), rows.get("plan").asText());
+    }
+
+    @Test
+    public void planShouldBeCapturedOnlyOnFirstOccurrence() {
+        findLoanPage();
+        findLoanPage();
+
+        List<SlowQuery> rows = slowQueryLog.entries().stream().filter(query -> FIND_ROWS.equals(query.caller())).toList();
+        assertEquals(2, rows.size());
+        assertSame(rows.get(0).plan(), rows.get(1).plan());
+    }
+
+    @Test
+    public void textParametersShouldBeRedacted() {
+        assertTrue(clientRepository.findByName(CLIENT_NAME).isEmpty());
+
+        SlowQuery query = slowQueryLog.entries().get(0);
+        assertEquals("ClientRepository.findByName(String)", query.caller());
+        assertEquals(List.of("<redacted " + CLIENT_NAME.length() + " chars>"), query.parameters());
+    }
+
+    @Test
+    public void endpointShouldBeReadOnly() {
+        findLoanPage();
+
+        ResponseEntity<String> response = restTemplate.exchange(LOCALHOST + port + "/actuator/slowqueries", HttpMethod.DELETE, null, String.class);
+
+        assertEquals(HttpStatus.METHOD_NOT_ALLOWED, response.getStatusCode());
+        assertFalse(slowQueryLog.entries().isEmpty());
+    }
+
+    private void findLoanPage() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setIdClient(1L);
+        searchDto.setPageable(new PageableRequest(0, 1));
+
+        ResponseEntity<String> response = restTemplate.exchange(LOCALHOST + port + "/loan", HttpMethod.POST, new HttpEntity<>(searchDto), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.ccsw.tutorial.common.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Número máximo de sentencias SQL, por tipo, que puede lanzar un test. Cuenta ejecuciones JDBC: un lote de inserts es
+ * una sola. Si se supera alguno de los límites el test falla y lista las sentencias ejecutadas.
+ *
+ * La clase de test tiene que importar {@link SqlStatementRecorder}, para que el DataSource de su contexto pase por el
+ * proxy que las registra:
+ *
+ * <pre>
+ * &#64;SpringBootTest
+ * &#64;Import(SqlStatementRecorder.class)
+ * public class LoanIT {
+ *
+ *     &#64;Test
+ *     &#64;SqlBudget(select = 2)
+ *     public void findFirstPage() {
+ * </pre>
+ *
+ * En un método sustituye a la de la clase.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    int select() default UNLIMITED;
+
+    int insert() default UNLIMITED;
+
+    int update() default UNLIMITED;
+
+    int delete() default UNLIMITED;
+
+    /**
+     * @return límite de todas las sentencias juntas, incluidas las que no son de ninguno de los tipos anteriores
+     */
+    int total() default UNLIMITED;
+
+}
@@ -0,0 +1,76 @@
+package com.ccsw.tutorial.common.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comprueba el {@link SqlBudget} de cada test: vacía el {@link SqlStatementRecorder} del contexto de Spring antes del
+ * test, así que no cuentan las sentencias del arranque, y compara lo registrado con los límites al terminar.
+ */
+public class SqlBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+
+        recorder(context).reset();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+
+        // Si el test ya ha fallado, ese es el error que importa
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        SqlBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), SqlBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SqlBudget.class)).orElseThrow();
+        List<SqlStatementRecorder.Statement> statements = recorder(context).getStatements();
+
+        Map<SqlStatementRecorder.Type, Integer> counts = new EnumMap<>(SqlStatementRecorder.Type.class);
+        statements.forEach(statement -> counts.merge(statement.type(), 1, Integer::sum));
+
+        List<String> exceeded = new ArrayList<>();
+        check(exceeded, "select", counts.getOrDefault(SqlStatementRecorder.Type.SELECT, 0), budget.select());
+        check(exceeded, "insert", counts.getOrDefault(SqlStatementRecorder.Type.INSERT, 0), budget.insert());
+        check(exceeded, "update", counts.getOrDefault(SqlStatementRecorder.Type.UPDATE, 0), budget.update());
+        check(exceeded, "delete", counts.getOrDefault(SqlStatementRecorder.Type.DELETE, 0), budget.delete());
+        check(exceeded, "total", statements.size(), budget.total());
+
+        if (!exceeded.isEmpty()) {
+            StringBuilder message = new StringBuilder("SQL budget exceeded in ").append(context.getDisplayName()).append(": ").append(String.join(", ", exceeded))
+                    .append(". Statements:");
+            for (int i = 0; i < statements.size(); i++) {
+                message.append(System.lineSeparator()).append(String.format("%3d  ", i + 1)).append(statements.get(i));
+            }
+            throw new AssertionFailedError(message.toString());
+        }
+    }
+
+    private static void check(List<String> exceeded, String type, int count, int limit) {
+
+        if (count > limit) {
+            exceeded.add(type + " " + count + " > " + limit);
+        }
+    }
+
+    private static SqlStatementRecorder recorder(ExtensionContext context) {
+
+        try {
+            return SpringExtension.getApplicationContext(context).getBean(SqlStatementRecorder.class);
+        } catch (NoSuchBeanDefinitionException e) {
+            throw new IllegalStateException("@SqlBudget needs @Import(SqlStatementRecorder.class) on " + context.getRequiredTestClass().getSimpleName(), e);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.ccsw.tutorial.common.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Registra cada ejecución JDBC del contexto, desde cualquier hilo: las peticiones HTTP de los tests con servidor se
+ * atienden en los hilos de Tomcat.
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    /**
+     * Tipo de sentencia, por su primera palabra
+     */
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        static Type of(String sql) {
+
+            String keyword = sql.stripLeading().split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+            switch (keyword) {
+            case "select":
+            case "with":
+                return SELECT;
+            case "insert":
+                return INSERT;
+            case "update":
+                return UPDATE;
+            case "delete":
+                return DELETE;
+            default:
+                return OTHER;
+            }
+        }
+    }
+
+    /**
+     * Una ejecución JDBC
+     *
+     * @param type tipo de sentencia
+     * @param sql SQL de la sentencia
+     * @param batchSize filas del lote, 1 si no es un lote
+     * @param thread hilo que la ha lanzado
+     */
+    public record Statement(Type type, String sql, int batchSize, String thread) {
+
+        @Override
+        public String toString() {
+
+            return "[" + this.thread + "] " + this.sql + (this.batchSize > 1 ? " (batch x" + this.batchSize + ")" : "");
+        }
+    }
+
+    private final List<Statement> statements = new ArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        String thread = Thread.currentThread().getName();
+        synchronized (this.statements) {
+            for (QueryInfo query : queryInfoList) {
+                this.statements.add(new Statement(Type.of(query.getQuery()), query.getQuery(), execInfo.isBatch() ? execInfo.getBatchSize() : 1, thread));
+            }
+        }
+    }
+
+    /**
+     * Olvida las sentencias registradas hasta ahora
+     */
+    public void reset() {
+
+        synchronized (this.statements) {
+            this.statements.clear();
+        }
+    }
+
+    /**
+     * @return sentencias registradas desde el último {@link #reset()}
+     */
+    public List<Statement> getStatements() {
+
+        synchronized (this.statements) {
+            return List.copyOf(this.statements);
+        }
+    }
+
+}
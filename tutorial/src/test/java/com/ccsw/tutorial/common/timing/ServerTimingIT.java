@@ -0,0 +1,84 @@
+package com.ccsw.tutorial.common.timing;
+
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "ludoteca.server-timing.enabled=true")
+@DirtiesContext
+public class ServerTimingIT {
+
+    public static final String LOCALHOST = "http://localhost:";
+
+    private static final Pattern SERVER_TIMING = Pattern
+            .compile("sql;dur=[0-9.]+;desc=\"(\\d+) statements\", mapping;dur=[0-9.]+, json;dur=([0-9.]+), total;dur=([0-9.]+)");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    public void dataSourceShouldBeProxied() {
+        assertInstanceOf(ProxyDataSource.class, dataSource);
+    }
+
+    @Test
+    public void findLoanPageShouldReturnServerTiming() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, 5));
+
+        ResponseEntity<String> response = restTemplate.exchange(LOCALHOST + port + "/loan", HttpMethod.POST, new HttpEntity<>(searchDto), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("\"content\""));
+
+        Matcher matcher = serverTiming(response);
+        // Página de filas y count
+        assertEquals(2, Integer.parseInt(matcher.group(1)));
+        assertTrue(Double.parseDouble(matcher.group(2)) > 0);
+        assertEquals("*", response.getHeaders().getFirst(ServerTimingFilter.TIMING_ALLOW_ORIGIN));
+    }
+
+    @Test
+    public void findGamesShouldReturnServerTiming() {
+        ResponseEntity<String> response = restTemplate.getForEntity(LOCALHOST + port + "/game?idCategory=1", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Matcher matcher = serverTiming(response);
+        assertTrue(Double.parseDouble(matcher.group(3)) >= Double.parseDouble(matcher.group(2)));
+    }
+
+    private static Matcher serverTiming(ResponseEntity<String> response) {
+        String header = response.getHeaders().getFirst(ServerTimingFilter.SERVER_TIMING);
+        assertNotNull(header);
+
+        Matcher matcher = SERVER_TIMING.matcher(header);
+        assertTrue(matcher.matches(), header);
+        return matcher;
+    }
+
+}
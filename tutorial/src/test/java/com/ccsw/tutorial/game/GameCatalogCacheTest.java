@@ -0,0 +1,134 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.category.model.Category;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameCatalogKey;
+import com.ccsw.tutorial.game.model.GameRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameCatalogCacheTest {
+
+    private Cache cache;
+
+    private GameCatalogCache gameCatalogCache;
+
+    private Game onMars;
+
+    private Game azul;
+
+    @BeforeEach
+    public void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(GameCatalogCache.NAME);
+        cacheManager.setCacheSpecification("maximumSize=100,recordStats");
+        cache = cacheManager.getCache(GameCatalogCache.NAME);
+        gameCatalogCache = new GameCatalogCache(cacheManager);
+
+        onMars = game(1L, "On Mars", 1L, 2L);
+        azul = game(6L, "Azul", 3L, 5L);
+
+        cache.put(GameCatalogKey.of(null, null), List.of(row(onMars), row(azul)));
+        cache.put(GameCatalogKey.of("mars", null), List.of(row(onMars)));
+        cache.put(GameCatalogKey.of(null, 3L), List.of(row(azul)));
+        cache.put(GameCatalogKey.of("barr", null), List.of());
+    }
+
+    @Test
+    public void renameShouldEvictSearchesContainingOldOrNewTitle() {
+        onMars.setTitle("Barrage");
+
+        gameCatalogCache.evictGame(onMars);
+
+        assertNull(cache.get(GameCatalogKey.of(null, null)));
+        assertNull(cache.get(GameCatalogKey.of("mars", null)));
+        assertNull(cache.get(GameCatalogKey.of("BARR", null)));
+        assertNotNull(cache.get(GameCatalogKey.of(null, 3L)));
+        assertEquals(3, gameCatalogCache.stats().getInvalidationCount());
+    }
+
+    @Test
+    public void authorSaveShouldEvictSearchesWithAuthorGames() {
+        gameCatalogCache.evictAuthorAfterCommit(5L);
+
+        assertNull(cache.get(GameCatalogKey.of(null, null)));
+        assertNull(cache.get(GameCatalogKey.of(null, 3L)));
+        assertNotNull(cache.get(GameCatalogKey.of("mars", null)));
+        assertNotNull(cache.get(GameCatalogKey.of("barr", null)));
+    }
+
+    @Test
+    public void categorySaveShouldEvictSearchesWithCategoryGames() {
+        gameCatalogCache.evictCategoryAfterCommit(1L);
+
+        assertNull(cache.get(GameCatalogKey.of(null, null)));
+        assertNull(cache.get(GameCatalogKey.of("mars", null)));
+        assertNotNull(cache.get(GameCatalogKey.of(null, 3L)));
+    }
+
+    @Test
+    public void getShouldLoadOnlyOnMiss() {
+        AtomicInteger loads = new AtomicInteger();
+        GameCatalogKey key = GameCatalogKey.of("azul", null);
+
+        gameCatalogCache.get(key, () -> List.of(row(azul, loads.incrementAndGet())));
+        List<GameRow> games = gameCatalogCache.get(key, () -> List.of(row(azul, loads.incrementAndGet())));
+
+        assertEquals(1, loads.get());
+        assertEquals(List.of(row(azul, 1)), games);
+    }
+
+    @Test
+    public void getShouldNotCacheResultLoadedBeforeEviction() {
+        GameCatalogKey key = GameCatalogKey.of("azul", null);
+
+        List<GameRow> games = gameCatalogCache.get(key, () -> {
+            // Otra transacción confirma una escritura mientras la búsqueda lee los datos anteriores
+            gameCatalogCache.evictGame(azul);
+            return List.of(row(azul));
+        });
+
+        assertEquals(List.of(row(azul)), games);
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void statsShouldCountHitsAndMisses() {
+        cache.get(GameCatalogKey.of("Mars", null));
+        cache.get(GameCatalogKey.of("Azul", null));
+
+        assertEquals(4, gameCatalogCache.stats().getSize());
+        assertEquals(1, gameCatalogCache.stats().getHitCount());
+        assertEquals(1, gameCatalogCache.stats().getMissCount());
+    }
+
+    private static Game game(Long id, String title, Long idCategory, Long idAuthor) {
+        Category category = new Category();
+        category.setId(idCategory);
+        Author author = new Author();
+        author.setId(idAuthor);
+
+        Game game = new Game();
+        game.setId(id);
+        game.setTitle(title);
+        game.setCategory(category);
+        game.setAuthor(author);
+        return game;
+    }
+
+    private static GameRow row(Game game) {
+        return new GameRow(game.getId(), game.getTitle(), null, game.getCategory().getId(), null, game.getAuthor().getId(), null, null);
+    }
+
+    private static GameRow row(Game game, int version) {
+        return new GameRow(game.getId(), game.getTitle() + " " + version, null, game.getCategory().getId(), null, game.getAuthor().getId(), null, null);
+    }
+
+}
@@ -2,12 +2,17 @@ package com.ccsw.tutorial.game;
 
 import com.ccsw.tutorial.author.model.AuthorDto;
 import com.ccsw.tutorial.category.model.CategoryDto;
+import com.ccsw.tutorial.common.sql.SqlBudget;
+import com.ccsw.tutorial.common.sql.SqlStatementRecorder;
+import com.ccsw.tutorial.game.model.GameCacheStatsDto;
 import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.game.model.GameTitle;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -24,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(SqlStatementRecorder.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 public class GameIT {
 
@@ -34,6 +40,8 @@ public class GameIT {
     public static final Long NOT_EXISTS_GAME_ID = 0L;
     private static final String NOT_EXISTS_TITLE = "NotExists";
     private static final String EXISTS_TITLE = "Aventureros";
+    private static final String EXISTS_TITLE_ACCENTED = "AVENTURÉROS al  TREN";
+    private static final String EXISTS_GAME_TITLE = "On Mars";
     private static final String NEW_TITLE = "Nuevo juego";
     private static final Long NOT_EXISTS_CATEGORY = 0L;
     private static final Long EXISTS_CATEGORY = 3L;
@@ -50,11 +58,15 @@ public class GameIT {
     ParameterizedTypeReference<List<GameDto>> responseType = new ParameterizedTypeReference<List<GameDto>>() {
     };
 
+    ParameterizedTypeReference<List<GameTitle>> suggestionsType = new ParameterizedTypeReference<List<GameTitle>>() {
+    };
+
     private String getUrlWithParams() {
         return UriComponentsBuilder.fromHttpUrl(LOCALHOST + port + SERVICE_PATH).queryParam(TITLE_PARAM, "{" + TITLE_PARAM + "}").queryParam(CATEGORY_ID_PARAM, "{" + CATEGORY_ID_PARAM + "}").encode().toUriString();
     }
 
     @Test
+    @SqlBudget(select = 1)
     public void findWithoutFiltersShouldReturnAllGamesInDB() {
 
         int GAMES_WITH_FILTER = 6;
@@ -70,6 +82,7 @@ public class GameIT {
     }
 
     @Test
+    @SqlBudget(select = 1)
     public void findExistsTitleShouldReturnGames() {
 
         int GAMES_WITH_FILTER = 1;
@@ -84,6 +97,20 @@ public class GameIT {
         assertEquals(GAMES_WITH_FILTER, response.getBody().size());
     }
 
+    @Test
+    public void findTitleShouldIgnoreCaseAndAccents() {
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(TITLE_PARAM, EXISTS_TITLE_ACCENTED);
+        params.put(CATEGORY_ID_PARAM, null);
+
+        ResponseEntity<List<GameDto>> response = restTemplate.exchange(getUrlWithParams(), HttpMethod.GET, null, responseType, params);
+
+        assertNotNull(response);
+        assertEquals(1, response.getBody().size());
+        assertEquals(2L, response.getBody().get(0).getId());
+    }
+
     @Test
     public void findExistsCategoryShouldReturnGames() {
 
@@ -100,6 +127,7 @@ public class GameIT {
     }
 
     @Test
+    @SqlBudget(select = 1)
     public void findExistsTitleAndCategoryShouldReturnGames() {
 
         int GAMES_WITH_FILTER = 1;
@@ -172,7 +200,9 @@ public class GameIT {
         assertEquals(GAMES_WITH_FILTER, response.getBody().size());
     }
 
+    // Autor, categoría y secuencia; la búsqueda posterior
     @Test
+    @SqlBudget(select = 4, insert = 1)
     public void saveWithoutIdShouldCreateNewGame() {
 
         GameDto dto = new GameDto();
@@ -204,7 +234,9 @@ public class GameIT {
         assertEquals(1, response.getBody().size());
     }
 
+    // Juego, autor y categoría; la búsqueda posterior
     @Test
+    @SqlBudget(select = 4, update = 1)
     public void modifyWithExistIdShouldModifyGame() {
 
         GameDto dto = new GameDto();
@@ -237,6 +269,102 @@ public class GameIT {
         assertEquals(EXISTS_GAME_ID, response.getBody().get(0).getId());
     }
 
+    @Test
+    public void modifyTitleShouldNotFindPreviousTitle() {
+
+        GameDto dto = new GameDto();
+        AuthorDto authorDto = new AuthorDto();
+        authorDto.setId(1L);
+
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setId(1L);
+
+        dto.setTitle(NEW_TITLE);
+        dto.setAge("18");
+        dto.setAuthor(authorDto);
+        dto.setCategory(categoryDto);
+
+        restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/" + EXISTS_GAME_ID, HttpMethod.PUT, new HttpEntity<>(dto), Void.class);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(TITLE_PARAM, EXISTS_GAME_TITLE);
+        params.put(CATEGORY_ID_PARAM, null);
+
+        ResponseEntity<List<GameDto>> response = restTemplate.exchange(getUrlWithParams(), HttpMethod.GET, null, responseType, params);
+
+        assertNotNull(response);
+        assertEquals(0, response.getBody().size());
+    }
+
+    @Test
+    public void autocompleteShouldReturnMostBorrowedGamesFirst() {
+
+        ResponseEntity<List<GameTitle>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/autocomplete?prefix=MAR", HttpMethod.GET, null, suggestionsType);
+
+        assertNotNull(response);
+        assertEquals(List.of(new GameTitle(1L, "On Mars"), new GameTitle(5L, "Los viajes de Marco Polo")), response.getBody());
+    }
+
+    @Test
+    public void autocompleteShouldIncludeSavedGames() {
+
+        GameDto dto = new GameDto();
+        AuthorDto authorDto = new AuthorDto();
+        authorDto.setId(1L);
+
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setId(1L);
+
+        dto.setTitle(NEW_TITLE);
+        dto.setAge("18");
+        dto.setAuthor(authorDto);
+        dto.setCategory(categoryDto);
+
+        restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.PUT, new HttpEntity<>(dto), Void.class);
+
+        ResponseEntity<List<GameTitle>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/autocomplete?prefix=nuev&limit=1", HttpMethod.GET, null, suggestionsType);
+
+        assertNotNull(response);
+        assertEquals(1, response.getBody().size());
+        assertEquals(NEW_TITLE, response.getBody().get(0).title());
+    }
+
+    @Test
+    @SqlBudget(select = 1)
+    public void repeatedFindShouldHitCache() {
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(TITLE_PARAM, EXISTS_TITLE);
+        params.put(CATEGORY_ID_PARAM, null);
+
+        restTemplate.exchange(getUrlWithParams(), HttpMethod.GET, null, responseType, params);
+        params.put(TITLE_PARAM, EXISTS_TITLE.toUpperCase());
+        restTemplate.exchange(getUrlWithParams(), HttpMethod.GET, null, responseType, params);
+
+        GameCacheStatsDto stats = restTemplate.getForObject(LOCALHOST + port + SERVICE_PATH + "/cache/stats", GameCacheStatsDto.class);
+
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getHitCount());
+    }
+
+    @Test
+    public void modifyAuthorShouldRefreshCachedGames() {
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(TITLE_PARAM, EXISTS_TITLE);
+        params.put(CATEGORY_ID_PARAM, null);
+
+        ResponseEntity<List<GameDto>> response = restTemplate.exchange(getUrlWithParams(), HttpMethod.GET, null, responseType, params);
+        AuthorDto author = response.getBody().get(0).getAuthor();
+        author.setName("Autor renombrado");
+
+        restTemplate.exchange(LOCALHOST + port + "/author/" + author.getId(), HttpMethod.PUT, new HttpEntity<>(author), Void.class);
+
+        response = restTemplate.exchange(getUrlWithParams(), HttpMethod.GET, null, responseType, params);
+
+        assertEquals("Autor renombrado", response.getBody().get(0).getAuthor().getName());
+    }
+
     @Test
     public void modifyWithNotExistIdShouldThrowException() {
 
@@ -0,0 +1,144 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.author.AuthorService;
+import com.ccsw.tutorial.author.model.Author;
+import com.ccsw.tutorial.author.model.AuthorDto;
+import com.ccsw.tutorial.category.CategoryService;
+import com.ccsw.tutorial.category.model.Category;
+import com.ccsw.tutorial.category.model.CategoryDto;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.game.model.GameRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameTest {
+
+    private static final String TITLE = "a";
+
+    private static final Long CATEGORY_ID = 1L;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameTitleIndex gameTitleIndex;
+
+    @Mock
+    private GameTitlePrefixIndex gameTitlePrefixIndex;
+
+    @Mock
+    private GameCatalogCache gameCatalogCache;
+
+    @Mock
+    private AuthorService authorService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @InjectMocks
+    private GameServiceImpl gameService;
+
+    @BeforeEach
+    public void setUp() {
+
+        lenient().when(gameCatalogCache.get(any(), any())).thenAnswer(invocation -> invocation.<Supplier<List<GameRow>>>getArgument(1).get());
+    }
+
+    @Test
+    public void findFewCandidatesShouldQueryOnce() {
+
+        when(gameTitleIndex.search(TITLE)).thenReturn(List.of(1L, 2L));
+        when(gameRepository.findRows(any())).thenReturn(List.of(row(1L)));
+
+        List<GameRow> games = gameService.find(TITLE, CATEGORY_ID);
+
+        assertEquals(List.of(row(1L)), games);
+        verify(gameRepository, times(1)).findRows(any());
+    }
+
+    @Test
+    public void findManyCandidatesShouldQueryOnceAndFilterInMemory() {
+
+        List<Long> candidates = LongStream.rangeClosed(1, 5_000).filter(id -> id % 2 == 0).boxed().toList();
+        when(gameTitleIndex.search(TITLE)).thenReturn(candidates);
+        when(gameRepository.findRows(any())).thenReturn(List.of(row(1L), row(2L), row(3L), row(4_000L), row(6_000L)));
+
+        List<GameRow> games = gameService.find(TITLE, CATEGORY_ID);
+
+        assertEquals(List.of(row(2L), row(4_000L)), games);
+        verify(gameRepository, times(1)).findRows(any());
+    }
+
+    @Test
+    public void findBetweenIndexUpdateAndEvictionShouldNotCacheStaleResult() {
+
+        // Caché real, para que la búsqueda intercalada guarde su resultado
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(GameCatalogCache.NAME);
+        gameService.gameCatalogCache = new GameCatalogCache(cacheManager);
+
+        AtomicBoolean indexed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            indexed.set(true);
+            return null;
+        }).when(gameTitleIndex).put(7L, TITLE);
+        when(gameTitleIndex.search(TITLE)).thenAnswer(invocation -> indexed.get() ? List.of(7L) : List.of());
+        when(gameRepository.findRows(any())).thenReturn(List.of(row(7L)));
+
+        Category category = new Category();
+        category.setId(CATEGORY_ID);
+        when(categoryService.get(CATEGORY_ID)).thenReturn(category);
+        when(authorService.get(1L)).thenReturn(new Author());
+        when(gameRepository.save(any())).thenAnswer(invocation -> {
+            Game game = invocation.getArgument(0);
+            game.setId(7L);
+            return game;
+        });
+
+        // Una búsqueda sin acierto en la caché entre la actualización de los índices y la invalidación
+        List<List<GameRow>> interleaved = new ArrayList<>();
+        doAnswer(invocation -> interleaved.add(gameService.find(TITLE, null))).when(gameTitlePrefixIndex).put(7L, TITLE);
+
+        gameService.save(null, gameDto());
+
+        assertEquals(List.of(List.of(row(7L))), interleaved);
+        assertEquals(List.of(row(7L)), gameService.find(TITLE, null));
+    }
+
+    private static GameDto gameDto() {
+
+        CategoryDto category = new CategoryDto();
+        category.setId(CATEGORY_ID);
+        AuthorDto author = new AuthorDto();
+        author.setId(1L);
+
+        GameDto dto = new GameDto();
+        dto.setTitle(TITLE);
+        dto.setAge("8");
+        dto.setCategory(category);
+        dto.setAuthor(author);
+        return dto;
+    }
+
+    private static GameRow row(Long id) {
+
+        return new GameRow(id, "Juego " + id, "8", CATEGORY_ID, "Eurogames", 1L, "Autor", "ES");
+    }
+
+}
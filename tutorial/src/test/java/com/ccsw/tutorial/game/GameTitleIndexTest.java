@@ -0,0 +1,68 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.game.model.GameTitle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameTitleIndexTest {
+
+    private GameTitleIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new GameTitleIndex();
+
+        index.rebuild(List.of( //
+                new GameTitle(1L, "On Mars"), //
+                new GameTitle(2L, "Aventureros al tren"), //
+                new GameTitle(3L, "El señor de los anillos: Dragón"), //
+                new GameTitle(4L, "Los viajes de Marco Polo")));
+    }
+
+    @Test
+    public void searchShouldIgnoreCaseAndAccents() {
+        assertEquals(List.of(2L), index.search("AVENTUREROS"));
+        assertEquals(List.of(3L), index.search("dragon"));
+        assertEquals(List.of(3L), index.search("Señor"));
+        assertEquals(List.of(3L), index.search("senor"));
+    }
+
+    @Test
+    public void searchShouldMatchSubstrings() {
+        assertEquals(List.of(1L, 4L), index.search("mar"));
+        assertEquals(List.of(2L), index.search("al  tren"));
+    }
+
+    @Test
+    public void searchShouldVerifyGramOrder() {
+        index.put(5L, "Abcd bcde");
+
+        // Los trigramas de "abcde" están todos en el título, pero no la subcadena completa
+        assertTrue(index.search("abcde").isEmpty());
+        assertEquals(List.of(5L), index.search("bcde"));
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    public void shortQueryShouldScanTitles() {
+        assertEquals(List.of(1L, 3L), index.search("on"));
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.search(" "));
+    }
+
+    @Test
+    public void putShouldReindexRenamedGame() {
+        index.put(1L, "Barrage");
+        index.put(5L, "Azul");
+
+        assertTrue(index.search("mars").isEmpty());
+        assertEquals(List.of(1L), index.search("barr"));
+        assertEquals(List.of(5L), index.search("azu"));
+        assertEquals(5, index.size());
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.ccsw.tutorial.game;
+
+import com.ccsw.tutorial.game.model.GamePopularity;
+import com.ccsw.tutorial.game.model.GameTitle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameTitlePrefixIndexTest {
+
+    private GameTitlePrefixIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new GameTitlePrefixIndex();
+
+        index.rebuild(List.of( //
+                new GamePopularity(1L, "On Mars", 3), //
+                new GamePopularity(2L, "Aventureros al tren", 1), //
+                new GamePopularity(3L, "1920: Wall Street", 0), //
+                new GamePopularity(4L, "Los viajes de Marco Polo", 5), //
+                new GamePopularity(5L, "Ávila de Marte", 1)));
+    }
+
+    @Test
+    public void suggestShouldMatchWordPrefixesIgnoringCaseAndAccents() {
+        assertEquals(List.of(new GameTitle(2L, "Aventureros al tren")), index.suggest("tre", 10));
+        assertEquals(List.of(new GameTitle(3L, "1920: Wall Street")), index.suggest("STREET", 10));
+        assertEquals(List.of(new GameTitle(3L, "1920: Wall Street")), index.suggest("wall st", 10));
+        assertEquals(List.of(new GameTitle(5L, "Ávila de Marte")), index.suggest("avila", 10));
+    }
+
+    @Test
+    public void suggestShouldNotMatchInsideWords() {
+        assertTrue(index.suggest("ars", 10).isEmpty());
+        assertTrue(index.suggest("", 10).isEmpty());
+    }
+
+    @Test
+    public void suggestShouldRankByLoansThenTitle() {
+        assertEquals(List.of(4L, 1L, 5L), ids(index.suggest("mar", 10)));
+        assertEquals(List.of(2L, 5L), ids(index.suggest("a", 10)));
+        assertEquals(List.of(4L, 1L), ids(index.suggest("m", 2)));
+    }
+
+    @Test
+    public void addLoansShouldReorderSuggestions() {
+        index.addLoans(5L, 10);
+
+        assertEquals(List.of(5L, 4L, 1L), ids(index.suggest("mar", 10)));
+    }
+
+    @Test
+    public void putShouldIndexNewAndRenamedGames() {
+        index.put(1L, "Barrage");
+        index.put(6L, "Marrakech");
+
+        assertEquals(List.of(1L), ids(index.suggest("barr", 10)));
+        assertEquals(List.of(4L, 5L, 6L), ids(index.suggest("mar", 10)));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    public void broadPrefixShouldReturnMostBorrowedGames() {
+        List<GamePopularity> games = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            games.add(new GamePopularity(id, "Catan " + id, id % 1_000));
+        }
+        index.rebuild(games);
+
+        // A igualdad de préstamos manda el orden del título: "catan 1999" va antes que "catan 999"
+        assertEquals(List.of(1999L, 2999L, 3999L), ids(index.suggest("cat", 3)));
+
+        index.addLoans(7L, 1_000);
+        assertEquals(List.of(7L, 1999L), ids(index.suggest("catan", 2)));
+    }
+
+    @Test
+    public void broadPrefixOfRarelyBorrowedGamesShouldFallBackToTheRange() {
+        List<GamePopularity> games = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            games.add(new GamePopularity(id, "Catan " + id, 10));
+        }
+        for (long id = 5_001; id <= 8_000; id++) {
+            games.add(new GamePopularity(id, "Zombicide " + id, id == 7_000 ? 1 : 0));
+        }
+        index.rebuild(games);
+
+        // Los 5.000 juegos más prestados no tienen ninguna palabra que empiece por "zom"
+        assertEquals(List.of(7000L, 5001L, 5002L), ids(index.suggest("zom", 3)));
+    }
+
+    private static List<Long> ids(List<GameTitle> suggestions) {
+        return suggestions.stream().map(GameTitle::id).toList();
+    }
+
+}
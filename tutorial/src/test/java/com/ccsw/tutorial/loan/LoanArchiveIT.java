@@ -0,0 +1,101 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.game.GameService;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.exceptions.IllegalDateRangeException;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = { "ludoteca.loan.archive.enabled=true", "ludoteca.loan.archive.cron=-", "ludoteca.loan.archive.batch-size=3" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class LoanArchiveIT {
+
+    private static final int TOTAL_LOANS = 6;
+
+    // Préstamos 3, 4, 5 y 6 de data.sql
+    private static final LocalDate CUTOFF = LocalDate.parse("2025-10-01");
+    private static final int ARCHIVED_LOANS = 4;
+
+    @Autowired
+    private LoanArchiver loanArchiver;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanIntervalIndex loanIntervalIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void archiveShouldMoveOldLoansInBatches() {
+        assertEquals(ARCHIVED_LOANS, loanArchiver.archive(CUTOFF));
+        assertEquals(0, loanArchiver.archive(CUTOFF));
+
+        assertEquals(TOTAL_LOANS - ARCHIVED_LOANS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan", Long.class));
+        assertEquals(ARCHIVED_LOANS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_archive", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_day WHERE reserved_day < ?", Long.class, CUTOFF));
+        assertEquals(TOTAL_LOANS - ARCHIVED_LOANS, loanIntervalIndex.size());
+    }
+
+    @Test
+    public void archiveShouldKeepUnrelatedSecondLevelCacheRegions() {
+        gameService.getGameById(1L);
+        assertTrue(entityManagerFactory.getCache().contains(Game.class, 1L));
+
+        loanArchiver.archive(CUTOFF);
+
+        assertTrue(entityManagerFactory.getCache().contains(Game.class, 1L));
+    }
+
+    @Test
+    public void searchShouldIncludeArchiveOnlyWhenAsked() {
+        loanArchiver.archive(CUTOFF);
+
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setIdGame(1L);
+        searchDto.setPageable(new PageableRequest(0, TOTAL_LOANS));
+
+        assertEquals(1, loanService.findPage(searchDto).getTotalElements());
+
+        searchDto.setIncludeArchive(true);
+        assertEquals(2, loanService.findPage(searchDto).getTotalElements());
+        assertEquals("On Mars", loanService.findPage(searchDto).getContent().get(0).gameTitle());
+    }
+
+    @Test
+    public void saveBeforeArchiveHorizonShouldReturnException() {
+        LoanDto dto = new LoanDto();
+        GameDto game = new GameDto();
+        game.setId(6L);
+        ClientDto client = new ClientDto();
+        client.setId(2L);
+        dto.setGame(game);
+        dto.setClient(client);
+        dto.setStartDate(LocalDate.now().minusYears(3));
+        dto.setEndDate(dto.getStartDate().plusDays(3));
+
+        assertThrows(IllegalDateRangeException.class, () -> loanService.save(dto));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.exceptions.IllegalCursorException;
+import com.ccsw.tutorial.loan.model.Loan;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoanCursorTest {
+
+    @Test
+    public void encodedCursorShouldDecodeToLoanKey() {
+        Loan loan = new Loan();
+        loan.setId(42L);
+        loan.setStartDate(LocalDate.parse("2025-07-13"));
+
+        KeysetScrollPosition position = LoanCursor.decode(LoanCursor.encode(loan));
+
+        assertEquals(LocalDate.parse("2025-07-13"), position.getKeys().get("startDate"));
+        assertEquals(42L, position.getKeys().get("id"));
+    }
+
+    @Test
+    public void emptyCursorShouldStartFromTheBeginning() {
+        assertTrue(LoanCursor.decode(null).isInitial());
+        assertTrue(LoanCursor.decode("").isInitial());
+    }
+
+    @Test
+    public void tamperedCursorShouldThrowException() {
+        assertThrows(IllegalCursorException.class, () -> LoanCursor.decode("not-a-cursor"));
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.exceptions.IllegalReservationException;
+import com.ccsw.tutorial.loan.model.LoanDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class LoanDayIT {
+
+    // Días reservados por los préstamos de data.sql
+    private static final long SEEDED_LOAN_DAYS = 10 + 7 + 11 + 10 + 11 + 6;
+
+    private static final Long FREE_GAME_ID = 6L;
+    private static final Long FREE_CLIENT_ID = 2L;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanDayRepository loanDayRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void backfillShouldReserveEveryDayOfSeededLoans() {
+        assertEquals(SEEDED_LOAN_DAYS, loanDayRepository.count());
+        assertEquals(10, loanDayRepository.countByLoanId(1L));
+    }
+
+    @Test
+    public void saveShouldReserveDaysAndDeleteShouldReleaseThem() throws Exception {
+        loanService.save(loanDto(FREE_GAME_ID, "2026-01-01", "2026-01-05"));
+
+        Long loanId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM loan", Long.class);
+        assertEquals(5, loanDayRepository.countByLoanId(loanId));
+
+        loanService.delete(loanId);
+        assertEquals(0, loanDayRepository.countByLoanId(loanId));
+        assertEquals(SEEDED_LOAN_DAYS, loanDayRepository.count());
+    }
+
+    @Test
+    public void saveOverDaysReservedBehindTheIndexShouldFailOnInsert() {
+        // Préstamo escrito por otra instancia: el índice en memoria no lo conoce, pero sí loan_day
+        jdbcTemplate.update("INSERT INTO loan (game_id, client_id, start_date, end_date) VALUES (?, 1, DATE '2026-02-03', DATE '2026-02-04')", FREE_GAME_ID);
+        loanDayRepository.backfill();
+        long loans = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan", Long.class);
+
+        Exception exception = assertThrows(IllegalReservationException.class, () -> {
+            loanService.save(loanDto(FREE_GAME_ID, "2026-02-01", "2026-02-05"));
+        });
+
+        assertEquals("El juego ya está reservado para este día", exception.getMessage());
+        assertEquals(loans, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan", Long.class));
+    }
+
+    private static LoanDto loanDto(Long gameId, String startDate, String endDate) {
+        GameDto game = new GameDto();
+        game.setId(gameId);
+
+        ClientDto client = new ClientDto();
+        client.setId(FREE_CLIENT_ID);
+
+        LoanDto dto = new LoanDto();
+        dto.setGame(game);
+        dto.setClient(client);
+        dto.setStartDate(LocalDate.parse(startDate));
+        dto.setEndDate(LocalDate.parse(endDate));
+        return dto;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.model.LoanDto;
+
+import java.time.LocalDate;
+
+/**
+ * Datos de préstamo compartidos por los tests de integración
+ */
+public final class LoanFixtures {
+
+    private LoanFixtures() {
+    }
+
+    public static LoanDto loanDto(Long idGame, Long idClient, LocalDate startDate, LocalDate endDate) {
+        GameDto gameDto = new GameDto();
+        gameDto.setId(idGame);
+        ClientDto clientDto = new ClientDto();
+        clientDto.setId(idClient);
+
+        LoanDto dto = new LoanDto();
+        dto.setGame(gameDto);
+        dto.setClient(clientDto);
+        dto.setStartDate(startDate);
+        dto.setEndDate(endDate);
+        return dto;
+    }
+
+}
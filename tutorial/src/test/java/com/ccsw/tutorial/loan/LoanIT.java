@@ -1,29 +1,50 @@
 package com.ccsw.tutorial.loan;
 
 import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.common.pagination.CountMode;
+import com.ccsw.tutorial.common.pagination.CursorPage;
 import com.ccsw.tutorial.common.pagination.PageableRequest;
+import com.ccsw.tutorial.common.sql.SqlBudget;
+import com.ccsw.tutorial.common.sql.SqlStatementRecorder;
 import com.ccsw.tutorial.config.ResponsePage;
 import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.model.LoanBulkFailureDto;
+import com.ccsw.tutorial.loan.model.LoanBulkResultDto;
 import com.ccsw.tutorial.loan.model.LoanDto;
 import com.ccsw.tutorial.loan.model.LoanSearchDto;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDate;
-
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.ccsw.tutorial.loan.LoanFixtures.loanDto;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(SqlStatementRecorder.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 public class LoanIT {
     public static final String LOCALHOST = "http://localhost:";
@@ -46,10 +67,23 @@ public class LoanIT {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     ParameterizedTypeReference<ResponsePage<LoanDto>> responseTypePage = new ParameterizedTypeReference<ResponsePage<LoanDto>>() {
     };
 
+    ParameterizedTypeReference<List<GameDto>> responseTypeGames = new ParameterizedTypeReference<List<GameDto>>() {
+    };
+
     @Test
+    @SqlBudget(select = 2)
     public void findFirstPageWithFiveNoFilterSizeShouldReturn() {
         LoanSearchDto searchDto = new LoanSearchDto();
         searchDto.setPageable(new PageableRequest(0, PAGE_SIZE));
@@ -77,6 +111,7 @@ public class LoanIT {
     }
 
     @Test
+    @SqlBudget(select = 1)
     public void findExistsGameShouldReturnFilteredLoans() {
         int filteredLoans = 2;
         LoanSearchDto searchDto = new LoanSearchDto();
@@ -149,6 +184,118 @@ public class LoanIT {
     }
 
     @Test
+    @SqlBudget(select = 1)
+    public void findWithoutCountShouldReturnSlice() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setIdClient(1L);
+        PageableRequest pageable = new PageableRequest(0, 2);
+        pageable.setCountMode(CountMode.NONE);
+        searchDto.setPageable(pageable);
+
+        ResponseEntity<ResponsePage<LoanDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+
+        assertEquals(CountMode.NONE, response.getBody().getCountMode());
+        assertEquals(2, response.getBody().getContent().size());
+        assertTrue(response.getBody().hasNext());
+        assertNotNull(response.getBody().getContent().get(0).getGame().getTitle());
+    }
+
+    @Test
+    public void findWithEstimatedCountShouldRefreshAfterDelete() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        PageableRequest pageable = new PageableRequest(0, PAGE_SIZE);
+        pageable.setCountMode(CountMode.ESTIMATED);
+        searchDto.setPageable(pageable);
+
+        ResponseEntity<ResponsePage<LoanDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+        assertEquals(CountMode.ESTIMATED, response.getBody().getCountMode());
+        assertEquals(TOTAL_LOANS, response.getBody().getTotalElements());
+
+        restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/" + DELETE_LOAN_ID, HttpMethod.DELETE, null, Void.class);
+
+        response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+        assertEquals(TOTAL_LOANS - 1, response.getBody().getTotalElements());
+    }
+
+    @Test
+    public void findWithArchiveAndEstimatedCountShouldRefreshAfterDelete() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        PageableRequest pageable = new PageableRequest(0, PAGE_SIZE);
+        pageable.setCountMode(CountMode.ESTIMATED);
+        searchDto.setPageable(pageable);
+        searchDto.setIncludeArchive(true);
+
+        ResponseEntity<ResponsePage<LoanDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+        assertEquals(CountMode.ESTIMATED, response.getBody().getCountMode());
+        assertEquals(TOTAL_LOANS, response.getBody().getTotalElements());
+
+        restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/" + DELETE_LOAN_ID, HttpMethod.DELETE, null, Void.class);
+
+        response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+        assertEquals(TOTAL_LOANS - 1, response.getBody().getTotalElements());
+    }
+
+    ParameterizedTypeReference<CursorPage<LoanDto>> responseTypeCursor = new ParameterizedTypeReference<CursorPage<LoanDto>>() {
+    };
+
+    @Test
+    public void findByCursorShouldWalkAllLoansInStartDateOrder() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, 4));
+
+        ResponseEntity<CursorPage<LoanDto>> first = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/cursor", HttpMethod.POST, new HttpEntity<>(searchDto), responseTypeCursor);
+
+        assertEquals(List.of(3L, 6L, 4L, 5L), first.getBody().getContent().stream().map(LoanDto::getId).toList());
+        assertNotNull(first.getBody().getNextCursor());
+
+        searchDto.setCursor(first.getBody().getNextCursor());
+        ResponseEntity<CursorPage<LoanDto>> second = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/cursor", HttpMethod.POST, new HttpEntity<>(searchDto), responseTypeCursor);
+
+        assertEquals(List.of(1L, 2L), second.getBody().getContent().stream().map(LoanDto::getId).toList());
+        assertNull(second.getBody().getNextCursor());
+    }
+
+    @Test
+    @SqlBudget(total = 0)
+    public void findByCursorWithTamperedCursorShouldReturnBadRequest() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, 4));
+        searchDto.setCursor("not-a-cursor");
+
+        ResponseEntity<String> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/cursor", HttpMethod.POST, new HttpEntity<>(searchDto), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    @SqlBudget(total = 0)
+    public void findByCursorWithArchiveShouldReturnBadRequest() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, 4));
+        searchDto.setIncludeArchive(true);
+
+        ResponseEntity<String> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/cursor", HttpMethod.POST, new HttpEntity<>(searchDto), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    @SqlBudget(select = 1)
+    public void findByCursorShouldApplyFilters() {
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setIdClient(3L);
+        searchDto.setPageable(new PageableRequest(0, TOTAL_LOANS));
+
+        ResponseEntity<CursorPage<LoanDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/cursor", HttpMethod.POST, new HttpEntity<>(searchDto), responseTypeCursor);
+
+        assertEquals(List.of(6L, 1L, 2L), response.getBody().getContent().stream().map(LoanDto::getId).toList());
+        assertEquals("Los viajes de Marco Polo", response.getBody().getContent().get(0).getGame().getTitle());
+        assertNull(response.getBody().getNextCursor());
+    }
+
+    // Bloqueo del juego, secuencia, loan y un lote con sus loan_day; la búsqueda posterior, página y count
+    @Test
+    @SqlBudget(select = 4, insert = 2, update = 0)
     public void saveLoanShouldCreateLoan() {
         long newLoanSize = TOTAL_LOANS + 1;
 
@@ -182,7 +329,67 @@ public class LoanIT {
         assertEquals("Azul", loan.getGame().getTitle());
     }
 
+    // Juegos, clientes y préstamos que pueden chocar, secuencia y dos lotes de inserts; la búsqueda posterior, página y count
+    @Test
+    @SqlBudget(select = 6, insert = 2, update = 0)
+    public void saveBulkShouldSaveValidLoansAndReportTheRest() {
+        long newLoanSize = TOTAL_LOANS + 2;
+
+        List<LoanDto> dtos = List.of(loanDto(6L, 2L, NEW_START_DATE, NEW_END_DATE), //
+                loanDto(6L, 1L, NEW_END_DATE, NEW_END_DATE.plusDays(2)), //
+                loanDto(1L, 2L, START_DATE, END_DATE), //
+                loanDto(2L, 2L, NEW_START_DATE, NEW_END_DATE));
+
+        ResponseEntity<LoanBulkResultDto> bulkResponse = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/bulk", HttpMethod.PUT, new HttpEntity<>(dtos), LoanBulkResultDto.class);
+
+        assertEquals(List.of(TOTAL_LOANS + 1L, TOTAL_LOANS + 2L), bulkResponse.getBody().getSavedIds());
+        assertEquals(List.of(1, 2), bulkResponse.getBody().getFailures().stream().map(LoanBulkFailureDto::getIndex).toList());
+
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, (int) newLoanSize));
+
+        ResponseEntity<ResponsePage<LoanDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+        assertEquals(newLoanSize, response.getBody().getTotalElements());
+    }
+
+    @Test
+    public void saveBulkWhileAnotherSaveHoldsTheGameShouldReportTheConflictPerItem() throws Exception {
+        CountDownLatch saved = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // Alta individual con la transacción abierta: el juego 6 queda bloqueado y sus días sin confirmar
+        CompletableFuture<Void> single = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            try {
+                loanService.save(loanDto(6L, 2L, NEW_START_DATE, NEW_END_DATE));
+                saved.countDown();
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertTrue(saved.await(10, TimeUnit.SECONDS));
+
+        List<LoanDto> dtos = List.of(loanDto(6L, 1L, NEW_START_DATE, NEW_END_DATE), loanDto(2L, 1L, NEW_START_DATE, NEW_END_DATE));
+        CompletableFuture<ResponseEntity<LoanBulkResultDto>> bulk = CompletableFuture
+                .supplyAsync(() -> restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/bulk", HttpMethod.PUT, new HttpEntity<>(dtos), LoanBulkResultDto.class));
+
+        // La carga espera al bloqueo del juego y valida después del commit
+        Thread.sleep(300);
+        assertFalse(bulk.isDone());
+        commit.countDown();
+        single.get(10, TimeUnit.SECONDS);
+
+        ResponseEntity<LoanBulkResultDto> response = bulk.get(10, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getSavedIds().size());
+        assertEquals(1, response.getBody().getFailures().size());
+        assertEquals(0, response.getBody().getFailures().get(0).getIndex());
+        assertEquals("El juego ya está reservado para este día", response.getBody().getFailures().get(0).getMessage());
+    }
+
+    // Tras bloquear el juego, el índice en memoria rechaza la reserva sin más consultas; después, la búsqueda
     @Test
+    @SqlBudget(select = 3, insert = 0)
     public void saveLoanWhereGameIsAlreadyReservedForThatDayShouldNotSave() {
         LoanDto dto = new LoanDto();
         GameDto gameDto = new GameDto();
@@ -209,6 +416,21 @@ public class LoanIT {
 
     }
 
+    @Test
+    public void saveLoanWithUnknownClientShouldNotSave() {
+        ResponseEntity<String> saveResponse = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.PUT, new HttpEntity<>(loanDto(6L, 99L, NEW_START_DATE, NEW_END_DATE)), String.class);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, saveResponse.getStatusCode());
+        // Rechazo por cliente inexistente, no una violación de FK sin traducir
+        assertEquals(1, meterRegistry.counter("ludoteca.loan.rejections", "exception", "IllegalReservationException").count());
+
+        LoanSearchDto searchDto = new LoanSearchDto();
+        searchDto.setPageable(new PageableRequest(0, TOTAL_LOANS));
+
+        ResponseEntity<ResponsePage<LoanDto>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH, HttpMethod.POST, new HttpEntity<>(searchDto), responseTypePage);
+        assertEquals(TOTAL_LOANS, response.getBody().getTotalElements());
+    }
+
     @Test
     public void saveLoanWithAClientThatHasAlreadyTwoReservationsForThatDayShouldNotSave() {
         LoanDto dto = new LoanDto();
@@ -235,6 +457,66 @@ public class LoanIT {
     }
 
     @Test
+    public void findAvailableWithoutFiltersShouldExcludeBookedGames() {
+        int availableGames = 4;
+
+        ResponseEntity<List<GameDto>> response = restTemplate.exchange(getAvailableUrl(), HttpMethod.GET, null, responseTypeGames, availableParams(null, null));
+
+        assertNotNull(response);
+        assertEquals(availableGames, response.getBody().size());
+        assertTrue(response.getBody().stream().noneMatch(game -> game.getId().equals(1L) || game.getId().equals(3L)));
+    }
+
+    @Test
+    @SqlBudget(select = 1)
+    public void findAvailableWithCategoryShouldReturnFilteredGames() {
+        int availableGames = 2;
+
+        ResponseEntity<List<GameDto>> response = restTemplate.exchange(getAvailableUrl(), HttpMethod.GET, null, responseTypeGames, availableParams(null, 3L));
+
+        assertNotNull(response);
+        assertEquals(availableGames, response.getBody().size());
+    }
+
+    @Test
+    public void findAvailableWithBookedTitleShouldReturnEmpty() {
+        ResponseEntity<List<GameDto>> response = restTemplate.exchange(getAvailableUrl(), HttpMethod.GET, null, responseTypeGames, availableParams("Mars", null));
+
+        assertNotNull(response);
+        assertEquals(0, response.getBody().size());
+    }
+
+    private String getAvailableUrl() {
+        return UriComponentsBuilder.fromHttpUrl(LOCALHOST + port + SERVICE_PATH + "/available").queryParam("startDate", "{startDate}").queryParam("endDate", "{endDate}").queryParam("title", "{title}")
+                .queryParam("idCategory", "{idCategory}").encode().toUriString();
+    }
+
+    private Map<String, Object> availableParams(String title, Long idCategory) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("startDate", START_DATE);
+        params.put("endDate", END_DATE);
+        params.put("title", title);
+        params.put("idCategory", idCategory);
+        return params;
+    }
+
+    ParameterizedTypeReference<List<LocalDate>> responseTypeDays = new ParameterizedTypeReference<List<LocalDate>>() {
+    };
+
+    @Test
+    @SqlBudget(total = 0)
+    public void findFreeDaysShouldSkipLoanDays() {
+        int freeDays = 31 - 10;
+
+        ResponseEntity<List<LocalDate>> response = restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/free-days?idGame=1&month=2025-10", HttpMethod.GET, null, responseTypeDays);
+
+        assertNotNull(response);
+        assertEquals(freeDays, response.getBody().size());
+        assertTrue(response.getBody().stream().noneMatch(day -> !day.isBefore(LocalDate.parse("2025-10-14")) && !day.isAfter(LocalDate.parse("2025-10-23"))));
+    }
+
+    @Test
+    @SqlBudget(select = 2, delete = 2)
     public void deleteLoanShouldDelete() {
         long newLoanSize = TOTAL_LOANS - 1;
         restTemplate.exchange(LOCALHOST + port + SERVICE_PATH + "/" + DELETE_LOAN_ID, HttpMethod.DELETE, null, Void.class);
@@ -0,0 +1,70 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoanIntervalIndexTest {
+
+    private static final Long GAME_ID = 1L;
+    private static final Long CLIENT_ID = 1L;
+
+    private LoanIntervalIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new LoanIntervalIndex();
+
+        index.rebuild(List.of( //
+                interval(1L, GAME_ID, CLIENT_ID, "2025-07-01", "2025-07-10"), //
+                interval(2L, 2L, CLIENT_ID, "2025-07-05", "2025-07-15"), //
+                interval(3L, 3L, 2L, "2025-07-01", "2025-07-02")));
+    }
+
+    @Test
+    public void overlappingRangeShouldBookGame() {
+        assertTrue(index.isGameBooked(GAME_ID, LocalDate.parse("2025-06-25"), LocalDate.parse("2025-07-01")));
+        assertTrue(index.isGameBooked(GAME_ID, LocalDate.parse("2025-07-10"), LocalDate.parse("2025-07-12")));
+        assertTrue(index.isGameBooked(GAME_ID, LocalDate.parse("2025-07-03"), LocalDate.parse("2025-07-04")));
+    }
+
+    @Test
+    public void disjointRangeShouldNotBookGame() {
+        assertFalse(index.isGameBooked(GAME_ID, LocalDate.parse("2025-06-20"), LocalDate.parse("2025-06-30")));
+        assertFalse(index.isGameBooked(GAME_ID, LocalDate.parse("2025-07-11"), LocalDate.parse("2025-07-20")));
+        assertFalse(index.isGameBooked(99L, LocalDate.parse("2025-07-01"), LocalDate.parse("2025-07-10")));
+    }
+
+    @Test
+    public void maxClientLoansShouldCountOnlyConcurrentDays() {
+        assertEquals(2, index.maxClientLoans(CLIENT_ID, LocalDate.parse("2025-07-01"), LocalDate.parse("2025-07-14")));
+        assertEquals(1, index.maxClientLoans(CLIENT_ID, LocalDate.parse("2025-07-01"), LocalDate.parse("2025-07-04")));
+        assertEquals(1, index.maxClientLoans(CLIENT_ID, LocalDate.parse("2025-07-11"), LocalDate.parse("2025-07-20")));
+        assertEquals(0, index.maxClientLoans(CLIENT_ID, LocalDate.parse("2025-08-01"), LocalDate.parse("2025-08-10")));
+    }
+
+    @Test
+    public void addAndRemoveShouldKeepIndexInSync() {
+        LocalDate start = LocalDate.parse("2025-08-01");
+        LocalDate end = LocalDate.parse("2025-08-05");
+
+        index.add(interval(4L, GAME_ID, CLIENT_ID, "2025-08-01", "2025-08-05"));
+        assertTrue(index.isGameBooked(GAME_ID, start, end));
+        assertEquals(1, index.maxClientLoans(CLIENT_ID, start, end));
+
+        index.remove(4L);
+        assertFalse(index.isGameBooked(GAME_ID, start, end));
+        assertEquals(0, index.maxClientLoans(CLIENT_ID, start, end));
+        assertEquals(3, index.size());
+    }
+
+    private static LoanInterval interval(Long id, Long gameId, Long clientId, String start, String end) {
+        return new LoanInterval(id, gameId, clientId, LocalDate.parse(start), LocalDate.parse(end));
+    }
+
+}
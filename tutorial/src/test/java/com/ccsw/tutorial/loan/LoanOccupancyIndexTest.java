@@ -0,0 +1,118 @@
+package com.ccsw.tutorial.loan;
+
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import com.ccsw.tutorial.loan.model.OccupancyFootprintDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoanOccupancyIndexTest {
+
+    private static final Long GAME_ID = 1L;
+
+    private LoanOccupancyIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new LoanOccupancyIndex();
+        // Ventana amplia para cubrir los días anteriores al epoch
+        index.pastYears = 100;
+
+        // El segundo préstamo cruza el límite entre dos palabras de 64 días
+        index.rebuild(List.of( //
+                interval(1L, GAME_ID, "2025-07-01", "2025-07-10"), //
+                interval(2L, GAME_ID, "2025-07-25", "2025-08-05"), //
+                interval(3L, 2L, "1969-12-25", "1970-01-05")));
+    }
+
+    @Test
+    public void rangeWithoutOccupiedDaysShouldBeFree() {
+        assertTrue(index.isFree(GAME_ID, LocalDate.parse("2025-07-11"), LocalDate.parse("2025-07-24")));
+        assertTrue(index.isFree(GAME_ID, LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31")));
+        assertTrue(index.isFree(99L, LocalDate.parse("2025-07-01"), LocalDate.parse("2025-07-10")));
+    }
+
+    @Test
+    public void rangeWithAnyOccupiedDayShouldNotBeFree() {
+        assertFalse(index.isFree(GAME_ID, LocalDate.parse("2025-07-10"), LocalDate.parse("2025-07-11")));
+        assertFalse(index.isFree(GAME_ID, LocalDate.parse("2025-08-05"), LocalDate.parse("2025-08-20")));
+        assertFalse(index.isFree(GAME_ID, LocalDate.parse("2025-01-01"), LocalDate.parse("2025-12-31")));
+        assertFalse(index.isFree(2L, LocalDate.parse("1969-12-31"), LocalDate.parse("1970-01-01")));
+    }
+
+    @Test
+    public void freeDaysShouldSkipOccupiedDays() {
+        List<LocalDate> july = index.freeDays(GAME_ID, YearMonth.of(2025, 7));
+
+        assertEquals(31 - 10 - 7, july.size());
+        assertEquals(LocalDate.parse("2025-07-11"), july.get(0));
+        assertEquals(LocalDate.parse("2025-07-24"), july.get(july.size() - 1));
+
+        assertEquals(28, index.freeDays(99L, YearMonth.of(2025, 2)).size());
+    }
+
+    @Test
+    public void addAndRemoveShouldKeepBitmapsInSync() {
+        LoanInterval interval = interval(4L, GAME_ID, "2030-01-01", "2030-01-14");
+        LocalDate start = LocalDate.parse("2030-01-10");
+        LocalDate end = LocalDate.parse("2030-01-20");
+
+        index.add(interval);
+        assertFalse(index.isFree(GAME_ID, start, end));
+        assertFalse(index.isFree(GAME_ID, LocalDate.parse("2025-07-05"), LocalDate.parse("2025-07-05")));
+
+        index.remove(interval);
+        assertTrue(index.isFree(GAME_ID, start, end));
+        assertFalse(index.isFree(GAME_ID, LocalDate.parse("2025-07-05"), LocalDate.parse("2025-07-05")));
+    }
+
+    @Test
+    public void farOffLoanShouldOnlyOccupyTheWindow() {
+        long words = index.footprint().getWords();
+        LocalDate lastDay = index.lastSupportedDay();
+
+        index.add(new LoanInterval(4L, GAME_ID, 1L, LocalDate.of(9999, 1, 1), LocalDate.of(9999, 1, 14)));
+        index.add(new LoanInterval(5L, 3L, 1L, LocalDate.of(1000, 1, 1), LocalDate.of(1000, 1, 14)));
+
+        assertEquals(words, index.footprint().getWords());
+        assertEquals(2, index.footprint().getGames());
+
+        index.add(new LoanInterval(6L, 3L, 1L, lastDay, LocalDate.of(9999, 1, 14)));
+
+        assertFalse(index.isFree(3L, lastDay, lastDay));
+        assertEquals(words + 1, index.footprint().getWords(), "Solo una palabra para los días dentro de la ventana");
+    }
+
+    @Test
+    public void growingShouldDropWordsBehindTheWindow() {
+        index.pastYears = 1;
+
+        index.add(interval(4L, GAME_ID, "2030-01-01", "2030-01-14"));
+
+        assertTrue(index.isFree(GAME_ID, LocalDate.parse("2025-07-05"), LocalDate.parse("2025-07-05")));
+        assertFalse(index.isFree(GAME_ID, LocalDate.parse("2030-01-01"), LocalDate.parse("2030-01-01")));
+        // El juego 2 conserva sus dos palabras alrededor del epoch; el 1 empieza ahora en la ventana
+        long words = Math.floorDiv(LocalDate.parse("2030-01-14").toEpochDay(), 64) - Math.floorDiv(index.firstSupportedDay().toEpochDay(), 64) + 1;
+        assertEquals(2 + words, index.footprint().getWords());
+    }
+
+    @Test
+    public void footprintShouldCountWordsPerGame() {
+        OccupancyFootprintDto footprint = index.footprint();
+
+        assertEquals(2, footprint.getGames());
+        assertEquals(footprint.getWords() * Long.BYTES, footprint.getBitmapBytes());
+        assertTrue(footprint.getEstimatedHeapBytes() > footprint.getBitmapBytes());
+        assertTrue(footprint.getBytesPerGameYear() >= 6 * Long.BYTES);
+    }
+
+    private static LoanInterval interval(Long id, Long gameId, String start, String end) {
+        return new LoanInterval(id, gameId, 1L, LocalDate.parse(start), LocalDate.parse(end));
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.ccsw.tutorial.loan;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class LoanRepositoryIT {
+
+    private static final Long EXISTS_GAME_ID = 1L;
+    private static final Long CLIENT_WITH_TWO_LOANS_ID = 3L;
+    private static final Long CLIENT_WITH_SEQUENTIAL_LOANS_ID = 1L;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Test
+    public void overlappingRangeShouldExistForGame() {
+        assertTrue(loanRepository.existsByGameIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(EXISTS_GAME_ID, LocalDate.parse("2025-10-25"), LocalDate.parse("2025-10-20")));
+        assertTrue(loanRepository.existsByGameIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(EXISTS_GAME_ID, LocalDate.parse("2025-10-14"), LocalDate.parse("2025-10-01")));
+    }
+
+    @Test
+    public void disjointRangeShouldNotExistForGame() {
+        assertFalse(loanRepository.existsByGameIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(EXISTS_GAME_ID, LocalDate.parse("2025-11-01"), LocalDate.parse("2025-10-24")));
+        assertFalse(loanRepository.existsByGameIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(EXISTS_GAME_ID, LocalDate.parse("2025-10-13"), LocalDate.parse("2025-10-01")));
+    }
+
+    @Test
+    public void maxConcurrentClientLoansShouldReturnPeakDay() {
+        assertEquals(2, loanRepository.maxConcurrentClientLoans(CLIENT_WITH_TWO_LOANS_ID, LocalDate.parse("2025-10-20"), LocalDate.parse("2025-10-25")));
+        assertEquals(1, loanRepository.maxConcurrentClientLoans(CLIENT_WITH_TWO_LOANS_ID, LocalDate.parse("2025-10-24"), LocalDate.parse("2025-10-30")));
+        assertEquals(1, loanRepository.maxConcurrentClientLoans(CLIENT_WITH_SEQUENTIAL_LOANS_ID, LocalDate.parse("2025-07-01"), LocalDate.parse("2025-09-30")));
+        assertEquals(0, loanRepository.maxConcurrentClientLoans(CLIENT_WITH_SEQUENTIAL_LOANS_ID, LocalDate.parse("2025-10-01"), LocalDate.parse("2025-10-14")));
+    }
+
+}
@@ -1,16 +1,32 @@
 package com.ccsw.tutorial.loan;
 
+import com.ccsw.tutorial.client.model.Client;
 import com.ccsw.tutorial.client.model.ClientDto;
+import com.ccsw.tutorial.common.pagination.PageCountCache;
+import com.ccsw.tutorial.game.GameService;
+import com.ccsw.tutorial.game.GameTitlePrefixIndex;
+import com.ccsw.tutorial.game.model.Game;
+import com.ccsw.tutorial.game.model.GameRow;
 import com.ccsw.tutorial.game.model.GameDto;
+import com.ccsw.tutorial.loan.exceptions.IllegalDateRangeException;
+import com.ccsw.tutorial.loan.exceptions.IllegalReservationException;
 import com.ccsw.tutorial.loan.model.Loan;
+import com.ccsw.tutorial.loan.model.LoanBulkResultDto;
 import com.ccsw.tutorial.loan.model.LoanDto;
+import com.ccsw.tutorial.loan.model.LoanInterval;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -24,11 +40,38 @@ public class LoanTest {
     @Mock
     private LoanRepository loanRepository;
 
+    @Mock
+    private LoanDayRepository loanDayRepository;
+
+    @Mock
+    private LoanIntervalIndex loanIntervalIndex;
+
+    @Mock
+    private LoanOccupancyIndex loanOccupancyIndex;
+
+    @Mock
+    private PageCountCache pageCountCache;
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private GameTitlePrefixIndex gameTitlePrefixIndex;
+
+    @Mock
+    private LoanMetrics loanMetrics;
+
     @InjectMocks
     private LoanServiceImpl loanService;
 
     private static final int TOTAL_LOANS = 6;
 
+    @BeforeEach
+    public void setUp() {
+        lenient().when(loanOccupancyIndex.firstSupportedDay()).thenReturn(LocalDate.now().minusYears(10));
+        lenient().when(loanOccupancyIndex.lastSupportedDay()).thenReturn(LocalDate.now().plusYears(10));
+    }
+
     @Test
     public void findAllShouldReturnAllLoans() {
         List<Loan> list = new ArrayList<>();
@@ -114,15 +157,290 @@ public class LoanTest {
         assertEquals("El período de préstamo no puede ser mayor a catorce días", exception.getMessage());
     }
 
+    @Test
+    public void saveLoanOutsideWindowShouldReturnException() {
+        LoanDto loan = validLoanDto();
+        loan.setStartDate(LocalDate.now().plusYears(50));
+        loan.setEndDate(loan.getStartDate().plusDays(3));
+
+        Exception exception = assertThrows(IllegalDateRangeException.class, () -> loanService.save(loan));
+
+        assertEquals("Las fechas quedan fuera del período admitido para préstamos", exception.getMessage());
+        verify(loanOccupancyIndex, never()).add(any());
+    }
+
+    @Test
+    public void queriesOutsideWindowShouldReturnException() {
+        LocalDate farOff = LocalDate.now().plusYears(50);
+
+        assertThrows(IllegalDateRangeException.class, () -> loanService.findAvailableGames(farOff, farOff.plusDays(3), null, null));
+        assertThrows(IllegalDateRangeException.class, () -> loanService.findFreeDays(1L, YearMonth.from(LocalDate.now().minusYears(50))));
+
+        verify(loanOccupancyIndex, never()).isFree(any(), any(), any());
+        verify(loanOccupancyIndex, never()).freeDays(any(), any());
+    }
+
+    public static final LocalDate VALID_END_DATE = LocalDate.parse("2025-07-14");
+
+    @Test
+    public void saveLoanWhereGameIsAlreadyReservedShouldReturnException() {
+        LoanDto loan = validLoanDto();
+
+        lockGames(1L);
+        when(loanIntervalIndex.isGameBooked(1L, START_DATE, VALID_END_DATE)).thenReturn(true);
+
+        Exception exception = assertThrows(IllegalReservationException.class, () -> {
+            loanService.save(loan);
+        });
+
+        assertEquals("El juego ya está reservado para este día", exception.getMessage());
+        verify(loanRepository, never()).saveAndFlush(any());
+        verify(loanMetrics).rejected(exception);
+        verify(loanMetrics).recordValidation(anyLong());
+        verify(loanMetrics, never()).recordInsert(anyLong());
+    }
+
+    @Test
+    public void saveLoanWhereClientHasTwoLoansShouldReturnException() {
+        LoanDto loan = validLoanDto();
+
+        lockGames(1L);
+        when(loanIntervalIndex.maxClientLoans(1L, START_DATE, VALID_END_DATE)).thenReturn(2);
+
+        Exception exception = assertThrows(IllegalReservationException.class, () -> {
+            loanService.save(loan);
+        });
+
+        assertEquals("El cliente ya tiene dos juegos reservados para ese día", exception.getMessage());
+        verify(loanRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void saveValidLoanShouldSaveAndIndexLoan() throws Exception {
+        LoanDto loan = validLoanDto();
+
+        lockGames(1L);
+        when(loanIntervalIndex.maxClientLoans(1L, START_DATE, VALID_END_DATE)).thenReturn(1);
+        when(loanRepository.saveAndFlush(any(Loan.class))).thenAnswer(invocation -> {
+            Loan saved = invocation.getArgument(0);
+            saved.setId(LOAN_ID);
+            return saved;
+        });
+
+        loanService.save(loan);
+
+        verify(loanRepository).saveAndFlush(any(Loan.class));
+        verify(loanDayRepository).saveAllAndFlush(argThat(days -> ((List<?>) days).size() == 8));
+        verify(loanIntervalIndex).add(new LoanInterval(LOAN_ID, 1L, 1L, START_DATE, VALID_END_DATE));
+        verify(loanOccupancyIndex).add(new LoanInterval(LOAN_ID, 1L, 1L, START_DATE, VALID_END_DATE));
+        verify(gameTitlePrefixIndex).addLoans(1L, 1);
+    }
+
+    @Test
+    public void saveLoanWhereDayIsReservedConcurrentlyShouldReturnException() {
+        LoanDto loan = validLoanDto();
+
+        lockGames(1L);
+        when(loanRepository.saveAndFlush(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(loanDayRepository.saveAllAndFlush(any())).thenThrow(violation(ConstraintKind.UNIQUE, "PUBLIC.PRIMARY_KEY_9 ON PUBLIC.LOAN_DAY"));
+
+        Exception exception = assertThrows(IllegalReservationException.class, () -> {
+            loanService.save(loan);
+        });
+
+        assertEquals("El juego ya está reservado para este día", exception.getMessage());
+        verify(loanIntervalIndex, never()).add(any());
+    }
+
+    @Test
+    public void saveLoanWithUnknownGameShouldReturnException() {
+        LoanDto loan = validLoanDto();
+
+        when(loanRepository.lockGames(List.of(1L))).thenReturn(List.of());
+
+        Exception exception = assertThrows(IllegalReservationException.class, () -> {
+            loanService.save(loan);
+        });
+
+        assertEquals("El juego no existe", exception.getMessage());
+        verify(loanRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void saveLoanWithUnknownClientShouldReturnException() {
+        LoanDto loan = validLoanDto();
+
+        lockGames(1L);
+        when(loanRepository.saveAndFlush(any(Loan.class))).thenThrow(violation(ConstraintKind.OTHER, "FK_LOAN_CLIENT"));
+
+        Exception exception = assertThrows(IllegalReservationException.class, () -> {
+            loanService.save(loan);
+        });
+
+        assertEquals("El cliente no existe", exception.getMessage());
+        verifyNoInteractions(loanDayRepository);
+    }
+
+    @Test
+    public void saveLoanWithOtherViolationShouldNotBeReportedAsReservation() {
+        LoanDto loan = validLoanDto();
+
+        lockGames(1L);
+        when(loanRepository.saveAndFlush(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(loanDayRepository.saveAllAndFlush(any())).thenThrow(violation(ConstraintKind.OTHER, "FK_LOAN_DAY_LOAN"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            loanService.save(loan);
+        });
+
+        verify(loanMetrics, never()).rejected(any());
+    }
+
+    @Test
+    public void saveLoanWithDatabaseConflictCheckShouldQueryRepository() {
+        LoanDto loan = validLoanDto();
+        loanService.conflictCheck = "database";
+
+        lockGames(1L);
+        when(loanRepository.existsByGameIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(1L, VALID_END_DATE, START_DATE)).thenReturn(false);
+        when(loanRepository.maxConcurrentClientLoans(1L, START_DATE, VALID_END_DATE)).thenReturn(2);
+
+        Exception exception = assertThrows(IllegalReservationException.class, () -> {
+            loanService.save(loan);
+        });
+
+        assertEquals("El cliente ya tiene dos juegos reservados para ese día", exception.getMessage());
+        verifyNoInteractions(loanIntervalIndex);
+    }
+
+    @Test
+    public void findAvailableGamesShouldExcludeBookedGames() throws Exception {
+        GameRow free = new GameRow(1L, "On Mars", "14", 1L, "Eurogames", 2L, "Vital Lacerda", "PT");
+        GameRow booked = new GameRow(2L, "Aventureros al tren", "8", 3L, "Familiar", 1L, "Alan R. Moon", "US");
+
+        when(gameService.find(null, null)).thenReturn(List.of(free, booked));
+        when(loanOccupancyIndex.isFree(anyLong(), eq(START_DATE), eq(VALID_END_DATE))).thenAnswer(invocation -> invocation.getArgument(0).equals(1L));
+
+        List<GameRow> games = loanService.findAvailableGames(START_DATE, VALID_END_DATE, null, null);
+
+        assertEquals(List.of(free), games);
+    }
+
+    @Test
+    public void findAvailableGamesWithInvalidRangeShouldNotCountRejection() {
+        assertThrows(IllegalDateRangeException.class, () -> loanService.findAvailableGames(VALID_END_DATE, START_DATE, null, null));
+
+        verifyNoInteractions(loanMetrics);
+    }
+
+    @Test
+    public void saveAllShouldRejectConflictsWithinTheBatchAndSaveTheRest() throws Exception {
+        LoanDto first = validLoanDto();
+        LoanDto sameGame = validLoanDto();
+        sameGame.getClient().setId(2L);
+        LoanDto invalidDates = validLoanDto();
+        invalidDates.setEndDate(BEFORE_END_DATE);
+
+        lockGames(1L);
+        when(loanRepository.findExistingClientIds(any())).thenReturn(List.of(1L, 2L));
+        when(loanRepository.findIntervals(any(), any(), eq(START_DATE), eq(VALID_END_DATE))).thenReturn(List.of());
+        when(loanRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Loan> loans = invocation.getArgument(0);
+            loans.get(0).setId(LOAN_ID);
+            return loans;
+        });
+
+        LoanBulkResultDto result = loanService.saveAll(List.of(first, sameGame, invalidDates));
+
+        assertEquals(List.of(LOAN_ID), result.getSavedIds());
+        assertEquals(2, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertEquals("El juego ya está reservado para este día", result.getFailures().get(0).getMessage());
+        assertEquals(2, result.getFailures().get(1).getIndex());
+        verify(loanDayRepository).saveAllAndFlush(argThat(days -> ((List<?>) days).size() == 8));
+        verify(loanOccupancyIndex).add(new LoanInterval(LOAN_ID, 1L, 1L, START_DATE, VALID_END_DATE));
+    }
+
+    @Test
+    public void saveAllWhereClientHasTwoLoansShouldRejectThirdLoan() throws Exception {
+        List<LoanDto> loans = new ArrayList<>();
+        for (long gameId = 1; gameId <= 3; gameId++) {
+            LoanDto loan = validLoanDto();
+            loan.getGame().setId(gameId);
+            loans.add(loan);
+        }
+
+        lockGames(1L, 2L, 3L);
+        when(loanRepository.findExistingClientIds(any())).thenReturn(List.of(1L));
+        when(loanRepository.findIntervals(any(), any(), eq(START_DATE), eq(VALID_END_DATE))).thenReturn(List.of());
+        when(loanRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        LoanBulkResultDto result = loanService.saveAll(loans);
+
+        assertEquals(1, result.getFailures().size());
+        assertEquals(2, result.getFailures().get(0).getIndex());
+        assertEquals("El cliente ya tiene dos juegos reservados para ese día", result.getFailures().get(0).getMessage());
+        verify(loanRepository).saveAll(argThat(saved -> ((List<?>) saved).size() == 2));
+    }
+
+    private void lockGames(Long... ids) {
+        when(loanRepository.lockGames(any())).thenReturn(List.of(ids));
+    }
+
+    private static DataIntegrityViolationException violation(ConstraintKind kind, String constraintName) {
+        return new DataIntegrityViolationException(constraintName, new ConstraintViolationException(constraintName, new SQLException(), kind, constraintName));
+    }
+
+    private LoanDto validLoanDto() {
+        LoanDto loan = new LoanDto();
+
+        GameDto game = new GameDto();
+        game.setId(1L);
+
+        ClientDto client = new ClientDto();
+        client.setId(1L);
+
+        loan.setGame(game);
+        loan.setClient(client);
+        loan.setStartDate(START_DATE);
+        loan.setEndDate(VALID_END_DATE);
+
+        return loan;
+    }
+
+    @Test
+    public void findFreeDaysShouldUseOccupancyIndex() throws Exception {
+        YearMonth month = YearMonth.of(2025, 7);
+        List<LocalDate> freeDays = List.of(LocalDate.parse("2025-07-01"));
+
+        when(loanOccupancyIndex.freeDays(1L, month)).thenReturn(freeDays);
+
+        assertEquals(freeDays, loanService.findFreeDays(1L, month));
+    }
+
     @Test
     public void deleteExistLoanIdShouldDeleteLoan() throws Exception {
-        Loan loan = mock(Loan.class);
+        Game game = new Game();
+        game.setId(1L);
+        Client client = new Client();
+        client.setId(1L);
+
+        Loan loan = new Loan();
+        loan.setId(LOAN_ID);
+        loan.setGame(game);
+        loan.setClient(client);
+        loan.setStartDate(START_DATE);
+        loan.setEndDate(VALID_END_DATE);
 
         when(loanRepository.findById(LOAN_ID)).thenReturn(Optional.of(loan));
 
         loanService.delete(LOAN_ID);
 
+        verify(loanDayRepository).deleteByLoanId(LOAN_ID);
         verify(loanRepository).deleteById(LOAN_ID);
+        verify(loanIntervalIndex).remove(LOAN_ID);
+        verify(loanOccupancyIndex).remove(LoanInterval.of(loan));
+        verify(gameTitlePrefixIndex).addLoans(1L, -1);
 
     }
 